@@ -0,0 +1,81 @@
+package com.codesungrape.hmcts.bookapi.benchmark;
+
+import com.codesungrape.hmcts.bookapi.BookApiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Boots the application (without a web server) against the database selected by a benchmark's `database` parameter.
+ * "h2" is an in-memory H2 with a Hibernate-generated schema. "postgres" applies the Flyway migrations to
+ * BENCHMARK_JDBC_URL if set, otherwise to a throwaway PostgreSQL container (requires Docker).
+ */
+final class BenchmarkApplication {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+
+    private BenchmarkApplication() {
+        // Utility class
+    }
+
+    /**
+     * A running application and the container behind it (null unless one was started); closing stops both.
+     */
+    record Running(ConfigurableApplicationContext context, PostgreSQLContainer<?> container) implements AutoCloseable {
+
+        <T> T bean(Class<T> type) {
+            return context.getBean(type);
+        }
+
+        @Override
+        public void close() {
+            context.close();
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    static Running start(String database) {
+        return switch (database) {
+            case "h2" -> new Running(boot(
+                "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.flyway.enabled=false",
+                "bookapi.search.engine=in-memory"
+            ), null);
+            case "postgres" -> startPostgres();
+            default -> throw new IllegalArgumentException("Unknown benchmark database: " + database);
+        };
+    }
+
+    private static Running startPostgres() {
+        String url = System.getenv("BENCHMARK_JDBC_URL");
+        if (url != null) {
+            return new Running(boot(
+                "spring.datasource.url=" + url,
+                "spring.datasource.username=" + System.getenv().getOrDefault("BENCHMARK_JDBC_USER", "postgres"),
+                "spring.datasource.password=" + System.getenv().getOrDefault("BENCHMARK_JDBC_PASSWORD", "")
+            ), null);
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+        container.start();
+        return new Running(boot(
+            "spring.datasource.url=" + container.getJdbcUrl(),
+            "spring.datasource.username=" + container.getUsername(),
+            "spring.datasource.password=" + container.getPassword()
+        ), container);
+    }
+
+    private static ConfigurableApplicationContext boot(String... properties) {
+        return new SpringApplicationBuilder(BookApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .properties("logging.level.root=warn")
+            .properties(properties)
+            .run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.codesungrape.hmcts.bookapi.benchmark;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the POST /books payload, using the same per-type reader/writer reuse as BookService.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookJsonBenchmark {
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private BookRequest request;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        reader = objectMapper.readerFor(BookRequest.class);
+        writer = objectMapper.writerFor(BookRequest.class);
+        request = new BookRequest("The Hobbit", "There and back again. ".repeat(20), "J.R.R. Tolkien");
+        json = writer.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public BookRequest deserializeBookRequest() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serializeBookRequest() throws IOException {
+        return writer.writeValueAsBytes(request);
+    }
+}
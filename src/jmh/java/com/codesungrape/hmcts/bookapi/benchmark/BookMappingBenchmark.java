@@ -0,0 +1,69 @@
+package com.codesungrape.hmcts.bookapi.benchmark;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between the API records and the Book entity: request to entity (as BookService does before save)
+ * and entity or list projection to response.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookMappingBenchmark {
+
+    private BookRequest request;
+    private Book book;
+    private BookProjection projection;
+
+    @Setup
+    public void setUp() {
+        request = new BookRequest("The Hobbit", "There and back again. ".repeat(20), "J.R.R. Tolkien");
+        book = Book.builder()
+            .id(UUID.randomUUID())
+            .title(request.title())
+            .synopsis(request.synopsis())
+            .author(request.author())
+            .createdAt(Instant.now())
+            .build();
+        projection = new BookProjection(book.getId(), book.getCreatedAt(), book.getTitle(), book.getAuthor(), null);
+    }
+
+    @Benchmark
+    public Book requestToEntity() {
+        return Book.builder()
+            .title(request.title())
+            .synopsis(request.synopsis())
+            .author(request.author())
+            .build();
+    }
+
+    @Benchmark
+    public BookResponse entityToResponse() {
+        return BookResponse.from(book);
+    }
+
+    @Benchmark
+    public BookResponse projectionToResponse() {
+        return projection.toResponse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.codesungrape.hmcts.bookapi.benchmark;
+
+import com.codesungrape.hmcts.bookapi.dto.BookListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing one GET /books page of 100 books in each representation the API offers: JSON, gzipped JSON (as Tomcat
+ * sends it), CBOR and Smile, with short and long synopses. Setup prints the bytes each format puts on the wire;
+ * the scores are the serialization (and compression) time per page. Writers are built once, as the converters do.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookPayloadBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    // Prose-like text, so compression ratios are realistic rather than flattered by repetition
+    private static final String[] WORDS = {
+        "the", "of", "and", "a", "to", "in", "is", "you", "that", "it", "he", "was", "for", "on", "are", "as", "with",
+        "his", "they", "at", "be", "this", "have", "from", "journey", "kingdom", "dragon", "winter", "letters", "secret",
+        "river", "murder", "village", "war", "family", "ship", "island", "children", "house", "city", "night", "storm"
+    };
+
+    @Param({"200", "2000"})
+    public int synopsisLength;
+
+    private BookListResponse page;
+    private ObjectWriter json;
+    private ObjectWriter cbor;
+    private ObjectWriter smile;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<BookResponse> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(new BookResponse(UUID.randomUUID(), "Title " + i, synopsis(synopsisLength), "Author " + i));
+        }
+        page = new BookListResponse(10_000L, items, null);
+
+        json = Jackson2ObjectMapperBuilder.json().build().writerFor(BookListResponse.class);
+        cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build().writerFor(BookListResponse.class);
+        smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build().writerFor(BookListResponse.class);
+
+        System.out.printf("%nBytes on the wire (%d books, %d-character synopses): json=%,d json+gzip=%,d cbor=%,d smile=%,d%n",
+            PAGE_SIZE, synopsisLength, json().length, jsonGzip().length, cbor().length, smile().length);
+    }
+
+    private static String synopsis(int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            json.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,97 @@
+package com.codesungrape.hmcts.bookapi.benchmark;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the BookService write paths, through Spring, Hibernate and the JDBC driver.
+ *
+ * <p>deleteBookById is not a steady-state operation (each id can only be deleted once), so it runs in
+ * single-shot mode: every iteration first creates {@value #DELETE_BATCH} live books, then times deleting them all.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookServiceBenchmark {
+
+    static final int DELETE_BATCH = 1_000;
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    private BenchmarkApplication.Running application;
+    private BookService bookService;
+    private BookRepository bookRepository;
+    private BookRequest request;
+
+    @Setup(Level.Trial)
+    public void start() {
+        application = BenchmarkApplication.start(database);
+        bookService = application.bean(BookService.class);
+        bookRepository = application.bean(BookRepository.class);
+        request = new BookRequest("The Hobbit", "There and back again. ".repeat(20), "J.R.R. Tolkien");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        bookRepository.deleteAllInBatch();
+        application.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Book createBook() {
+        return bookService.createBook(request);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = DELETE_BATCH)
+    @Measurement(iterations = 10, batchSize = DELETE_BATCH)
+    public void deleteBookById(LiveBooks liveBooks) {
+        bookService.deleteBookById(liveBooks.ids.pop());
+    }
+
+    /**
+     * Books created before each deleteBookById iteration, one per timed call.
+     */
+    @State(Scope.Benchmark)
+    public static class LiveBooks {
+
+        private final Deque<UUID> ids = new ArrayDeque<>(DELETE_BATCH);
+
+        @Setup(Level.Iteration)
+        public void create(BookServiceBenchmark benchmark) {
+            List<BookRequest> requests = new ArrayList<>(DELETE_BATCH);
+            for (int i = 0; i < DELETE_BATCH; i++) {
+                requests.add(benchmark.request);
+            }
+            ids.clear();
+            benchmark.bookService.createBooks(requests).items().forEach(item -> ids.add(item.id()));
+        }
+    }
+}
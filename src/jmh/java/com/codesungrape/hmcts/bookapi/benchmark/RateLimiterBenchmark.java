@@ -0,0 +1,85 @@
+package com.codesungrape.hmcts.bookapi.benchmark;
+
+import com.codesungrape.hmcts.bookapi.service.RateLimiter;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the rate limiter adds to every request: one token taken for a client picked round-robin from keys
+ * distinct API keys, single-threaded and with 8 threads sharing the limiter. pickKey is the same loop without
+ * the limiter; the difference is the overhead. The limit is set so high that every request is allowed,
+ * which is the path real traffic takes.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000", "100000"})
+    public int keys;
+
+    private RateLimiter limiter;
+    private String[] clients;
+
+    /**
+     * Each benchmark thread walks the keys on its own.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        // One request per nanosecond per client: never reached, so the bucket is updated but never rejects
+        limiter = new RateLimiter("read", 1_000_000_000, Duration.ofSeconds(1), 1_000_000, new SimpleMeterRegistry(),
+            Ticker.systemTicker());
+        clients = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clients[i] = "key:" + UUID.randomUUID();
+            limiter.tryAcquire(clients[i]);
+        }
+    }
+
+    private String nextClient(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = i + 1 == keys ? 0 : i + 1;
+        return clients[i];
+    }
+
+    @Benchmark
+    public String pickKey(Cursor cursor) {
+        return nextClient(cursor);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision tryAcquire(Cursor cursor) {
+        return limiter.tryAcquire(nextClient(cursor));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RateLimiter.Decision tryAcquireContended(Cursor cursor) {
+        return limiter.tryAcquire(nextClient(cursor));
+    }
+}
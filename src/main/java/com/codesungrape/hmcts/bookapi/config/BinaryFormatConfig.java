@@ -0,0 +1,35 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compact binary representations, chosen with Accept: application/cbor or application/x-jackson-smile.
+ * JSON stays the default. Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder}, so they apply the same
+ * spring.jackson.* settings as JSON, and each is built once: Jackson caches the serializers per mapper.
+ * These beans replace the converters Spring MVC would otherwise build with plain mappers.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * Reads and writes application/cbor (RFC 8949).
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Reads and writes application/x-jackson-smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
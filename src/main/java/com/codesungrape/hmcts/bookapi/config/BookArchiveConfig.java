@@ -0,0 +1,46 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.service.BookArchiver;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Registers the archival settings and, unless bookapi.archive.enabled=false, schedules the archival job.
+ */
+@Configuration
+@EnableConfigurationProperties(BookArchiveProperties.class)
+public class BookArchiveConfig {
+
+    /**
+     * Keeps the archive schedule eager under spring.main.lazy-initialization (fast-start profile).
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerArchiveSchedule() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ArchiveSchedule.class);
+    }
+
+    /**
+     * Runs the archiver every bookapi.archive.interval (fixed delay, so runs never overlap on one instance).
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "bookapi.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ArchiveSchedule {
+
+        private final BookArchiver archiver;
+
+        ArchiveSchedule(BookArchiver archiver) {
+            this.archiver = archiver;
+        }
+
+        @Scheduled(fixedDelayString = "${bookapi.archive.interval:10m}", initialDelayString = "${bookapi.archive.interval:10m}")
+        void archive() {
+            archiver.run();
+        }
+    }
+}
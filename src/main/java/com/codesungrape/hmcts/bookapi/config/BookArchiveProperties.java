@@ -0,0 +1,28 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the archival job that moves soft-deleted books out of the book table (prefix bookapi.archive).
+ *
+ * @param enabled         whether this instance runs the job on a schedule; every instance may, they share work
+ * @param interval        pause between runs
+ * @param retention       how long a soft-deleted book stays in the book table before it is archived
+ * @param outboxRetention how long a published change event stays in book_outbox before it is purged
+ * @param batchSize       rows moved per transaction; bounds how long each transaction holds its row locks
+ * @param pause           sleep between batches, leaving the database to request traffic
+ * @param dryRun          only count and log what a run would move; nothing is written
+ */
+@ConfigurationProperties(prefix = "bookapi.archive")
+public record BookArchiveProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10m") Duration interval,
+    @DefaultValue("30d") Duration retention,
+    @DefaultValue("7d") Duration outboxRetention,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("200ms") Duration pause,
+    @DefaultValue("false") boolean dryRun) {
+}
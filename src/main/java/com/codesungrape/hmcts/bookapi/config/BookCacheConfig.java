@@ -0,0 +1,13 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the single-book cache settings.
+ */
+@Configuration
+@EnableConfigurationProperties(BookCacheProperties.class)
+public class BookCacheConfig {
+
+}
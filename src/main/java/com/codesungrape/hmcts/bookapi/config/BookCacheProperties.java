@@ -0,0 +1,20 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the single-book read cache (prefix bookapi.cache.books).
+ *
+ * @param maximumSize maximum number of cached ids before least-recently/frequently used entries are evicted
+ * @param ttl         how long a found book is served from cache
+ * @param negativeTtl how long a "not found" result is remembered; kept short so new books appear quickly
+ */
+@ConfigurationProperties(prefix = "bookapi.cache.books")
+public record BookCacheProperties(
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("5m") Duration ttl,
+    @DefaultValue("30s") Duration negativeTtl) {
+}
@@ -0,0 +1,61 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.controller.QueryCountFilter;
+import com.codesungrape.hmcts.bookapi.repository.QueryMetricsDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Wires the query instrumentation: JDBC statement and commit timers and the per-request query count.
+ * The hibernate.* statistics meters come from Spring Boot's HibernateMetricsAutoConfiguration.
+ */
+@Configuration
+@EnableConfigurationProperties(BookMetricsProperties.class)
+public class BookMetricsConfig {
+
+    /**
+     * Wraps every DataSource bean in a {@link QueryMetricsDataSource}.
+     * Static so the post-processor is registered without initialising this configuration early.
+     */
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(
+        ObjectProvider<MeterRegistry> registry,
+        ObjectProvider<BookMetricsProperties> properties
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof QueryMetricsDataSource) {
+                    return bean;
+                }
+                MeterRegistry meterRegistry = registry.getIfAvailable();
+                if (meterRegistry == null) {
+                    // Slice tests (e.g. @DataJpaTest) run without a meter registry
+                    return bean;
+                }
+                BookMetricsProperties settings = properties.getIfAvailable(() -> new BookMetricsProperties(Duration.ofMillis(200), false));
+                return new QueryMetricsDataSource(dataSource, meterRegistry, settings.slowQueryThreshold());
+            }
+        };
+    }
+
+    /**
+     * Counts statements per request; runs first so it sees everything the rest of the chain executes.
+     */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry registry, BookMetricsProperties properties) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+            new FilterRegistrationBean<>(new QueryCountFilter(registry, properties.queryCountHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
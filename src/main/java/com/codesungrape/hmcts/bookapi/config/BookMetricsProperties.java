@@ -0,0 +1,18 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for query instrumentation (prefix bookapi.metrics).
+ *
+ * @param slowQueryThreshold statements slower than this are tagged slow=true and logged with their SQL
+ * @param queryCountHeader   add an X-Query-Count header with the statements each request executed
+ */
+@ConfigurationProperties(prefix = "bookapi.metrics")
+public record BookMetricsProperties(
+    @DefaultValue("200ms") Duration slowQueryThreshold,
+    @DefaultValue("false") boolean queryCountHeader) {
+}
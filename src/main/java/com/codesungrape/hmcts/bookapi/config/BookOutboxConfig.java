@@ -0,0 +1,47 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.service.BookEventPublisher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Registers the outbox settings and, unless bookapi.outbox.publisher-enabled=false, schedules the publisher.
+ */
+@Configuration
+@EnableConfigurationProperties(BookOutboxProperties.class)
+public class BookOutboxConfig {
+
+    /**
+     * Keeps the publisher schedule eager under spring.main.lazy-initialization (fast-start profile);
+     * nothing else references it, so a lazy schedule would never be created and never run.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPublisherSchedule() {
+        return LazyInitializationExcludeFilter.forBeanTypes(PublisherSchedule.class);
+    }
+
+    /**
+     * Drains the outbox every bookapi.outbox.publish-interval (fixed delay, so runs never overlap on one instance).
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "bookapi.outbox", name = "publisher-enabled", havingValue = "true", matchIfMissing = true)
+    static class PublisherSchedule {
+
+        private final BookEventPublisher publisher;
+
+        PublisherSchedule(BookEventPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        @Scheduled(fixedDelayString = "${bookapi.outbox.publish-interval:500ms}")
+        void publish() {
+            publisher.drain();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the book change outbox and feed (prefix bookapi.outbox).
+ *
+ * @param publisherEnabled whether this instance runs the background publisher; every instance may, taking turns;
+ *                         the feed only serves published events, so at least one instance must
+ * @param publishInterval  pause between publisher runs
+ * @param batchSize        events claimed and published per transaction
+ * @param pollInterval     how often waiting long-poll requests re-check the feed when no local publish wakes them
+ */
+@ConfigurationProperties(prefix = "bookapi.outbox")
+public record BookOutboxProperties(
+    @DefaultValue("true") boolean publisherEnabled,
+    @DefaultValue("500ms") Duration publishInterval,
+    @DefaultValue("100") int batchSize,
+    @DefaultValue("1s") Duration pollInterval) {
+}
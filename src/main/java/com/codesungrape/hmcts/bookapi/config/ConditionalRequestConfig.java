@@ -0,0 +1,30 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.controller.PageEtagFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Weak ETags for list reads (GET /books, GET /books/search).
+ * A page has no single version, so its ETag is a hash of the response body: a matching If-None-Match
+ * gets 304 and saves the payload, though the page query still runs. Last-Modified is not sent for lists
+ * because the newest modification in a page does not change when books are added to or deleted from it.
+ * Single books carry version-based ETags from BookController instead.
+ */
+@Configuration
+@EnableConfigurationProperties(ConditionalRequestProperties.class)
+public class ConditionalRequestConfig {
+
+    /**
+     * Registers the body-hashing ETag filter for the list endpoints only (never for streaming exports);
+     * pages over bookapi.etag.max-page-size are streamed without an ETag.
+     */
+    @Bean
+    public FilterRegistrationBean<PageEtagFilter> listEtagFilter(ConditionalRequestProperties properties) {
+        FilterRegistrationBean<PageEtagFilter> registration = new FilterRegistrationBean<>(new PageEtagFilter(properties.maxPageSize()));
+        registration.addUrlPatterns("/books", "/books/search");
+        return registration;
+    }
+}
@@ -0,0 +1,14 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for list-page ETags (prefix bookapi.etag).
+ *
+ * @param maxPageSize largest page (limit) that is buffered to hash an ETag; bigger pages are streamed without one
+ */
+@ConfigurationProperties(prefix = "bookapi.etag")
+public record ConditionalRequestProperties(
+    @DefaultValue("100") int maxPageSize) {
+}
@@ -0,0 +1,56 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.repository.DatabaseConcurrencyGate;
+import com.codesungrape.hmcts.bookapi.repository.GatedDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link DatabaseConcurrencyGate} in front of the application DataSource when bookapi.db.gate.enabled is true.
+ */
+@Configuration
+@EnableConfigurationProperties(DatabaseGateProperties.class)
+public class DatabaseGateConfig {
+
+    // HikariCP's own default for maximum-pool-size
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * The gate, sized to the connection pool unless bookapi.db.gate.permits says otherwise.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookapi.db.gate.enabled", havingValue = "true")
+    public DatabaseConcurrencyGate databaseConcurrencyGate(DatabaseGateProperties properties, Environment environment) {
+        int permits = properties.permits() > 0
+            ? properties.permits()
+            : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, HIKARI_DEFAULT_POOL_SIZE);
+        return new DatabaseConcurrencyGate(permits, properties.acquireTimeout(), properties.retryAfter());
+    }
+
+    /**
+     * Wraps every DataSource bean in a {@link GatedDataSource} once the gate exists.
+     * Static so the post-processor is registered without initialising this configuration early.
+     */
+    @Bean
+    public static BeanPostProcessor gatedDataSourcePostProcessor(ObjectProvider<DatabaseConcurrencyGate> gate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    DatabaseConcurrencyGate available = gate.getIfAvailable();
+                    if (available != null) {
+                        return new GatedDataSource(dataSource, available);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
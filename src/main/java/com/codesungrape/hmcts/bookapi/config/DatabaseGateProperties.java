@@ -0,0 +1,22 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the database concurrency gate (prefix bookapi.db.gate).
+ *
+ * @param enabled        wrap the DataSource in a permit gate that sheds load with 503 when saturated
+ * @param permits        concurrent connections allowed; 0 sizes the gate to spring.datasource.hikari.maximum-pool-size
+ * @param acquireTimeout longest a request waits for a permit before it is rejected
+ * @param retryAfter     value of the Retry-After header sent with the 503
+ */
+@ConfigurationProperties(prefix = "bookapi.db.gate")
+public record DatabaseGateProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0") int permits,
+    @DefaultValue("50ms") Duration acquireTimeout,
+    @DefaultValue("1s") Duration retryAfter) {
+}
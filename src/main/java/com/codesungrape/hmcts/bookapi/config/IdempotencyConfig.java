@@ -0,0 +1,47 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.service.IdempotentRequests;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Registers the Idempotency-Key settings and, unless bookapi.idempotency.sweep-enabled=false, schedules the
+ * deletion of expired records.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * Keeps the sweep schedule eager under spring.main.lazy-initialization (fast-start profile).
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerIdempotencySweep() {
+        return LazyInitializationExcludeFilter.forBeanTypes(IdempotencySweep.class);
+    }
+
+    /**
+     * Sweeps every bookapi.idempotency.sweep-interval (fixed delay). Every instance may sweep; deletes are idempotent.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "bookapi.idempotency", name = "sweep-enabled", havingValue = "true", matchIfMissing = true)
+    static class IdempotencySweep {
+
+        private final IdempotentRequests idempotentRequests;
+
+        IdempotencySweep(IdempotentRequests idempotentRequests) {
+            this.idempotentRequests = idempotentRequests;
+        }
+
+        @Scheduled(fixedDelayString = "${bookapi.idempotency.sweep-interval:10m}", initialDelayString = "${bookapi.idempotency.sweep-interval:10m}")
+        void sweep() {
+            idempotentRequests.sweepExpired();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for Idempotency-Key handling on POST /books (prefix bookapi.idempotency).
+ *
+ * @param ttl               how long a key's response is kept and replayed to retries
+ * @param memoryTtl         how long a response is also kept in this instance's memory (capped at ttl)
+ * @param memoryMaximumSize keys held in memory before the least recently used are evicted
+ * @param inFlightWait      longest a retry waits for the first request with its key to finish before getting 409
+ * @param pollInterval      how often a retry waiting on another instance re-reads the key's record
+ * @param claimTimeout      age after which an unfinished claim is treated as abandoned (its request died) and taken over
+ * @param sweepEnabled      whether this instance deletes expired records on a schedule
+ * @param sweepInterval     pause between sweeps
+ * @param sweepBatchSize    records deleted per transaction
+ */
+@ConfigurationProperties(prefix = "bookapi.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("10m") Duration memoryTtl,
+    @DefaultValue("10000") long memoryMaximumSize,
+    @DefaultValue("10s") Duration inFlightWait,
+    @DefaultValue("100ms") Duration pollInterval,
+    @DefaultValue("1m") Duration claimTimeout,
+    @DefaultValue("true") boolean sweepEnabled,
+    @DefaultValue("10m") Duration sweepInterval,
+    @DefaultValue("1000") int sweepBatchSize) {
+}
@@ -0,0 +1,38 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.controller.RateLimitFilter;
+import com.codesungrape.hmcts.bookapi.service.RateLimiter;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the per-client {@link RateLimitFilter} when bookapi.ratelimit.enabled=true.
+ * Off by default: X-API-KEY is not verified, so the limits only hold where a gateway in front authenticates it
+ * (otherwise every new header value gets a fresh bucket).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookapi.ratelimit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    /**
+     * Read and write limits; runs right after the query counter, so rejected requests never reach
+     * read-your-writes or the handler.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties, MeterRegistry registry) {
+        RateLimiter reads = new RateLimiter("read", properties.readLimit(), properties.window(), properties.maxKeys(),
+            registry, Ticker.systemTicker());
+        RateLimiter writes = new RateLimiter("write", properties.writeLimit(), properties.window(), properties.maxKeys(),
+            registry, Ticker.systemTicker());
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(reads, writes));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
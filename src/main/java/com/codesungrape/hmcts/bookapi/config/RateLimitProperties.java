@@ -0,0 +1,25 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-client rate limiting (prefix bookapi.ratelimit).
+ *
+ * @param enabled    limit requests per API key (or client address) and answer 429 once a client is over; the API key
+ *                   is taken on trust, so enable this only behind a gateway that authenticates it
+ * @param readLimit  GET/HEAD/OPTIONS requests a client may send per window, which is also its largest burst
+ * @param writeLimit requests with any other method (creates, updates, deletes) a client may send per window
+ * @param window     time over which each limit refills; refill is continuous, not in fixed blocks
+ * @param maxKeys    clients tracked at once per limit; beyond this, new clients share overflow buckets
+ */
+@ConfigurationProperties(prefix = "bookapi.ratelimit")
+public record RateLimitProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("600") int readLimit,
+    @DefaultValue("60") int writeLimit,
+    @DefaultValue("1m") Duration window,
+    @DefaultValue("100000") int maxKeys) {
+}
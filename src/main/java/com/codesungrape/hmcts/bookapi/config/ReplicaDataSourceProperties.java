@@ -0,0 +1,48 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for routing read-only transactions to a read replica (prefix bookapi.datasource.replica).
+ * The primary keeps using spring.datasource.*.
+ *
+ * @param enabled          route read-only @ReplicaRead methods to the replica
+ * @param url              JDBC URL of the replica
+ * @param username         replica user
+ * @param password         replica password
+ * @param maximumPoolSize  size of the replica connection pool
+ * @param maxLag           replication lag above which reads fall back to the primary
+ * @param lagCheckInterval how often the lag is measured
+ * @param lagQuery         query returning the replica's lag in seconds (null = unknown, so unusable)
+ * @param stickyWindow     how long a client's reads stay on the primary after it writes (read-your-writes)
+ * @param stickySecret     signs the read-your-writes tokens clients carry; required, and the same on every instance
+ */
+@ConfigurationProperties(prefix = "bookapi.datasource.replica")
+public record ReplicaDataSourceProperties(
+    @DefaultValue("false") boolean enabled,
+    String url,
+    String username,
+    String password,
+    @DefaultValue("10") int maximumPoolSize,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("1s") Duration lagCheckInterval,
+    @DefaultValue(POSTGRES_LAG_QUERY) String lagQuery,
+    @DefaultValue("5s") Duration stickyWindow,
+    String stickySecret) {
+
+    /**
+     * PostgreSQL streaming-replication lag. 0 when the standby is streaming and has replayed everything it received,
+     * so an idle primary does not look like lag; 0 as well when pointed at a server that is not a standby.
+     * Null (unknown, so unusable) while the WAL receiver is not streaming: a disconnected standby has replayed all it
+     * received too, yet falls further behind every second. Reading the receiver's status needs pg_read_all_stats;
+     * without it the status reads as null and the replica is never used.
+     */
+    public static final String POSTGRES_LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+}
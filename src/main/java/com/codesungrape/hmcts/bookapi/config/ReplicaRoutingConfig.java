@@ -0,0 +1,133 @@
+package com.codesungrape.hmcts.bookapi.config;
+
+import com.codesungrape.hmcts.bookapi.controller.ReadYourWritesFilter;
+import com.codesungrape.hmcts.bookapi.repository.ReadWriteRoutingDataSource;
+import com.codesungrape.hmcts.bookapi.repository.ReplicaLagMonitor;
+import com.codesungrape.hmcts.bookapi.repository.ReplicaRead;
+import com.codesungrape.hmcts.bookapi.repository.ReplicaReadAspect;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.security.GeneralSecurityException;
+import javax.sql.DataSource;
+
+/**
+ * With bookapi.datasource.replica.enabled=true, replaces the auto-configured DataSource with one that sends
+ * read-only {@link ReplicaRead} methods to a replica (see {@link ReadWriteRoutingDataSource}) and registers
+ * read-your-writes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookapi.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    // Pool names, and the pool tag on each pool's hikaricp.* meters
+    static final String PRIMARY_POOL = "primary";
+    static final String REPLICA_POOL = "replica";
+
+    /**
+     * The primary and replica pools and the lag monitor, closed together on shutdown.
+     * Deliberately not DataSource beans: the metrics and gate post-processors then wrap only the routing
+     * DataSource, so every statement is counted (and gated) once. For the same reason Boot does not instrument the
+     * pools, so {@link #readWritePools} binds their hikaricp.* meters itself, tagged pool=primary and pool=replica.
+     */
+    public static final class ReadWritePools implements AutoCloseable {
+
+        private final HikariDataSource primary;
+        private final HikariDataSource replica;
+        private final ReplicaLagMonitor lagMonitor;
+
+        ReadWritePools(HikariDataSource primary, HikariDataSource replica, ReplicaLagMonitor lagMonitor) {
+            this.primary = primary;
+            this.replica = replica;
+            this.lagMonitor = lagMonitor;
+        }
+
+        @Override
+        public void close() {
+            lagMonitor.close();
+            replica.close();
+            primary.close();
+        }
+    }
+
+    /**
+     * The primary pool from spring.datasource.* (including spring.datasource.hikari.*), the replica pool from
+     * bookapi.datasource.replica.*, and a lag monitor probing the replica every lag-check-interval.
+     * Both pools publish their hikaricp.* meters (connections, pending threads, acquire time) to the registry.
+     */
+    @Bean(destroyMethod = "close")
+    public ReadWritePools readWritePools(
+        DataSourceProperties primaryProperties,
+        ReplicaDataSourceProperties replicaProperties,
+        Environment environment,
+        MeterRegistry registry
+    ) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null || primary.getPoolName().equals(REPLICA_POOL)) {
+            // The pool name tags the meters, so the two pools must not share one
+            primary.setPoolName(PRIMARY_POOL);
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(REPLICA_POOL);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        replica.setJdbcUrl(replicaProperties.url());
+        replica.setUsername(replicaProperties.username());
+        replica.setPassword(replicaProperties.password());
+        replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+        replica.setReadOnly(true);
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, replicaProperties.lagQuery(), replicaProperties.maxLag(), registry);
+        lagMonitor.start(replicaProperties.lagCheckInterval());
+        return new ReadWritePools(primary, replica, lagMonitor);
+    }
+
+    /**
+     * The application DataSource: routing behind a lazy proxy, so the physical connection is chosen on the first
+     * statement, once the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWritePools pools, MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(pools.primary, pools.replica, pools.lagMonitor, registry)
+        );
+    }
+
+    /**
+     * Opens {@link ReadWriteRoutingDataSource#allowReplica()} around every {@link ReplicaRead} method.
+     */
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+
+    /**
+     * Pins a client's requests to the primary for sticky-window after it writes, using the signed token the client
+     * carries; runs after the query counter and the rate limiter.
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaDataSourceProperties properties)
+        throws GeneralSecurityException {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.stickyWindow(), properties.stickySecret()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
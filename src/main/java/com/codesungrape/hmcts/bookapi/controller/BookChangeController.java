@@ -0,0 +1,41 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.dto.BookChangeListResponse;
+import com.codesungrape.hmcts.bookapi.service.BookChangeFeed;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+/**
+ * REST controller exposing the book change feed under /books/changes.
+ */
+@RestController
+@RequestMapping("/books/changes")
+@RequiredArgsConstructor
+public class BookChangeController {
+
+    private final BookChangeFeed bookChangeFeed;
+
+    /**
+     * Lists book changes (CREATED, UPDATED, DELETED) after `since`, oldest first.
+     * Without `since` the feed starts at the oldest retained change. With `wait` (seconds) and nothing new,
+     * the request is held open until a change arrives or the wait ends (then `items` is empty).
+     * Consumers keep passing the returned `next_cursor` back as `since`.
+     */
+    @GetMapping
+    public DeferredResult<BookChangeListResponse> listChanges(
+        @RequestParam(name = "since", required = false) String since,
+        @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(BookService.MAX_PAGE_SIZE) int limit,
+        @RequestParam(name = "wait", defaultValue = "0") @Min(0) @Max(BookChangeFeed.MAX_WAIT_SECONDS) int wait
+    ) {
+        return bookChangeFeed.changesSince(since, limit, Duration.ofSeconds(wait));
+    }
+}
@@ -0,0 +1,211 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.dto.BookBulkDeleteResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookBulkGetResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookBulkResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.IdempotentRequests;
+import com.codesungrape.hmcts.bookapi.service.VersionedBook;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * REST controller exposing the Book resource under /books.
+ * Parameter constraints mirror the OpenAPI spec and are enforced by Spring MVC method validation (400).
+ */
+@RestController
+@RequestMapping("/books")
+@RequiredArgsConstructor
+public class BookController {
+
+    // Newline-delimited JSON (https://github.com/ndjson/ndjson-spec)
+    public static final String NDJSON = "application/x-ndjson";
+
+    // Header a client sets to make a create safe to retry (IETF draft "The Idempotency-Key HTTP Header Field")
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // Set on a response replayed from an earlier request with the same Idempotency-Key
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final BookService bookService;
+    private final IdempotentRequests idempotentRequests;
+
+    /**
+     * Lists non-deleted books.
+     * Without a cursor this is an offset/limit page (OpenAPI 'Offset'/'Limit' parameters).
+     * With a cursor (the `next_cursor` of a previous page) it is a keyset page and offset is ignored.
+     * `fields` (e.g. "title,author") limits each item to those attributes plus id; unknown names are a 400.
+     */
+    @GetMapping
+    public BookListResponse listBooks(
+        @RequestParam(name = "offset", defaultValue = "0") @Min(0) long offset,
+        @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(BookService.MAX_PAGE_SIZE) int limit,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "fields", required = false) String fields
+    ) {
+        Set<BookField> selected = BookField.parse(fields);
+        if (cursor != null) {
+            return bookService.listBooksAfter(cursor, limit, selected);
+        }
+        return bookService.listBooks(offset, limit, selected);
+    }
+
+    /**
+     * Ranked full-text search over title, author and synopsis of non-deleted books.
+     */
+    @GetMapping("/search")
+    public BookListResponse searchBooks(
+        @RequestParam(name = "q") String query,
+        @RequestParam(name = "offset", defaultValue = "0") @Min(0) long offset,
+        @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(BookService.MAX_PAGE_SIZE) int limit
+    ) {
+        return bookService.searchBooks(query, offset, limit);
+    }
+
+    /**
+     * Retrieves a single non-deleted book by id (404 if missing or soft-deleted), with a strong ETag and Last-Modified.
+     * A conditional request (If-None-Match / If-Modified-Since) is first checked against the version stamp alone,
+     * so an unchanged book is answered with 304 without loading it.
+     */
+    @GetMapping("/{bookId}")
+    public ResponseEntity<BookResponse> getBookById(@PathVariable("bookId") UUID bookId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            BookVersion current = bookService.getBookVersion(bookId);
+            if (request.checkNotModified(BookEtags.of(current), current.lastModified().toEpochMilli())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(BookEtags.of(current))
+                    .lastModified(current.lastModified())
+                    .build();
+            }
+        }
+        return versioned(bookService.getVersionedBookById(bookId));
+    }
+
+    /**
+     * Replaces a book's title, synopsis and author. With If-Match the replace only succeeds if the book
+     * is still at that ETag (412 otherwise); the response carries the new ETag.
+     */
+    @PutMapping("/{bookId}")
+    public ResponseEntity<BookResponse> replaceBook(
+        @PathVariable("bookId") UUID bookId,
+        @RequestBody BookRequest request,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return versioned(bookService.replaceBook(bookId, request, BookEtags.parseIfMatch(ifMatch)));
+    }
+
+    /**
+     * Exports every non-deleted book as newline-delimited JSON.
+     * The body is written on an async thread straight to the response stream, so nothing is buffered in full.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = bookService::exportBooks;
+        return ResponseEntity.ok().body(body);
+    }
+
+    /**
+     * Creates a book (201 with its Location). With an Idempotency-Key the book is created at most once per client and
+     * key: a retry, or a duplicate sent while the first is still running, gets the first response back with
+     * Idempotent-Replayed: true. Reusing a key for a different body is a 422.
+     */
+    @PostMapping
+    public ResponseEntity<BookResponse> createBook(
+        @RequestBody BookRequest request,
+        @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        HttpServletRequest servletRequest
+    ) {
+        if (idempotencyKey == null) {
+            BookResponse book = BookResponse.from(bookService.createBook(request));
+            return ResponseEntity.created(URI.create("/books/" + book.id())).body(book);
+        }
+        IdempotentRequests.Result<BookResponse> result = idempotentRequests.execute(
+            Clients.key(servletRequest), idempotencyKey, request, BookResponse.class,
+            () -> BookResponse.from(bookService.createBook(request)));
+        ResponseEntity.BodyBuilder response = ResponseEntity.created(URI.create("/books/" + result.value().id()));
+        if (result.replayed()) {
+            response.header(REPLAYED_HEADER, "true");
+        }
+        return response.body(result.value());
+    }
+
+    /**
+     * Creates many books at once. Items are validated individually rather than with @Valid,
+     * so the response reports success or failure per item instead of rejecting the whole batch.
+     */
+    @PostMapping("/bulk")
+    public BookBulkResponse createBooks(@RequestBody List<BookRequest> requests) {
+        return bookService.createBooks(requests);
+    }
+
+    /**
+     * Looks up many books in one call, e.g. a reading list, with the ids in the body because hundreds do not fit in
+     * a URL. Only reads: rate limited as a read, and does not pin the client to the primary.
+     */
+    @PostMapping("/bulk-get")
+    public BookBulkGetResponse getBooks(@RequestBody List<UUID> bookIds) {
+        return bookService.getBooksByIds(bookIds);
+    }
+
+    /**
+     * Soft-deletes a book. Idempotent: deleting an already-deleted book is still 204; unknown ids are 404.
+     * With If-Match the delete only happens if the book is still at that ETag (412 otherwise, including
+     * when it was already deleted).
+     */
+    @DeleteMapping("/{bookId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteBookById(
+        @PathVariable("bookId") UUID bookId,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Long expectedVersion = BookEtags.parseIfMatch(ifMatch);
+        if (expectedVersion == null) {
+            bookService.deleteBookById(bookId);
+        } else {
+            bookService.deleteBookByIdIfMatch(bookId, expectedVersion);
+        }
+    }
+
+    /**
+     * Soft-deletes many books in one call; unknown or already-deleted ids are skipped.
+     */
+    @PostMapping("/bulk-delete")
+    public BookBulkDeleteResponse deleteBooks(@RequestBody List<UUID> bookIds) {
+        return new BookBulkDeleteResponse(bookIds.size(), bookService.deleteBooksByIds(bookIds));
+    }
+
+    private static ResponseEntity<BookResponse> versioned(VersionedBook book) {
+        return ResponseEntity.ok()
+            .eTag(BookEtags.of(book.version()))
+            .lastModified(book.version().lastModified())
+            .body(book.book());
+    }
+}
@@ -0,0 +1,45 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.exception.PreconditionFailedException;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps between a book's version stamp and its strong ETag, e.g. version 3 is {@code "3"}.
+ */
+final class BookEtags {
+
+    private static final Pattern STRONG_VERSION_ETAG = Pattern.compile("\"(\\d{1,18})\"");
+
+    private BookEtags() {
+        // Utility class
+    }
+
+    /**
+     * The strong ETag for a version stamp.
+     */
+    static String of(BookVersion version) {
+        return "\"" + version.version() + "\"";
+    }
+
+    /**
+     * Reads the version a client expects from an If-Match header.
+     *
+     * @param ifMatch the raw header, possibly null
+     * @return the expected version, or null when there is no precondition (header absent or "*")
+     * @throws PreconditionFailedException if the header is not a single strong ETag issued by this API;
+     *                                     such a value can never match the current version
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Matcher matcher = STRONG_VERSION_ETAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag of this book, got: " + ifMatch);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,44 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * Who a request comes from and whether it only reads, as shared by rate limiting, idempotency keys and
+ * read-your-writes.
+ */
+public final class Clients {
+
+    public static final String API_KEY_HEADER = "X-API-KEY";
+
+    static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    // POST endpoints that only read; they take their ids in the body because hundreds do not fit in a URL
+    static final Set<String> READ_ONLY_POSTS = Set.of("/books/bulk-get");
+
+    private Clients() {
+        // Utility class
+    }
+
+    /**
+     * Whether a request only reads: a safe method, or a POST to one of the read-only endpoints.
+     */
+    static boolean isRead(HttpServletRequest request) {
+        if (SAFE_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        return "POST".equals(request.getMethod())
+            && READ_ONLY_POSTS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * The client a request comes from: its API key, or its remote address when it sent none.
+     * Behind a proxy the address is the forwarded client address (server.forward-headers-strategy).
+     * The key is not verified here.
+     */
+    static String key(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null ? "key:" + apiKey : "addr:" + request.getRemoteAddr();
+    }
+}
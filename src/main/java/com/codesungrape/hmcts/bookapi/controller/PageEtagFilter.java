@@ -0,0 +1,52 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+
+/**
+ * Body-hash ETags for list pages (see {@link ShallowEtagHeaderFilter}): a matching If-None-Match gets 304.
+ * Hashing needs the whole body in memory, so a page of more than maxBufferedItems items gets no ETag and is
+ * streamed to the client (through compression) as it is written instead.
+ *
+ * <p>The ETags are weak. A page is the same whether or not it is gzipped, and Tomcat does not compress responses
+ * that carry a strong ETag.
+ */
+public class PageEtagFilter extends ShallowEtagHeaderFilter {
+
+    // BookController's default limit
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final int maxBufferedItems;
+
+    public PageEtagFilter(int maxBufferedItems) {
+        this.maxBufferedItems = maxBufferedItems;
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        if (requestedItems(request) > maxBufferedItems) {
+            disableContentCaching(request);
+        }
+        super.doFilterInternal(request, response, chain);
+    }
+
+    private static int requestedItems(HttpServletRequest request) {
+        String limit = request.getParameter("limit");
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(limit.trim());
+        } catch (NumberFormatException ex) {
+            // Answered with a small 400
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.repository.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each request executes and records them in the bookapi.request.queries summary.
+ * Optionally echoes the count in an {@value #HEADER} response header so tests can assert on it to catch N+1 queries.
+ * The header is stamped just before the body is written, which is after the handler has run its queries;
+ * statements executed on async threads (e.g. streaming exports) are not included.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final DistributionSummary queriesPerRequest;
+    private final boolean exposeHeader;
+
+    public QueryCountFilter(MeterRegistry registry, boolean exposeHeader) {
+        this.queriesPerRequest = DistributionSummary.builder("bookapi.request.queries")
+            .description("SQL statements executed per HTTP request")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.exposeHeader = exposeHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        HeaderStampingResponse stamping = new HeaderStampingResponse(response, counter);
+        try {
+            chain.doFilter(request, exposeHeader ? stamping : response);
+        } finally {
+            counter.stop();
+            queriesPerRequest.record(counter.count());
+            if (exposeHeader) {
+                // Bodiless responses (e.g. 204) never asked for an output stream
+                stamping.stamp();
+            }
+        }
+    }
+
+    /**
+     * Adds the query-count header the first time the body (or a flush) is requested, while headers can still be set.
+     */
+    private static final class HeaderStampingResponse extends HttpServletResponseWrapper {
+
+        private final QueryCounter counter;
+        private boolean stamped;
+
+        private HeaderStampingResponse(HttpServletResponse response, QueryCounter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        void stamp() {
+            if (!stamped && !isCommitted()) {
+                setHeader(HEADER, Integer.toString(counter.count()));
+            }
+            stamped = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-client rate limiting, with separate limits for reads (GET, HEAD, OPTIONS and the read-only POST
+ * /books/bulk-get) and writes (everything else, e.g. creating or deleting books). Clients are told apart by
+ * {@link Clients#key}: their {@value Clients#API_KEY_HEADER}, falling back to the
+ * client address (the forwarded one behind a trusted proxy). The API key is not verified, so a client can escape
+ * its bucket by sending a new one; the limits only hold where a gateway authenticates the key.
+ *
+ * <p>Every response carries the RateLimit-Limit, -Remaining, -Reset and -Policy headers (IETF draft
+ * "RateLimit header fields for HTTP"). A client over its limit gets 429 with Retry-After and never reaches the
+ * handler. Actuator endpoints are not limited, so monitoring keeps working while clients are throttled.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+    public static final String POLICY_HEADER = "RateLimit-Policy";
+
+    private static final String PROBLEM = "{\"type\":\"about:blank\",\"title\":\"Too Many Requests\",\"status\":429,"
+        + "\"detail\":\"Rate limit exceeded, retry after %d seconds\"}";
+
+    private final RateLimiter reads;
+    private final RateLimiter writes;
+
+    public RateLimitFilter(RateLimiter reads, RateLimiter writes) {
+        this.reads = reads;
+        this.writes = writes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        RateLimiter limiter = Clients.isRead(request) ? reads : writes;
+        RateLimiter.Decision decision = limiter.tryAcquire(Clients.key(request));
+
+        response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(RateLimiter.seconds(decision.resetNanos())));
+        response.setHeader(POLICY_HEADER, limiter.policy());
+        if (decision.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = RateLimiter.seconds(decision.retryAfterNanos());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write(PROBLEM.formatted(retryAfter));
+    }
+}
@@ -0,0 +1,141 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.repository.ReadWriteRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Read-your-writes for replica routing. Once a client sends a write (any method other than GET, HEAD or OPTIONS,
+ * apart from the read-only POST /books/bulk-get), its requests are pinned to the primary for the sticky window.
+ * A client therefore never reads its own change from a replica that has not replayed it yet.
+ *
+ * <p>The client carries its own stickiness, so it holds whichever instance serves the next request. Every write
+ * is answered with a token holding the write's time, signed with the secret all instances share. The token is sent
+ * both as the {@value #COOKIE} cookie and as the {@value #HEADER} response header; clients that do not keep cookies
+ * echo the header on their next requests. A request carrying a valid token younger than the window is pinned.
+ * Writes are pinned too, and a failed write issues a token just the same.
+ * Only the request thread is pinned: async work such as streaming exports still reads from the replica.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    // Signed time of the client's last write, as a request and response header
+    public static final String HEADER = "X-Last-Write";
+
+    // Same token as a cookie, for clients that keep cookies
+    public static final String COOKIE = "bookapi_last_write";
+
+    private static final String HMAC = "HmacSHA256";
+    private static final String SEPARATOR = ".";
+
+    private final Duration stickyWindow;
+    private final Clock clock;
+
+    // Not thread-safe: guarded by itself. One HMAC per request costs about a microsecond
+    private final Mac mac;
+
+    public ReadYourWritesFilter(Duration stickyWindow, String secret) throws GeneralSecurityException {
+        this(stickyWindow, secret, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the filter.
+     *
+     * @param stickyWindow how long after a write the client's requests stay on the primary
+     * @param secret       signs the tokens; must be the same on every instance
+     * @param clock        source of write and request times
+     * @throws IllegalArgumentException if the secret is null or blank
+     * @throws GeneralSecurityException if the JVM offers no HmacSHA256
+     */
+    public ReadYourWritesFilter(Duration stickyWindow, String secret, Clock clock) throws GeneralSecurityException {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("A read-your-writes signing secret is required");
+        }
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+        this.mac = Mac.getInstance(HMAC);
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        Instant now = clock.instant();
+        if (!Clients.isRead(request)) {
+            // Issued before the write runs, while the response can still take headers
+            issue(request, response, now);
+        } else if (!wroteRecently(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadWriteRoutingDataSource.Scope pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private void issue(HttpServletRequest request, HttpServletResponse response, Instant now) {
+        String millis = Long.toString(now.toEpochMilli());
+        String token = millis + SEPARATOR + sign(millis);
+        response.setHeader(HEADER, token);
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, token)
+            .path(request.getContextPath().isEmpty() ? "/" : request.getContextPath())
+            .maxAge(stickyWindow)
+            .httpOnly(true)
+            .secure(request.isSecure())
+            .sameSite("Lax")
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, Instant now) {
+        String token = request.getHeader(HEADER);
+        if (token == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    token = cookie.getValue();
+                }
+            }
+        }
+        Instant writtenAt = token == null ? null : verify(token);
+        return writtenAt != null && now.isBefore(writtenAt.plus(stickyWindow));
+    }
+
+    // The write time of a genuine token; null if it is malformed or its signature does not match
+    private Instant verify(String token) {
+        int separator = token.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        String millis = token.substring(0, separator);
+        byte[] expected = sign(millis).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, token.substring(separator + 1).getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        // Only this filter signs, and it signs decimal millis
+        return Instant.ofEpochMilli(Long.parseLong(millis));
+    }
+
+    private String sign(String value) {
+        byte[] signature;
+        synchronized (mac) {
+            signature = mac.doFinal(value.getBytes(StandardCharsets.US_ASCII));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+}
@@ -0,0 +1,71 @@
+package com.codesungrape.hmcts.bookapi.controller;
+
+import com.codesungrape.hmcts.bookapi.dto.ReservationListResponse;
+import com.codesungrape.hmcts.bookapi.dto.ReservationRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationResponse;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.ReservationService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * REST controller exposing a book's reservations under /books/{bookId}/reservations (OpenAPI 'Reservations' tag).
+ */
+@RestController
+@RequestMapping("/books/{bookId}/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    /**
+     * Reserves the book (201). 404 if the book is missing or deleted, 409 if it is already reserved.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationResponse reserve(@PathVariable("bookId") UUID bookId, @RequestBody ReservationRequest request) {
+        return reservationService.reserve(bookId, request);
+    }
+
+    /**
+     * Lists the book's reservations, active and cancelled, oldest first (OpenAPI 'Offset'/'Limit' parameters).
+     */
+    @GetMapping
+    public ReservationListResponse listReservations(
+        @PathVariable("bookId") UUID bookId,
+        @RequestParam(name = "offset", defaultValue = "0") @Min(0) long offset,
+        @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(BookService.MAX_PAGE_SIZE) int limit
+    ) {
+        return reservationService.listReservations(bookId, offset, limit);
+    }
+
+    /**
+     * Retrieves one reservation of the book (404 if it belongs to another book or does not exist).
+     */
+    @GetMapping("/{reservationId}")
+    public ReservationResponse getReservation(@PathVariable("bookId") UUID bookId, @PathVariable("reservationId") UUID reservationId) {
+        return reservationService.getReservation(bookId, reservationId);
+    }
+
+    /**
+     * Cancels a reservation, freeing the book. Idempotent: cancelling again is still 204.
+     */
+    @DeleteMapping("/{reservationId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelReservation(@PathVariable("bookId") UUID bookId, @PathVariable("reservationId") UUID reservationId) {
+        reservationService.cancelReservation(bookId, reservationId);
+    }
+}
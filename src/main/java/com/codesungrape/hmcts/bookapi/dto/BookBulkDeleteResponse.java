@@ -0,0 +1,12 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO reporting the outcome of a bulk soft delete.
+ * `deleted` counts only books that were live; unknown and already-deleted ids are not errors.
+ */
+public record BookBulkDeleteResponse(
+    @JsonProperty("requested") int requested,
+    @JsonProperty("deleted") int deleted) {
+}
@@ -0,0 +1,16 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO answering a multi-book lookup.
+ * `items` holds the live books in the order their ids were first requested; `missing` lists the ids, in the same
+ * order, that are unknown or soft-deleted. Duplicate ids appear once.
+ */
+public record BookBulkGetResponse(
+    @JsonProperty("items") List<BookResponse> items,
+    @JsonProperty("missing") List<UUID> missing) {
+}
@@ -0,0 +1,57 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO reporting the outcome of a bulk create, one entry per submitted BookInput in request order.
+ */
+public record BookBulkResponse(
+    @JsonProperty("created") int created,
+    @JsonProperty("failed") int failed,
+    @JsonProperty("items") List<Item> items) {
+
+    /**
+     * Builds the response, deriving the created/failed totals from the items.
+     */
+    public static BookBulkResponse of(List<Item> items) {
+        int created = (int) items.stream().filter(item -> item.status() == Status.CREATED).count();
+        return new BookBulkResponse(created, items.size() - created, items);
+    }
+
+    /**
+     * Outcome of a single bulk item.
+     */
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    /**
+     * Result for the request item at `index`: the new id on success, or the reason it failed.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(
+        @JsonProperty("index") int index,
+        @JsonProperty("status") Status status,
+        @JsonProperty("id") UUID id,
+        @JsonProperty("error") String error) {
+
+        /**
+         * Successful item with its generated id.
+         */
+        public static Item created(int index, UUID id) {
+            return new Item(index, Status.CREATED, id, null);
+        }
+
+        /**
+         * Failed item with a human-readable reason.
+         */
+        public static Item failed(int index, String error) {
+            return new Item(index, Status.FAILED, null, error);
+        }
+    }
+}
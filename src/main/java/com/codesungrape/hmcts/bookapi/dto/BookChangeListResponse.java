@@ -0,0 +1,14 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of the book change feed, oldest change first.
+ * `nextCursor` is always present: pass it as `since` to continue, even when `items` is empty.
+ */
+public record BookChangeListResponse(
+    @JsonProperty("items") List<BookChangeResponse> items,
+    @JsonProperty("next_cursor") String nextCursor) {
+}
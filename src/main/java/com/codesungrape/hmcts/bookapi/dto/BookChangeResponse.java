@@ -0,0 +1,30 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO representing one entry of the book change feed (GET /books/changes).
+ * `book` is the BookOutput after the change, written verbatim from the outbox payload; it is absent for deletions.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BookChangeResponse(
+    @JsonProperty("event_id") UUID eventId,
+    @JsonProperty("type") BookEventType type,
+    @JsonProperty("book_id") UUID bookId,
+    @JsonProperty("occurred_at") Instant occurredAt,
+    @JsonProperty("book") @JsonRawValue String book) {
+
+    /**
+     * Maps an outbox row to its feed representation.
+     */
+    public static BookChangeResponse from(BookEvent event) {
+        return new BookChangeResponse(event.getId(), event.getType(), event.getBookId(), event.getCreatedAt(), event.getPayload());
+    }
+}
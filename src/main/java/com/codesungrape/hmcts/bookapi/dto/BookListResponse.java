@@ -0,0 +1,19 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of Book resources.
+ * This record mirrors the OpenAPI 'BookListResponse' schema.
+ * `totalCount` is only populated for offset pages; keyset (cursor) pages skip the count query.
+ * `nextCursor` is an opaque token for the following keyset page, absent on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BookListResponse(
+    @JsonProperty("total_count") Long totalCount,
+    @JsonProperty("items") List<BookResponse> items,
+    @JsonProperty("next_cursor") String nextCursor) {
+}
@@ -0,0 +1,27 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+/**
+ * DTO representing a Book resource as returned by the API.
+ * This record mirrors the OpenAPI 'BookOutput' schema (without HATEOAS links).
+ * Null attributes are omitted, so `fields`-shaped list items only carry what was asked for.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BookResponse(
+    @JsonProperty("id") UUID id,
+    @JsonProperty("title") String title,
+    @JsonProperty("synopsis") String synopsis,
+    @JsonProperty("author") String author) {
+
+    /**
+     * Maps a persisted Book entity to its API representation.
+     */
+    public static BookResponse from(Book book) {
+        return new BookResponse(book.getId(), book.getTitle(), book.getSynopsis(), book.getAuthor());
+    }
+}
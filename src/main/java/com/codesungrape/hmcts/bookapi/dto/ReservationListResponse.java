@@ -0,0 +1,14 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a book's reservations.
+ * This record mirrors the OpenAPI 'ReservationListResponse' schema.
+ */
+public record ReservationListResponse(
+    @JsonProperty("total_count") long totalCount,
+    @JsonProperty("items") List<ReservationResponse> items) {
+}
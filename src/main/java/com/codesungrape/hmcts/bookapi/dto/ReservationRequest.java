@@ -0,0 +1,13 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * DTO representing the input for reserving a book: the user the reservation is made for.
+ */
+public record ReservationRequest(
+    @JsonProperty("user_id") @NotNull(message = "User id is required") UUID userId) {
+}
@@ -0,0 +1,33 @@
+package com.codesungrape.hmcts.bookapi.dto;
+
+import com.codesungrape.hmcts.bookapi.entity.Reservation;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * DTO representing a Reservation resource as returned by the API.
+ * This record mirrors the OpenAPI 'ReservationOutput' schema (without HATEOAS links).
+ */
+public record ReservationResponse(
+    @JsonProperty("id") UUID id,
+    @JsonProperty("state") String state,
+    @JsonProperty("user_id") UUID userId,
+    @JsonProperty("book_id") UUID bookId,
+    @JsonProperty("reservationDate") Instant reservationDate) {
+
+    /**
+     * Maps a persisted Reservation entity to its API representation; the state is lower case, e.g. "reserved".
+     */
+    public static ReservationResponse from(Reservation reservation) {
+        return new ReservationResponse(
+            reservation.getId(),
+            reservation.getState().name().toLowerCase(Locale.ROOT),
+            reservation.getUserId(),
+            reservation.getBook().getId(),
+            reservation.getReservedAt()
+        );
+    }
+}
@@ -2,12 +2,11 @@ package com.codesungrape.hmcts.bookapi.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -39,7 +38,7 @@ import lombok.Setter;
 public class Book {
 
     @Id // Primary key of the table
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @BookId // UUIDv7 by default: time-ordered, so inserts append to the primary-key index
     @Column(name = "id", nullable = false)
     private UUID id;
 
@@ -67,6 +66,12 @@ public class Book {
     @Column(name = "modified_at")
     private Instant modifiedAt;
 
+    // Optimistic lock: incremented on every update, checked by Hibernate on flush.
+    // Also the ETag of the book (If-None-Match / If-Match). Null until first persisted.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // --- JPA lifecycle callbacks ---
 
     /**
@@ -0,0 +1,54 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A soft-deleted book moved out of the book table by the archival job (table book_archive).
+ * Rows are written in bulk by native SQL and never changed afterwards, so the entity is read-only.
+ */
+@Entity
+@Table(name = "book_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For JPA/Hibernate requirements
+@AllArgsConstructor // For easy construction in tests
+@Builder // For convenience in creating instances
+public class BookArchive {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "synopsis", nullable = false, columnDefinition = "TEXT")
+    private String synopsis;
+
+    @Column(name = "author", nullable = false)
+    private String author;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // The book's modified_at when archived: its last write, the soft delete
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
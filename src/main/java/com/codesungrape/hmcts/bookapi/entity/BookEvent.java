@@ -0,0 +1,68 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One book mutation in the transactional outbox (table book_outbox).
+ * Written in the same transaction as the change itself, so an event exists if and only if the change committed.
+ * The payload is the book's BookOutput JSON after the change; it is null for deletions.
+ */
+@Entity
+@Table(name = "book_outbox")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For JPA/Hibernate requirements
+@AllArgsConstructor // For easy construction in tests
+@Builder // For convenience in creating instances
+public class BookEvent {
+
+    @Id
+    @BookId // Generated in the JVM, so outbox rows are JDBC-batched together with the books they describe
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "book_id", nullable = false)
+    private UUID bookId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private BookEventType type;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Null until BookEventPublisher has handed the event to every sink
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    // Order in the change feed, assigned with publishedAt under the book_feed_head lock, so it follows commit order
+    @Column(name = "feed_position", unique = true)
+    private Long feedPosition;
+
+    /**
+     * Sets createdAt before persisting a new event.
+     */
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
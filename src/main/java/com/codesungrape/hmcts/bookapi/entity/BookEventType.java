@@ -0,0 +1,10 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+/**
+ * Kind of book mutation recorded in the outbox.
+ */
+public enum BookEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
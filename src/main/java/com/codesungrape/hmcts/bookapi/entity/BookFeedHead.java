@@ -0,0 +1,36 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The last change feed position handed out (table book_feed_head, a single row).
+ * Publishers lock the row before claiming events and hold it until they commit, so positions are assigned and
+ * become visible strictly in order.
+ */
+@Entity
+@Table(name = "book_feed_head")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For JPA/Hibernate requirements
+@AllArgsConstructor // For easy construction in tests
+public class BookFeedHead {
+
+    // Id of the only row
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @Column(name = "last_position", nullable = false)
+    private long lastPosition;
+}
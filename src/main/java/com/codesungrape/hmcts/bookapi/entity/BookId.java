@@ -0,0 +1,18 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UUID primary key as generated by {@link BookIdGenerator}.
+ * The UUID version (v4 random or v7 time-ordered) is chosen by configuration, not per field.
+ */
+@IdGeneratorType(BookIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BookId {
+}
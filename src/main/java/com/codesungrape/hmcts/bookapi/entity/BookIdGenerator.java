@@ -0,0 +1,85 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Hibernate identifier generator behind {@link BookId}. Generates ids in the JVM before the INSERT,
+ * so JDBC batching is unaffected. Version 7 (the default) keeps primary-key inserts append-only in the
+ * B-tree; version 4 is kept for compatibility and comparison.
+ * Select with the Hibernate setting {@value #UUID_VERSION_SETTING} (Spring: spring.jpa.properties.*).
+ */
+public class BookIdGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<BookId> {
+
+    public static final String UUID_VERSION_SETTING = "bookapi.id.uuid-version";
+
+    /**
+     * Supported UUID versions.
+     */
+    public enum UuidVersion {
+        V4,
+        V7;
+
+        /**
+         * Parses a configured value such as "v7" or "V4".
+         *
+         * @throws IllegalArgumentException if the value is not a supported version
+         */
+        public static UuidVersion parse(String value) {
+            String normalized = value.trim().toUpperCase(Locale.ROOT);
+            for (UuidVersion version : values()) {
+                if (version.name().equals(normalized)) {
+                    return version;
+                }
+            }
+            throw new IllegalArgumentException(String.format(
+                "Unsupported %s '%s' (expected v4 or v7)", UUID_VERSION_SETTING, value
+            ));
+        }
+    }
+
+    private UuidVersion version = UuidVersion.V7;
+
+    @Override
+    public void initialize(BookId annotation, Member member, GeneratorCreationContext context) {
+        Object configured = context.getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSettings()
+            .get(UUID_VERSION_SETTING);
+        if (configured != null) {
+            version = UuidVersion.parse(configured.toString());
+        }
+    }
+
+    /**
+     * Returns the UUID version this generator emits.
+     */
+    public UuidVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public Object generate(
+        SharedSessionContractImplementor session,
+        Object owner,
+        Object currentValue,
+        EventType eventType
+    ) {
+        return version == UuidVersion.V7 ? UuidV7.next() : UUID.randomUUID();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,57 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The durable record of one Idempotency-Key (table idempotency_key).
+ * Rows are claimed, completed and released by conditional native statements, so the entity is read-only.
+ */
+@Entity
+@Table(name = "idempotency_key")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For JPA/Hibernate requirements
+@AllArgsConstructor // For easy construction in tests
+@Builder // For convenience in creating instances
+public class IdempotencyRecord {
+
+    // Name-based UUID of the client and its Idempotency-Key
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    // Name-based UUID of the request body; reusing the key for a different body is rejected
+    @Column(name = "fingerprint", nullable = false)
+    private UUID fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 16)
+    private IdempotencyState state;
+
+    // Identifies the current claim, so a request only completes or releases a claim it still holds
+    @Column(name = "claim_token", nullable = false)
+    private UUID claimToken;
+
+    @Column(name = "claimed_at", nullable = false)
+    private Instant claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // The JSON response body, once COMPLETED
+    @Column(name = "response", columnDefinition = "TEXT")
+    private String response;
+}
@@ -0,0 +1,9 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+/**
+ * Lifecycle of an Idempotency-Key: claimed by the first request, then completed with its response.
+ */
+public enum IdempotencyState {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,73 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A user's reservation of a book (table reservation).
+ * Cancelled reservations are kept as history; only a RESERVED one blocks the book.
+ */
+@Entity
+@Table(name = "reservation")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For JPA/Hibernate requirements
+@AllArgsConstructor // For easy construction in tests
+@Builder // For convenience in creating instances
+public class Reservation {
+
+    @Id
+    @BookId // UUIDv7 by default, like books
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    // Lazy: the book id is read from the proxy without loading the book
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "book_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Book book;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 16)
+    private ReservationState state;
+
+    @Column(name = "reserved_at", nullable = false, updatable = false)
+    private Instant reservedAt;
+
+    // Optimistic lock: a concurrent cancel of the same reservation fails on flush instead of being lost
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Sets reservedAt before persisting a new reservation.
+     */
+    @PrePersist
+    protected void onCreate() {
+        this.reservedAt = Instant.now();
+    }
+}
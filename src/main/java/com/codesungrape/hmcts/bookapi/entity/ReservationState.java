@@ -0,0 +1,9 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+/**
+ * Lifecycle of a reservation. A book has at most one RESERVED reservation at a time.
+ */
+public enum ReservationState {
+    RESERVED,
+    CANCELLED
+}
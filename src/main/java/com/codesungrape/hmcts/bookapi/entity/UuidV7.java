@@ -0,0 +1,59 @@
+package com.codesungrape.hmcts.bookapi.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of RFC 9562 version 7 UUIDs.
+ * Layout: 48-bit Unix epoch milliseconds, version, 12-bit counter (rand_a), variant, 62 random bits (rand_b).
+ * Values are strictly increasing within a JVM, even for many ids in the same millisecond or
+ * if the wall clock steps backwards; across JVMs they are time-ordered to the millisecond and
+ * kept unique by the random bits.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+    private static final long RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Per-JVM salt so instances whose ThreadLocalRandom streams happen to align still diverge
+    private static final long INSTANCE_SALT = new SecureRandom().nextLong();
+
+    // (unix millis << COUNTER_BITS) | counter of the last UUID handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+        // Utility class
+    }
+
+    /**
+     * Returns the next UUIDv7, greater than any previously returned by this JVM.
+     */
+    public static UUID next() {
+        return fromState(nextState(System.currentTimeMillis()), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Extracts the embedded Unix epoch milliseconds from a UUIDv7.
+     */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    // Advances the shared (millis, counter) state; if the counter overflows it borrows from the next millisecond
+    static long nextState(long nowMillis) {
+        long candidate = nowMillis << COUNTER_BITS;
+        return LAST.updateAndGet(last -> Math.max(last + 1, candidate));
+    }
+
+    static UUID fromState(long state, long random) {
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | VERSION_7 | counter;
+        long lsb = VARIANT_RFC | ((random ^ INSTANCE_SALT) & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+}
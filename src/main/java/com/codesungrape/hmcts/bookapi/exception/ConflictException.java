@@ -0,0 +1,12 @@
+package com.codesungrape.hmcts.bookapi.exception;
+
+/**
+ * Signals that a request conflicts with the current state of a resource (e.g. a book that is already reserved),
+ * typically mapping to HTTP 409.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.codesungrape.hmcts.bookapi.exception;
+
+import java.time.Duration;
+
+/**
+ * Signals that every database connection permit is in use and the request was shed rather than queued,
+ * typically mapping to HTTP 503 with a Retry-After header.
+ */
+public class DatabaseBusyException extends RuntimeException {
+
+    private final transient Duration retryAfter;
+
+    public DatabaseBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the client should wait before retrying.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
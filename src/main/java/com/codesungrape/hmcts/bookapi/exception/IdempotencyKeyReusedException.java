@@ -0,0 +1,11 @@
+package com.codesungrape.hmcts.bookapi.exception;
+
+/**
+ * Signals that an Idempotency-Key was sent again with a different request body, typically mapping to HTTP 422.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
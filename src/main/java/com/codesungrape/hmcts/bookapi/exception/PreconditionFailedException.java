@@ -0,0 +1,12 @@
+package com.codesungrape.hmcts.bookapi.exception;
+
+/**
+ * Signals that a conditional write (If-Match) did not hold because the resource has changed,
+ * typically mapping to HTTP 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
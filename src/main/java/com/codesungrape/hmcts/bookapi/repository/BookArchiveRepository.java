@@ -0,0 +1,70 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.entity.BookArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for moving soft-deleted books from the book table into book_archive.
+ * Every query here is driven by the partial (modified_at, id) index on deleted books (V6 migration).
+ */
+@Repository
+public interface BookArchiveRepository extends JpaRepository<BookArchive, UUID> {
+
+    /**
+     * Oldest soft-deleted books whose deletion is older than the cutoff, locked for this transaction.
+     * SKIP LOCKED lets archivers on several instances take disjoint chunks.
+     */
+    String LOCK_ARCHIVABLE_SQL =
+        "SELECT id FROM book WHERE deleted = true AND modified_at < :deletedBefore "
+            + "ORDER BY modified_at, id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    /**
+     * Copies the given books into book_archive, stamped with the archive time.
+     */
+    String ARCHIVE_SQL =
+        "INSERT INTO book_archive (id, title, synopsis, author, created_at, deleted_at, version, archived_at) "
+            + "SELECT id, title, synopsis, author, created_at, modified_at, version, :now FROM book WHERE id IN (:ids)";
+
+    /**
+     * Locks up to {@code limit} archivable books, oldest deletion first, and returns their ids.
+     * Must run inside a transaction; the row locks are held until it ends.
+     */
+    @Query(value = LOCK_ARCHIVABLE_SQL, nativeQuery = true)
+    List<UUID> lockArchivableIds(@Param("deletedBefore") Instant deletedBefore, @Param("limit") int limit);
+
+    /**
+     * Copies the given books into book_archive in a single INSERT ... SELECT.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = ARCHIVE_SQL, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
+    /**
+     * Hard-deletes the given books from the book table; live books are never removed, whatever the ids.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM book WHERE id IN (:ids) AND deleted = true", nativeQuery = true)
+    int deleteArchived(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Counts the soft-deleted books whose deletion is older than the cutoff (dry runs).
+     */
+    @Query(value = "SELECT COUNT(*) FROM book WHERE deleted = true AND modified_at < :deletedBefore", nativeQuery = true)
+    long countArchivable(@Param("deletedBefore") Instant deletedBefore);
+
+    /**
+     * Deletion time of the oldest soft-deleted book still in the book table, if any.
+     */
+    @Query("SELECT MIN(b.modifiedAt) FROM Book b WHERE b.deleted = true")
+    Optional<Instant> findOldestDeletedAt();
+}
@@ -0,0 +1,61 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the book_outbox table: claiming unpublished events and reading the change feed
+ * in feed position order.
+ */
+@Repository
+public interface BookEventRepository extends JpaRepository<BookEvent, UUID> {
+
+    /**
+     * Oldest unpublished events. Publishers hold the book_feed_head lock while they claim and publish, so no
+     * two claim at once and no row lock is needed here.
+     */
+    String CLAIM_SQL =
+        "SELECT * FROM book_outbox WHERE published_at IS NULL ORDER BY created_at, id LIMIT :limit";
+
+    /**
+     * Page of published events strictly after the given feed position; unpublished events have none and are skipped.
+     */
+    String FEED_PAGE_AFTER_SQL =
+        "SELECT * FROM book_outbox WHERE feed_position > :position ORDER BY feed_position LIMIT :limit";
+
+    /**
+     * Claims up to {@code limit} unpublished events, oldest first.
+     * Must run inside a transaction holding {@link BookFeedHeadRepository#lockById(int)}.
+     */
+    @Query(value = CLAIM_SQL, nativeQuery = true)
+    List<BookEvent> claimUnpublished(@Param("limit") int limit);
+
+    /**
+     * Ids of up to {@code limit} events published before the cutoff, oldest first; removed by the archival job.
+     */
+    @Query(value = "SELECT id FROM book_outbox WHERE published_at < :publishedBefore ORDER BY published_at LIMIT :limit", nativeQuery = true)
+    List<UUID> findPublishedBefore(@Param("publishedBefore") Instant publishedBefore, @Param("limit") int limit);
+
+    /**
+     * Counts the events published before the cutoff (archival dry runs).
+     */
+    long countByPublishedAtBefore(Instant publishedBefore);
+
+    /**
+     * Reads the change feed after the given position.
+     * Entities are loaded read-only, so Hibernate keeps no dirty-check snapshots for them.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = FEED_PAGE_AFTER_SQL, nativeQuery = true)
+    List<BookEvent> findFeedPageAfter(@Param("position") long position, @Param("limit") int limit);
+}
@@ -0,0 +1,26 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.entity.BookFeedHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the book_feed_head row that serializes the assignment of change feed positions.
+ */
+@Repository
+public interface BookFeedHeadRepository extends JpaRepository<BookFeedHead, Integer> {
+
+    /**
+     * Retrieves the head and write-locks it until the transaction ends; a second publisher waits here until the
+     * first has committed its positions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM BookFeedHead h WHERE h.id = :id")
+    Optional<BookFeedHead> lockById(@Param("id") int id);
+}
@@ -0,0 +1,60 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Book attributes a client can request through the `fields` parameter, with their database columns.
+ * The id is always returned; listing only `title,author` keeps the synopsis TEXT column out of the query.
+ */
+public enum BookField {
+    TITLE("title"),
+    AUTHOR("author"),
+    SYNOPSIS("synopsis");
+
+    /**
+     * Every optional field; the default when no `fields` parameter is given.
+     */
+    public static final Set<BookField> ALL = Collections.unmodifiableSet(EnumSet.allOf(BookField.class));
+
+    private final String column;
+
+    BookField(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Database column (and JSON property) name for this field.
+     */
+    public String column() {
+        return column;
+    }
+
+    /**
+     * Parses a comma-separated `fields` value such as "title,author". "id" is accepted and implied.
+     *
+     * @param fields the raw parameter; null or blank selects {@link #ALL}
+     * @return the requested fields
+     * @throws IllegalArgumentException if a field name is not recognised
+     */
+    public static Set<BookField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<BookField> parsed = EnumSet.noneOf(BookField.class);
+        for (String name : fields.split(",")) {
+            String normalized = name.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty() || "id".equals(normalized)) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                .filter(field -> field.column.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown field: " + name.trim())));
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+}
@@ -0,0 +1,20 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Unmanaged, read-only row of the book table holding only the selected columns.
+ * Fields that were not requested are null; id and createdAt are always present (identity and keyset cursor).
+ */
+public record BookProjection(UUID id, Instant createdAt, String title, String author, String synopsis) {
+
+    /**
+     * Maps to the API representation; unrequested fields stay null and are omitted from JSON.
+     */
+    public BookResponse toResponse() {
+        return new BookResponse(id, title, synopsis, author);
+    }
+}
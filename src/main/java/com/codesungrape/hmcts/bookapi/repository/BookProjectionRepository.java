@@ -0,0 +1,23 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Column-projection queries for list views. Only the requested columns are read from the database,
+ * and rows come back as plain records rather than managed entities (no persistence-context snapshots).
+ */
+public interface BookProjectionRepository {
+
+    /**
+     * Offset page of live books in (created_at, id) order, selecting only the given fields.
+     */
+    List<BookProjection> findLivePageProjection(Set<BookField> fields, long offset, int limit);
+
+    /**
+     * Keyset page of live books after the given (created_at, id) position, selecting only the given fields.
+     */
+    List<BookProjection> findLivePageAfterProjection(Set<BookField> fields, Instant createdAt, UUID id, int limit);
+}
@@ -0,0 +1,90 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Spring Data fragment implementing {@link BookProjectionRepository} with native scalar queries.
+ * Column names come only from the {@link BookField} whitelist, never from user input.
+ * The FROM/WHERE/ORDER clauses are the {@link BookRepository} LIVE_PAGE constants, served by the
+ * (created_at, id) partial index.
+ */
+@RequiredArgsConstructor
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookProjection> findLivePageProjection(Set<BookField> fields, long offset, int limit) {
+        Query query = projectionQuery(fields, BookRepository.LIVE_PAGE_FROM)
+            .setParameter("offset", offset)
+            .setParameter("limit", limit);
+        return toProjections(fields, query.getResultList());
+    }
+
+    @Override
+    public List<BookProjection> findLivePageAfterProjection(
+        Set<BookField> fields,
+        Instant createdAt,
+        UUID id,
+        int limit
+    ) {
+        Query query = projectionQuery(fields, BookRepository.LIVE_PAGE_AFTER_FROM)
+            .setParameter("createdAt", createdAt)
+            .setParameter("id", id)
+            .setParameter("limit", limit);
+        return toProjections(fields, query.getResultList());
+    }
+
+    /**
+     * SQL of a projection query: id, created_at and the given fields' columns, then the FROM/WHERE/ORDER part.
+     */
+    public static String projectionSql(Set<BookField> fields, String from) {
+        StringBuilder select = new StringBuilder("SELECT id, created_at");
+        for (BookField field : fields) {
+            select.append(", ").append(field.column());
+        }
+        return select + from;
+    }
+
+    private Query projectionQuery(Set<BookField> fields, String from) {
+        Query query = entityManager.createNativeQuery(projectionSql(fields, from));
+
+        // Declare scalar types so results are identical across JDBC drivers (e.g. timestamptz -> Instant).
+        // The query is configured through unwrap but still executed through the JPA handle.
+        NativeQuery<?> nativeQuery = query.unwrap(NativeQuery.class);
+        nativeQuery.addScalar("id", StandardBasicTypes.UUID);
+        nativeQuery.addScalar("created_at", StandardBasicTypes.INSTANT);
+        for (BookField field : fields) {
+            nativeQuery.addScalar(field.column(), StandardBasicTypes.STRING);
+        }
+        return query;
+    }
+
+    private static List<BookProjection> toProjections(Set<BookField> fields, List<?> rows) {
+        return rows.stream().map(row -> toProjection(fields, (Object[]) row)).toList();
+    }
+
+    private static BookProjection toProjection(Set<BookField> fields, Object[] row) {
+        String[] values = new String[BookField.values().length];
+        int column = 2;
+        for (BookField field : fields) {
+            values[field.ordinal()] = (String) row[column++];
+        }
+        return new BookProjection(
+            (UUID) row[0],
+            (Instant) row[1],
+            values[BookField.TITLE.ordinal()],
+            values[BookField.AUTHOR.ordinal()],
+            values[BookField.SYNOPSIS.ordinal()]
+        );
+    }
+}
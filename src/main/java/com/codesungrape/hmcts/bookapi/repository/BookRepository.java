@@ -1,19 +1,72 @@
 package com.codesungrape.hmcts.bookapi.repository;
 
 import com.codesungrape.hmcts.bookapi.entity.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Book entities. Provides CRUD operations and custom queries for
  * non-deleted books. Spring Data JPA automatically implements this interface at runtime.
+ * Every single-book statement filters on id (=, or IN / = ANY for bulk ones), so when book is hash-partitioned by id
+ * (V9 migration) PostgreSQL prunes it to one partition; keep it that way. Listing pages have no id filter and
+ * read each partition's partial (created_at, id) index, merged in order.
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, UUID> {
+public interface BookRepository extends JpaRepository<Book, UUID>, BookProjectionRepository {
+
+    /**
+     * FROM/WHERE/ORDER part of an offset page of live books in (created_at, id) order.
+     * Cost grows with the offset.
+     */
+    String LIVE_PAGE_FROM =
+        " FROM book WHERE deleted = false "
+            + "ORDER BY created_at, id LIMIT :limit OFFSET :offset";
+
+    /**
+     * FROM/WHERE/ORDER part of a keyset page of live books strictly after the given (created_at, id) position.
+     * The leading range on created_at lets the partial index seek straight to the cursor,
+     * so every page costs the same regardless of depth.
+     */
+    String LIVE_PAGE_AFTER_FROM =
+        " FROM book WHERE deleted = false "
+            + "AND created_at >= :createdAt AND (created_at > :createdAt OR id > :id) "
+            + "ORDER BY created_at, id LIMIT :limit";
+
+    /**
+     * Ranked full-text search over live books using the generated search_vector column (PostgreSQL only).
+     * websearch_to_tsquery accepts user input such as: tolkien "the hobbit" -film
+     */
+    String SEARCH_SQL =
+        "SELECT b.* FROM book b, websearch_to_tsquery('english', :query) q "
+            + "WHERE b.deleted = false AND b.search_vector @@ q "
+            + "ORDER BY ts_rank(b.search_vector, q) DESC, b.id "
+            + "LIMIT :limit OFFSET :offset";
+
+    /**
+     * Live books among an array of ids. One bind parameter however many ids, so every batch size shares a
+     * single prepared statement and plan (an IN list has a different statement per length).
+     */
+    String LIVE_BY_IDS_SQL = "SELECT * FROM book WHERE id = ANY(:ids) AND deleted = false";
+
+    /**
+     * JDBC fetch size for streaming reads: rows are pulled from the server cursor in chunks of this size.
+     */
+    String STREAM_FETCH_SIZE = "1000";
 
     /**
      * Custom query retrieves all Book records that have not been soft-deleted.
@@ -24,4 +77,95 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
      * Retrieves a single Book by ID, if it exists and has not been soft-deleted.
      */
     Optional<Book> findByIdAndDeletedFalse(UUID id);
+
+    /**
+     * Retrieves the live books among the given ids, in no particular order; unknown and deleted ids are skipped.
+     * Entities are loaded read-only, so Hibernate keeps no dirty-check snapshots for them.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = LIVE_BY_IDS_SQL, nativeQuery = true)
+    List<Book> findLiveByIds(@Param("ids") UUID[] ids);
+
+    /**
+     * Whether a live book exists with the given id; no entity is loaded.
+     */
+    boolean existsByIdAndDeletedFalse(UUID id);
+
+    /**
+     * Retrieves a live book and write-locks its row until the transaction ends (FOR NO KEY UPDATE on PostgreSQL).
+     * Serializes reservations of that one book only; reads and other books are not blocked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = :id AND b.deleted = false")
+    Optional<Book> lockLiveById(@Param("id") UUID id);
+
+    /**
+     * Reads only the version stamp of a live book; no entity is materialised or attached to the persistence context.
+     */
+    @Query("SELECT new com.codesungrape.hmcts.bookapi.repository.BookVersion(b.version, COALESCE(b.modifiedAt, b.createdAt)) "
+        + "FROM Book b WHERE b.id = :id AND b.deleted = false")
+    Optional<BookVersion> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Counts the Book records that have not been soft-deleted.
+     */
+    long countByDeletedFalse();
+
+    /**
+     * Retrieves one page of non-deleted books matching a full-text query, best match first.
+     * Served by the GIN index on search_vector; PostgreSQL only (see V3 migration).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = SEARCH_SQL, nativeQuery = true)
+    List<Book> searchLive(
+        @Param("query") String query,
+        @Param("offset") long offset,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Streams every non-deleted book in (created_at, id) order through a forward-only cursor.
+     * Must be consumed inside a transaction and closed afterwards (PostgreSQL only honours the
+     * fetch size with auto-commit off). Entities are loaded read-only, so no dirty-check snapshots are kept.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b WHERE b.deleted = false ORDER BY b.createdAt, b.id")
+    Stream<Book> streamAllByDeletedFalse();
+
+    /**
+     * Soft-deletes a live book in a single conditional UPDATE (no entity load, no dirty checking).
+     * Returns 1 if the book was live and is now deleted, 0 if it was already deleted or does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.deleted = true, b.modifiedAt = :now, b.version = b.version + 1 "
+        + "WHERE b.id = :id AND b.deleted = false")
+    int softDeleteById(@Param("id") UUID id, @Param("now") Instant now);
+
+    /**
+     * Soft-deletes a live book only if it is still at the expected version (If-Match), in a single UPDATE.
+     * Returns 1 if deleted, 0 if the book is missing, already deleted or at another version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.deleted = true, b.modifiedAt = :now, b.version = b.version + 1 "
+        + "WHERE b.id = :id AND b.version = :version AND b.deleted = false")
+    int softDeleteByIdAndVersion(@Param("id") UUID id, @Param("version") long version, @Param("now") Instant now);
+
+    /**
+     * Locks the live books among the given ids (in id order, so overlapping bulk deletes cannot deadlock) and
+     * returns their ids. A following soft delete then changes exactly these rows, so each gets one outbox event.
+     */
+    @Query(value = "SELECT id FROM book WHERE id IN (:ids) AND deleted = false ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockLiveIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Soft-deletes every live book among the given ids in a single UPDATE.
+     * Returns the number of books that were live and are now deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.deleted = true, b.modifiedAt = :now, b.version = b.version + 1 "
+        + "WHERE b.id IN :ids AND b.deleted = false")
+    int softDeleteAllById(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
 }
@@ -0,0 +1,22 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+
+import java.time.Instant;
+
+/**
+ * Version stamp of a live book: enough to answer a conditional request without loading the entity.
+ *
+ * @param version      the optimistic-lock version (the book's ETag)
+ * @param lastModified when the book last changed (modifiedAt, or createdAt if never modified)
+ */
+public record BookVersion(long version, Instant lastModified) {
+
+    /**
+     * Version stamp of a persisted entity.
+     */
+    public static BookVersion of(Book book) {
+        Instant modifiedAt = book.getModifiedAt();
+        return new BookVersion(book.getVersion(), modifiedAt != null ? modifiedAt : book.getCreatedAt());
+    }
+}
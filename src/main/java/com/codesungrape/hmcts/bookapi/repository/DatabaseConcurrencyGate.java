@@ -0,0 +1,108 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore in front of the connection pool with one permit per pooled connection.
+ * A caller that cannot get a permit within the acquire timeout is rejected with
+ * {@link DatabaseBusyException} instead of parking for the pool's (much longer) connection timeout.
+ * This matters most with virtual threads, where thousands of requests can otherwise pile up on the pool.
+ */
+public class DatabaseConcurrencyGate implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+    private final Duration retryAfter;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a gate.
+     *
+     * @param maxPermits     concurrent connections allowed; size this to the pool's maximum
+     * @param acquireTimeout longest a caller waits for a permit before being rejected
+     * @param retryAfter     back-off suggested to rejected clients
+     */
+    public DatabaseConcurrencyGate(int maxPermits, Duration acquireTimeout, Duration retryAfter) {
+        if (maxPermits < 1) {
+            throw new IllegalArgumentException("Gate needs at least one permit");
+        }
+        // Non-fair: a releasing thread's permit goes to whoever asks next, which keeps throughput up under load
+        this.permits = new Semaphore(maxPermits);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Takes a permit, waiting at most the acquire timeout.
+     *
+     * @throws DatabaseBusyException if no permit became free in time (or the caller was interrupted)
+     */
+    public void acquire() {
+        long start = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            granted = false;
+        }
+        waitNanos.add(System.nanoTime() - start);
+        if (!granted) {
+            rejected.increment();
+            throw new DatabaseBusyException("Database is at capacity, retry later", retryAfter);
+        }
+        acquired.increment();
+    }
+
+    /**
+     * Returns a permit taken by {@link #acquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Number of permits currently held.
+     */
+    public int inUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * Exposes gate wait time, rejections, permits in use and queued callers.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("bookapi.db.gate.wait", this, gate -> gate.acquired.sum() + gate.rejected.sum(),
+                gate -> gate.waitNanos.sum(), TimeUnit.NANOSECONDS)
+            .description("Time spent waiting for a database permit")
+            .register(registry);
+        FunctionCounter.builder("bookapi.db.gate.rejected", this, gate -> gate.rejected.sum())
+            .description("Requests shed with 503 because no database permit became free")
+            .register(registry);
+        Gauge.builder("bookapi.db.gate.in.use", this, DatabaseConcurrencyGate::inUse)
+            .description("Database permits currently held")
+            .register(registry);
+        Gauge.builder("bookapi.db.gate.waiting", permits, Semaphore::getQueueLength)
+            .description("Callers currently waiting for a database permit")
+            .register(registry);
+        Gauge.builder("bookapi.db.gate.permits", this, gate -> gate.maxPermits)
+            .description("Total database permits (pool size)")
+            .register(registry);
+    }
+}
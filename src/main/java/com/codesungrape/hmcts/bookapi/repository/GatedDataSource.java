@@ -0,0 +1,88 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+
+/**
+ * DataSource that takes a {@link DatabaseConcurrencyGate} permit before borrowing a connection
+ * and gives it back when the connection is closed (returned to the pool).
+ * Gating at the connection rather than per repository method also covers transactions and streaming
+ * queries, which hold one connection across many calls.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    private final DatabaseConcurrencyGate gate;
+
+    public GatedDataSource(DataSource target, DatabaseConcurrencyGate gate) {
+        super(target);
+        this.gate = gate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        gate.acquire();
+        try {
+            return permitReleasingProxy(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            gate.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        gate.acquire();
+        try {
+            return permitReleasingProxy(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            gate.release();
+            throw ex;
+        }
+    }
+
+    private Connection permitReleasingProxy(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new PermitReleasingHandler(target, gate)
+        );
+    }
+
+    /**
+     * Delegates every call to the pooled connection and releases the permit exactly once on close.
+     */
+    private static final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final DatabaseConcurrencyGate gate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target, DatabaseConcurrencyGate gate) {
+            this.target = target;
+            this.gate = gate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean close = "close".equals(method.getName());
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            } finally {
+                // Release even if close() throws: the pool has taken the connection back either way
+                if (close && released.compareAndSet(false, true)) {
+                    gate.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Repository for Idempotency-Key records. Every write is a single conditional statement, so claiming a key is
+ * atomic: the primary key decides which of several concurrent requests inserts it.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+
+    /**
+     * Claims a key nobody holds yet.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key already has a record
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (id, fingerprint, state, claim_token, claimed_at, expires_at) "
+        + "VALUES (:id, :fingerprint, 'IN_PROGRESS', :token, :now, :expiresAt)", nativeQuery = true)
+    void insertClaim(
+        @Param("id") UUID id,
+        @Param("fingerprint") UUID fingerprint,
+        @Param("token") UUID token,
+        @Param("now") Instant now,
+        @Param("expiresAt") Instant expiresAt
+    );
+
+    /**
+     * Claims a key whose record has expired, or whose claim is older than staleBefore and was never completed
+     * (its request died). Returns 1 if the claim was taken over.
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_key SET fingerprint = :fingerprint, state = 'IN_PROGRESS', claim_token = :token, "
+        + "claimed_at = :now, expires_at = :expiresAt, response = NULL "
+        + "WHERE id = :id AND (expires_at <= :now OR (state = 'IN_PROGRESS' AND claimed_at < :staleBefore))", nativeQuery = true)
+    int takeOverClaim(
+        @Param("id") UUID id,
+        @Param("fingerprint") UUID fingerprint,
+        @Param("token") UUID token,
+        @Param("now") Instant now,
+        @Param("expiresAt") Instant expiresAt,
+        @Param("staleBefore") Instant staleBefore
+    );
+
+    /**
+     * Stores the response of a claim that is still held. Returns 0 if the claim was taken over meanwhile.
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_key SET state = 'COMPLETED', response = :response, expires_at = :expiresAt "
+        + "WHERE id = :id AND claim_token = :token AND state = 'IN_PROGRESS'", nativeQuery = true)
+    int complete(
+        @Param("id") UUID id,
+        @Param("token") UUID token,
+        @Param("response") String response,
+        @Param("expiresAt") Instant expiresAt
+    );
+
+    /**
+     * Drops a claim whose request failed, so a retry can run it again.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_key WHERE id = :id AND claim_token = :token AND state = 'IN_PROGRESS'", nativeQuery = true)
+    int release(@Param("id") UUID id, @Param("token") UUID token);
+
+    /**
+     * Deletes up to limit records that expired before now; served by the expires_at index.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_key WHERE id IN "
+        + "(SELECT id FROM idempotency_key WHERE expires_at < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,70 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+/**
+ * Counts the JDBC statements executed on the current thread while a request is being handled.
+ * Started and stopped by the web layer; statements run outside a started counter (startup, background jobs) are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private int count;
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Starts counting on the current thread, replacing any counter left behind.
+     */
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * The counter started on the current thread, or null when it is not counting.
+     */
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs an action with the statements it executes on the current thread counted against the given counter
+     * (or not counted, when null), e.g. a query a background thread runs for a request. The thread's own counter is
+     * restored afterwards.
+     */
+    public static void runCountedBy(QueryCounter counter, Runnable action) {
+        QueryCounter previous = CURRENT.get();
+        CURRENT.set(counter);
+        try {
+            action.run();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Records one executed statement against the current thread's counter, if there is one.
+     */
+    public static void increment() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.count++;
+        }
+    }
+
+    /**
+     * Statements executed since {@link #start()}.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Stops counting on the current thread.
+     */
+    public void stop() {
+        CURRENT.remove();
+    }
+}
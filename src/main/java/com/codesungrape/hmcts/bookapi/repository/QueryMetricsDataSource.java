@@ -0,0 +1,131 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * DataSource that times every JDBC statement and transaction end, below Hibernate and Spring Data.
+ *
+ * <p>Meters (all with percentile histograms):
+ * bookapi.jdbc.query{slow} per executed statement, where slow=true once it exceeds the configured threshold
+ * (the SQL is also logged at WARN), and bookapi.jdbc.transaction{outcome=commit|rollback} for the time spent in
+ * Connection.commit()/rollback(). Each statement also counts towards the current {@link QueryCounter}.
+ */
+@Slf4j
+public class QueryMetricsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"
+    );
+
+    private final long slowThresholdNanos;
+    private final Timer fastQueries;
+    private final Timer slowQueries;
+    private final Timer commits;
+    private final Timer rollbacks;
+
+    public QueryMetricsDataSource(DataSource target, MeterRegistry registry, Duration slowThreshold) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.fastQueries = queryTimer(registry, false);
+        this.slowQueries = queryTimer(registry, true);
+        this.commits = transactionTimer(registry, "commit");
+        this.rollbacks = transactionTimer(registry, "rollback");
+    }
+
+    private static Timer queryTimer(MeterRegistry registry, boolean slow) {
+        return Timer.builder("bookapi.jdbc.query")
+            .description("JDBC statement execution time")
+            .tag("slow", Boolean.toString(slow))
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Timer transactionTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("bookapi.jdbc.transaction")
+            .description("Time spent committing or rolling back a JDBC transaction")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection instrument(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("prepare") || "createStatement".equals(name)) {
+                // prepareStatement/prepareCall carry their SQL up front; plain statements pass it to execute
+                String sql = name.startsWith("prepare") ? (String) args[0] : null;
+                Statement statement = (Statement) invoke(connection, method, args);
+                return instrument(method.getReturnType(), statement, sql);
+            }
+            if (args == null && ("commit".equals(name) || "rollback".equals(name))) {
+                Timer timer = "commit".equals(name) ? commits : rollbacks;
+                long start = System.nanoTime();
+                try {
+                    return invoke(connection, method, null);
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+            return invoke(connection, method, args);
+        });
+    }
+
+    private Object instrument(Class<?> type, Statement statement, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                QueryCounter.increment();
+                if (elapsed > slowThresholdNanos) {
+                    slowQueries.record(elapsed, TimeUnit.NANOSECONDS);
+                    String sql = preparedSql != null ? preparedSql : String.valueOf(args == null ? null : args[0]);
+                    log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsed), sql);
+                } else {
+                    fastQueries.record(elapsed, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
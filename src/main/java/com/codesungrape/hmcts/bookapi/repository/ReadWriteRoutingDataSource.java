@@ -0,0 +1,127 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+
+/**
+ * Routes each physical connection to the primary or the replica pool.
+ * A connection goes to the replica only when all of these hold:
+ * the work has opted in (a {@link ReplicaRead} method, see {@link #allowReplica()}), the current transaction is
+ * read-only (@Transactional(readOnly = true)), the thread is not pinned to the primary (read-your-writes, see
+ * {@link #pinToPrimary()}) and the replica is usable (lag within bounds, see {@link ReplicaLagMonitor}).
+ * Everything else goes to the primary, including Spring Data's default read-only transactions and work outside
+ * a transaction: a read that has not opted in may depend on seeing the latest commit.
+ *
+ * <p>Must sit behind a LazyConnectionDataSourceProxy. The transaction manager asks for a connection before Spring
+ * publishes the transaction's read-only flag, so the physical connection has to be fetched lazily, on the first
+ * statement.
+ *
+ * <p>Routing decisions are counted in bookapi.datasource.route{target=primary|replica}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup keys of the two pools.
+     */
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final BooleanSupplier replicaUsable;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaUsable, MeterRegistry registry) {
+        this.replicaUsable = replicaUsable;
+        this.primaryRoutes = routeCounter(registry, "primary");
+        this.replicaRoutes = routeCounter(registry, "replica");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Handle that ends a {@link #pinToPrimary()} or {@link #allowReplica()} scope; closing never throws.
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Sends every connection the current thread fetches to the primary until the returned scope is closed,
+     * even inside {@link #allowReplica()}. Scopes nest: closing an inner one leaves an outer one in force.
+     *
+     * @return the scope to close (try-with-resources)
+     */
+    public static Scope pinToPrimary() {
+        return enter(PINNED);
+    }
+
+    /**
+     * Whether the current thread is inside a {@link #pinToPrimary()} scope.
+     */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Lets read-only transactions on the current thread use the replica until the returned scope is closed.
+     * Only for reads that tolerate replica lag; {@link ReplicaRead} methods run inside one. Scopes nest like
+     * {@link #pinToPrimary()}.
+     *
+     * @return the scope to close (try-with-resources)
+     */
+    public static Scope allowReplica() {
+        return enter(REPLICA_ALLOWED);
+    }
+
+    /**
+     * Whether the current thread is inside an {@link #allowReplica()} scope.
+     */
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    private static Scope enter(ThreadLocal<Boolean> flag) {
+        boolean alreadySet = Boolean.TRUE.equals(flag.get());
+        flag.set(Boolean.TRUE);
+        return () -> {
+            if (!alreadySet) {
+                flag.remove();
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (isReplicaAllowed()
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && !isPinnedToPrimary()
+            && replicaUsable.getAsBoolean()) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String target) {
+        return Counter.builder("bookapi.datasource.route")
+            .description("Physical connections fetched, by the pool they were routed to")
+            .tag("target", target)
+            .register(registry);
+    }
+}
@@ -0,0 +1,89 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+
+/**
+ * Periodically measures replication lag on the replica and reports whether the replica may serve reads.
+ * It is usable while the measured lag is at most the configured maximum. If the lag is unknown (null), or the probe
+ * fails, the replica is unusable and reads fall back to the primary until a later probe succeeds.
+ * It is unusable until the first probe has run.
+ *
+ * <p>Meters: bookapi.datasource.replica.lag (seconds, NaN when unknown) and bookapi.datasource.replica.usable (1/0).
+ */
+@Slf4j
+public class ReplicaLagMonitor implements BooleanSupplier, AutoCloseable {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry registry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+        Gauge.builder("bookapi.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+            .description("Replication lag last measured on the read replica")
+            .baseUnit("seconds")
+            .register(registry);
+        Gauge.builder("bookapi.datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+            .description("Whether read-only transactions are currently routed to the replica")
+            .register(registry);
+    }
+
+    /**
+     * Probes now and then every interval, on a background thread.
+     */
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Measures the lag once and updates whether the replica is usable.
+     */
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? Double.NaN : lag;
+            usable = lag != null && lag <= maxLagSeconds;
+        } catch (DataAccessException ex) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            log.debug("Replica lag probe failed", ex);
+        }
+        if (wasUsable != usable) {
+            log.warn("Read replica is now {} (lag {}s, max {}s)", usable ? "in use" : "bypassed", lagSeconds, maxLagSeconds);
+        }
+    }
+
+    /**
+     * Whether read-only transactions may currently use the replica.
+     */
+    @Override
+    public boolean getAsBoolean() {
+        return usable;
+    }
+
+    /**
+     * Stops probing.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,19 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose results may lag the primary by up to bookapi.datasource.replica.max-lag,
+ * so {@link ReadWriteRoutingDataSource} may serve it from the replica. Reads without it always use the primary.
+ * Applied by {@link ReplicaReadAspect} when replica routing is enabled; the method still needs
+ * {@code @Transactional(readOnly = true)}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,24 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Runs every {@link ReplicaRead} method inside {@link ReadWriteRoutingDataSource#allowReplica()}.
+ * Routing is decided on the first statement, so it does not matter whether this runs inside or outside the
+ * method's transaction.
+ */
+@Aspect
+public class ReplicaReadAspect {
+
+    /**
+     * Opens the replica scope around the call.
+     */
+    @Around("@annotation(com.codesungrape.hmcts.bookapi.repository.ReplicaRead)")
+    public Object allowReplica(ProceedingJoinPoint call) throws Throwable {
+        try (ReadWriteRoutingDataSource.Scope scope = ReadWriteRoutingDataSource.allowReplica()) {
+            return call.proceed();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.codesungrape.hmcts.bookapi.repository;
+
+import com.codesungrape.hmcts.bookapi.entity.Reservation;
+import com.codesungrape.hmcts.bookapi.entity.ReservationState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for Reservation entities.
+ */
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+
+    /**
+     * Offset page of a book's reservations in (reserved_at, id) order, served by the (book_id, reserved_at, id) index.
+     */
+    String BOOK_PAGE_SQL =
+        "SELECT * FROM reservation WHERE book_id = :bookId "
+            + "ORDER BY reserved_at, id LIMIT :limit OFFSET :offset";
+
+    /**
+     * Whether the book has a reservation in the given state; a single index probe, no lock.
+     */
+    boolean existsByBookIdAndState(UUID bookId, ReservationState state);
+
+    /**
+     * Retrieves a reservation by id, only if it belongs to the given book.
+     */
+    Optional<Reservation> findByIdAndBookId(UUID id, UUID bookId);
+
+    /**
+     * Counts all reservations of a book, whatever their state.
+     */
+    long countByBookId(UUID bookId);
+
+    /**
+     * Retrieves one offset/limit page of a book's reservations, oldest first.
+     * Entities are loaded read-only, so Hibernate keeps no dirty-check snapshots for them.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = BOOK_PAGE_SQL, nativeQuery = true)
+    List<Reservation> findPageByBookId(
+        @Param("bookId") UUID bookId,
+        @Param("offset") long offset,
+        @Param("limit") int limit
+    );
+}
@@ -0,0 +1,148 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.config.BookArchiveProperties;
+import com.codesungrape.hmcts.bookapi.repository.BookArchiveRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Moves books soft-deleted longer ago than bookapi.archive.retention from the book table into book_archive, and
+ * purges change events published longer ago than bookapi.archive.outbox-retention.
+ *
+ * <p>Rows move in batches of bookapi.archive.batch-size, each copied and deleted in its own short transaction,
+ * with bookapi.archive.pause between batches. A crash loses at most the open batch, which rolls back and is picked
+ * up by the next run; there is no progress to checkpoint. Batches are claimed with FOR UPDATE SKIP LOCKED, so
+ * archivers on several instances share the backlog.
+ *
+ * <p>Rows moved are counted in bookapi.archive.rows{table}; bookapi.archive.lag is how far past retention the
+ * oldest soft-deleted book still in the book table is (0 when the job is keeping up).
+ */
+@Slf4j
+@Component
+public class BookArchiver {
+
+    private final BookArchiveRepository bookArchiveRepository;
+    private final BookEventRepository bookEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookArchiveProperties properties;
+    private final Counter archivedBooks;
+    private final Counter purgedEvents;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public BookArchiver(
+        BookArchiveRepository bookArchiveRepository,
+        BookEventRepository bookEventRepository,
+        TransactionTemplate transactionTemplate,
+        BookArchiveProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.bookArchiveRepository = bookArchiveRepository;
+        this.bookEventRepository = bookEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archivedBooks = Counter.builder("bookapi.archive.rows")
+            .description("Soft-deleted books moved into book_archive and published events purged from book_outbox")
+            .tag("table", "book")
+            .register(meterRegistry);
+        this.purgedEvents = Counter.builder("bookapi.archive.rows")
+            .description("Soft-deleted books moved into book_archive and published events purged from book_outbox")
+            .tag("table", "book_outbox")
+            .register(meterRegistry);
+        Gauge.builder("bookapi.archive.lag", lagSeconds, AtomicLong::get)
+            .description("How far past retention the oldest soft-deleted book still in the book table is")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * What one run moved, or in dry-run mode would have moved.
+     *
+     * @param dryRun whether the run only counted
+     * @param books  soft-deleted books archived
+     * @param events published change events purged
+     */
+    public record Run(boolean dryRun, long books, long events) {
+    }
+
+    /**
+     * Archives and purges everything past retention, batch by batch; stops early if the thread is interrupted.
+     *
+     * @return what was moved
+     */
+    public Run run() {
+        Instant now = Instant.now();
+        Instant deletedBefore = now.minus(properties.retention());
+        Instant publishedBefore = now.minus(properties.outboxRetention());
+
+        Run run = properties.dryRun()
+            ? new Run(true, bookArchiveRepository.countArchivable(deletedBefore), bookEventRepository.countByPublishedAtBefore(publishedBefore))
+            : new Run(false, inBatches(() -> archiveBatch(deletedBefore), archivedBooks), inBatches(() -> purgeBatch(publishedBefore), purgedEvents));
+
+        lagSeconds.set(bookArchiveRepository.findOldestDeletedAt()
+            .map(oldest -> Math.max(0, Duration.between(oldest, deletedBefore).toSeconds()))
+            .orElse(0L));
+
+        if (run.dryRun()) {
+            log.info("Archive dry run: would archive {} book(s) deleted before {} and purge {} event(s) published before {}",
+                run.books(), deletedBefore, run.events(), publishedBefore);
+        } else if (run.books() + run.events() > 0) {
+            log.info("Archived {} book(s) and purged {} outbox event(s)", run.books(), run.events());
+        }
+        return run;
+    }
+
+    // Runs each batch in its own transaction until one comes back short; counts rows only once committed
+    private long inBatches(IntSupplier batch, Counter moved) {
+        long total = 0;
+        int count;
+        do {
+            count = Objects.requireNonNullElse(transactionTemplate.execute(status -> batch.getAsInt()), 0);
+            moved.increment(count);
+            total += count;
+        } while (count == properties.batchSize() && pause());
+        return total;
+    }
+
+    private int archiveBatch(Instant deletedBefore) {
+        List<UUID> ids = bookArchiveRepository.lockArchivableIds(deletedBefore, properties.batchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookArchiveRepository.copyToArchive(ids, Instant.now());
+        bookArchiveRepository.deleteArchived(ids);
+        return ids.size();
+    }
+
+    private int purgeBatch(Instant publishedBefore) {
+        List<UUID> ids = bookEventRepository.findPublishedBefore(publishedBefore, properties.batchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookEventRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    // Throttle between batches; false (stop) if interrupted, e.g. on shutdown
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.pause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.config.BookCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded, read-through cache of single-book lookups keyed by id.
+ * Found books are cached as immutable VersionedBook values (representation plus ETag); missing ids are cached as Optional.empty()
+ * for a shorter TTL (negative caching). Hit, miss and eviction counts are recorded and published as the
+ * cache.gets, cache.evictions and cache.size meters tagged cache=books.
+ */
+@Component
+public class BookCache {
+
+    private final AsyncCache<UUID, Optional<VersionedBook>> cache;
+    private final BookCacheInvalidationBus invalidationBus;
+
+    // Value of the cache tag on the published meters
+    public static final String CACHE_NAME = "books";
+
+    /**
+     * Builds the cache from configuration, binds its statistics to the registry and subscribes it to
+     * cross-instance invalidations.
+     */
+    public BookCache(BookCacheProperties properties, BookCacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        AsyncCache<UUID, Optional<VersionedBook>> books = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfter(new FoundOrMissingExpiry(properties.ttl(), properties.negativeTtl()))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, books.synchronous(), CACHE_NAME);
+        invalidationBus.subscribe(books.synchronous()::invalidate);
+        this.cache = books;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Returns the cached result for the id, loading (and caching) it on a miss.
+     * Concurrent misses for the same id share a single load. The loader only starts the load and returns its future;
+     * the wait happens outside the cache's locks, so misses for other ids can join the same batched query meanwhile.
+     * A failed load is not cached, and its exception is rethrown as is.
+     *
+     * @param loader starts loading an id; its future may only fail with an unchecked exception
+     */
+    public Optional<VersionedBook> get(UUID bookId, Function<UUID, CompletableFuture<Optional<VersionedBook>>> loader) {
+        try {
+            return cache.get(bookId, (id, executor) -> loader.apply(id)).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Returns the cached book without loading it; empty on a miss or for a cached "not found".
+     * Lets conditional requests be answered from memory when the book is already cached.
+     * Not counted in the hit and miss stats.
+     */
+    public Optional<VersionedBook> getIfPresent(UUID bookId) {
+        // Null while absent or still loading: a conditional request never waits for a load
+        Optional<VersionedBook> cached = cache.synchronous().asMap().get(bookId);
+        return cached != null ? cached : Optional.empty();
+    }
+
+    /**
+     * Drops the entry for the id on every instance. Inside a transaction the entry is dropped
+     * immediately and again after commit, so a read racing the write cannot re-cache the old row.
+     */
+    public void invalidate(UUID bookId) {
+        cache.synchronous().invalidate(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publish(bookId);
+                }
+            });
+        } else {
+            invalidationBus.publish(bookId);
+        }
+    }
+
+    /**
+     * Snapshot of hit, miss, load and eviction counters.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    /**
+     * Runs pending eviction and expiry work now instead of on the cache's background schedule.
+     */
+    public void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+
+    /**
+     * Approximate number of cached entries.
+     */
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Expires found books after the TTL and missing ids after the (shorter) negative TTL.
+     */
+    private record FoundOrMissingExpiry(Duration ttl, Duration negativeTtl)
+        implements Expiry<UUID, Optional<VersionedBook>> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<VersionedBook> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(
+            UUID key,
+            Optional<VersionedBook> value,
+            long currentTime,
+            long currentDuration
+        ) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+            UUID key,
+            Optional<VersionedBook> value,
+            long currentTime,
+            long currentDuration
+        ) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts book cache invalidations to every application instance, so a book written or
+ * soft-deleted on one instance is not served stale from another instance's cache.
+ */
+public interface BookCacheInvalidationBus {
+
+    /**
+     * Announces that the cached entry for the given book must be dropped everywhere.
+     */
+    void publish(UUID bookId);
+
+    /**
+     * Registers a listener that is called for every published invalidation, including local ones.
+     */
+    void subscribe(Consumer<UUID> listener);
+}
@@ -0,0 +1,47 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the change feed: the feed position of the last change a consumer has seen.
+ * Encoded for clients as an opaque URL-safe Base64 token, like {@link BookCursor}.
+ */
+public record BookChangeCursor(long position) {
+
+    /**
+     * Position before every change: the feed's start when no cursor is given.
+     */
+    public static final BookChangeCursor START = new BookChangeCursor(0L);
+
+    /**
+     * Decodes a client-supplied cursor token.
+     *
+     * @param token opaque token previously returned as `next_cursor`
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is null or malformed
+     */
+    public static BookChangeCursor decode(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Cursor cannot be null");
+        }
+        long position;
+        try {
+            // NumberFormatException is an IllegalArgumentException too
+            position = Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return new BookChangeCursor(position);
+    }
+
+    /**
+     * Encodes this position as an opaque URL-safe token.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(position).getBytes(StandardCharsets.UTF_8));
+    }
+}
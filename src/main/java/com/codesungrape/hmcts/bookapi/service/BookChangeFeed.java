@@ -0,0 +1,144 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.config.BookOutboxProperties;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeResponse;
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.codesungrape.hmcts.bookapi.repository.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental feed of book changes read from the outbox, so consumers sync from a cursor instead of re-reading the catalogue.
+ * Events are served once published, in the feed position order {@link BookEventPublisher} assigns under its lock.
+ * Positions become visible in order, so no change can ever appear behind a cursor a consumer already holds,
+ * however long its write transaction took to commit.
+ * Long-poll requests hold no thread while waiting: they are re-checked every bookapi.outbox.poll-interval,
+ * and immediately after the local publisher's batch commits.
+ */
+@Component
+public class BookChangeFeed implements BookEventSink, DisposableBean {
+
+    // Longest long-poll a client may ask for; well under typical proxy idle timeouts
+    public static final int MAX_WAIT_SECONDS = 30;
+
+    private final BookEventRepository bookEventRepository;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    public BookChangeFeed(BookEventRepository bookEventRepository, BookOutboxProperties properties) {
+        this.bookEventRepository = bookEventRepository;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("book-change-feed").daemon().factory());
+        long pollMillis = properties.pollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::recheckWaiters, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the changes after a cursor, waiting up to {@code wait} for the first one if there are none yet.
+     *
+     * @param since `next_cursor` of a previous response, or null to start from the oldest retained change
+     * @param limit maximum number of changes to return (1 to {@value BookService#MAX_PAGE_SIZE})
+     * @param wait  how long to hold the request open when nothing is available (0 answers at once)
+     * @return the pending page; completed immediately unless it has to wait. On timeout it completes with an
+     *         empty page whose cursor is unchanged.
+     * @throws IllegalArgumentException if the cursor is malformed or limit/wait are out of range
+     */
+    public DeferredResult<BookChangeListResponse> changesSince(String since, int limit, Duration wait) {
+        if (limit < 1 || limit > BookService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Limit must be between 1 and %d", BookService.MAX_PAGE_SIZE));
+        }
+        if (wait.isNegative() || wait.compareTo(Duration.ofSeconds(MAX_WAIT_SECONDS)) > 0) {
+            throw new IllegalArgumentException(String.format("Wait must be between 0 and %d seconds", MAX_WAIT_SECONDS));
+        }
+        BookChangeCursor position = since == null ? BookChangeCursor.START : BookChangeCursor.decode(since);
+
+        BookChangeListResponse page = read(position, limit);
+        DeferredResult<BookChangeListResponse> result = new DeferredResult<>(wait.toMillis(), page);
+        if (!page.items().isEmpty() || wait.isZero()) {
+            result.setResult(page);
+            return result;
+        }
+
+        // Timed-out or abandoned requests are dropped on the next re-check
+        waiters.add(new Waiter(position, limit, result));
+        return result;
+    }
+
+    /**
+     * Wakes waiting long-polls after the local publisher has published a batch.
+     * The batch's positions only become readable when the publisher's transaction commits, so the re-check is
+     * scheduled from afterCommit; it then runs on the feed's own thread. A rolled-back batch wakes nobody.
+     */
+    @Override
+    public void publish(List<BookChangeResponse> changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduler.execute(BookChangeFeed.this::recheckWaiters);
+                }
+            });
+        } else {
+            scheduler.execute(this::recheckWaiters);
+        }
+    }
+
+    /**
+     * Number of long-poll requests currently waiting.
+     */
+    public int waiting() {
+        return waiters.size();
+    }
+
+    void recheckWaiters() {
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                waiters.remove(waiter);
+                continue;
+            }
+            try {
+                BookChangeListResponse page = read(waiter.after(), waiter.limit());
+                if (!page.items().isEmpty()) {
+                    waiter.result().setResult(page);
+                    waiters.remove(waiter);
+                }
+            } catch (RuntimeException e) {
+                // Answer this request with the error rather than letting it end the periodic re-check
+                waiter.result().setErrorResult(e);
+                waiters.remove(waiter);
+            }
+        }
+    }
+
+    private BookChangeListResponse read(BookChangeCursor after, int limit) {
+        List<BookEvent> events;
+        // A lagging replica would hand out a cursor the primary has already moved past; never read the feed there
+        try (ReadWriteRoutingDataSource.Scope pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            events = bookEventRepository.findFeedPageAfter(after.position(), limit);
+        }
+        BookChangeCursor next = events.isEmpty()
+            ? after
+            : new BookChangeCursor(events.get(events.size() - 1).getFeedPosition());
+        return new BookChangeListResponse(events.stream().map(BookChangeResponse::from).toList(), next.encode());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private record Waiter(BookChangeCursor after, int limit, DeferredResult<BookChangeListResponse> result) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the (created_at, id) ordering of live books.
+ * Encoded for clients as an opaque URL-safe Base64 token.
+ */
+public record BookCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Decodes a client-supplied cursor token.
+     *
+     * @param token opaque token previously returned as `next_cursor`
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is null or malformed
+     */
+    public static BookCursor decode(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Cursor cannot be null");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new BookCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Encodes this position as an opaque URL-safe token.
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
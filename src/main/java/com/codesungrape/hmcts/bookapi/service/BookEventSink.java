@@ -0,0 +1,19 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.dto.BookChangeResponse;
+
+import java.util.List;
+
+/**
+ * Destination for book changes drained from the outbox by {@link BookEventPublisher}, e.g. a message broker.
+ * Delivery is at-least-once: a batch is retried if any sink throws, so sinks must tolerate repeats.
+ */
+public interface BookEventSink {
+
+    /**
+     * Delivers one batch of changes, oldest first. Throwing leaves the whole batch unpublished for the next run.
+     * Runs inside the publisher's transaction: anything that must see the batch committed belongs in an
+     * afterCommit synchronization.
+     */
+    void publish(List<BookChangeResponse> changes);
+}
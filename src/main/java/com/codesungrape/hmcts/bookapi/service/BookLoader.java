@@ -0,0 +1,138 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.QueryCounter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DataLoader-style batching of single-book lookups; the book cache's miss loader.
+ * {@link #load(UUID)} only queues the id and hands back a future. Every id queued within one tick of
+ * {@value #TICK_MILLIS} ms, by any request, is then resolved by a single {@code id = ANY(?)} query, so a burst of
+ * concurrent cache misses costs one round trip instead of one each. A batch that reaches
+ * {@value BookService#LOOKUP_CHUNK_SIZE} ids is sent without waiting for the tick.
+ *
+ * <p>Batches are queried on the loader's own pool of {@value #DISPATCH_THREADS} threads, never on a request
+ * thread or a shared pool. Those threads take no part in replica routing, so lookups read the primary like
+ * every single-book read. The query is counted against the request that opened the batch (X-Query-Count).
+ * Results are not remembered here: {@link BookCache} does that, across requests.
+ */
+@Component
+public class BookLoader implements DisposableBean {
+
+    // How long the first queued id waits for others to join its batch
+    static final long TICK_MILLIS = 1;
+
+    // Batches queried at once; each holds a pooled connection for one query
+    static final int DISPATCH_THREADS = 4;
+
+    private final BookRepository bookRepository;
+    private final ScheduledExecutorService dispatcher;
+
+    // The batch being filled; guarded by this
+    private Batch pending = new Batch(null);
+
+    @Autowired
+    public BookLoader(BookRepository bookRepository) {
+        this(bookRepository, Executors.newScheduledThreadPool(
+            DISPATCH_THREADS, Thread.ofPlatform().name("book-loader-", 0).daemon().factory()
+        ));
+    }
+
+    /**
+     * Creates a loader that schedules and queries its batches on the given executor, and shuts it down on destroy.
+     */
+    public BookLoader(BookRepository bookRepository, ScheduledExecutorService dispatcher) {
+        this.bookRepository = bookRepository;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Resolves a live book by id, batched with the other ids loaded in the same tick.
+     *
+     * @param bookId the UUID of the book
+     * @return completes with the book and its version, or empty if it is unknown or deleted; completes
+     *         exceptionally with the query's own exception if the batch fails
+     * @throws NullPointerException if bookId is null
+     */
+    public CompletableFuture<Optional<VersionedBook>> load(UUID bookId) {
+        Objects.requireNonNull(bookId, "Book id cannot be null");
+        CompletableFuture<Optional<VersionedBook>> future;
+        Batch full = null;
+        synchronized (this) {
+            if (pending.loads.isEmpty()) {
+                pending = new Batch(QueryCounter.current());
+                Batch opened = pending;
+                dispatcher.schedule(() -> close(opened), TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            future = pending.loads.computeIfAbsent(bookId, id -> new CompletableFuture<>());
+            if (pending.loads.size() >= BookService.LOOKUP_CHUNK_SIZE) {
+                // A full batch fills one query already; waiting for the tick would only add latency
+                full = pending;
+                pending = new Batch(null);
+            }
+        }
+        if (full != null) {
+            Batch send = full;
+            dispatcher.execute(() -> query(send));
+        }
+        return future;
+    }
+
+    // Runs on the tick: sends the batch unless it already went out full
+    private void close(Batch batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = new Batch(null);
+        }
+        query(batch);
+    }
+
+    private void query(Batch batch) {
+        QueryCounter.runCountedBy(batch.counter, () -> {
+            Map<UUID, VersionedBook> found;
+            try {
+                found = bookRepository.findLiveByIds(batch.loads.keySet().toArray(UUID[]::new)).stream()
+                    .collect(Collectors.toMap(Book::getId, VersionedBook::from));
+            } catch (RuntimeException e) {
+                // Failed loads are not cached, so the next lookup of these ids retries
+                batch.loads.values().forEach(future -> future.completeExceptionally(e));
+                return;
+            }
+            batch.loads.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Ids queued for one query, in load order, and the query counter of the request that opened the batch.
+     */
+    private static final class Batch {
+
+        private final QueryCounter counter;
+        private final Map<UUID, CompletableFuture<Optional<VersionedBook>>> loads = new LinkedHashMap<>();
+
+        private Batch(QueryCounter counter) {
+            this.counter = counter;
+        }
+    }
+}
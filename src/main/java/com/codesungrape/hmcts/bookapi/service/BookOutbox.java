@@ -0,0 +1,62 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes book change events to the outbox table. Must be called inside the transaction that makes the change,
+ * so the event commits or rolls back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookOutbox {
+
+    private final BookEventRepository bookEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records a created or updated book, with its state after the change as payload.
+     */
+    public void record(BookEventType type, Book book) {
+        bookEventRepository.save(event(type, book));
+    }
+
+    /**
+     * Records the same kind of change for several books; the rows are JDBC-batched with the books themselves.
+     */
+    public void recordAll(BookEventType type, List<Book> books) {
+        bookEventRepository.saveAll(books.stream().map(book -> event(type, book)).toList());
+    }
+
+    /**
+     * Records the soft deletion of the given books (no payload).
+     */
+    public void recordDeleted(Collection<UUID> bookIds) {
+        bookEventRepository.saveAll(bookIds.stream()
+            .map(id -> BookEvent.builder().bookId(id).type(BookEventType.DELETED).build())
+            .toList());
+    }
+
+    private BookEvent event(BookEventType type, Book book) {
+        try {
+            return BookEvent.builder()
+                .bookId(book.getId())
+                .type(type)
+                .payload(objectMapper.writeValueAsString(BookResponse.from(book)))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise book " + book.getId() + " for the outbox", e);
+        }
+    }
+}
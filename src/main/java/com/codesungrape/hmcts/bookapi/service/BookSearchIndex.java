@@ -0,0 +1,33 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked full-text search over the title, author and synopsis of live books.
+ * Selected with bookapi.search.engine: "postgres" (tsvector + GIN index, default) or "in-memory".
+ */
+public interface BookSearchIndex {
+
+    /**
+     * Returns one page of live books matching every term of the query, best match first.
+     */
+    List<Book> search(String query, long offset, int limit);
+
+    /**
+     * Makes a newly written or replaced book searchable, replacing whatever was indexed for it before.
+     * No-op for engines that index inside the database.
+     */
+    default void index(Book book) {
+        // Database-maintained by default
+    }
+
+    /**
+     * Removes a soft-deleted book from search results. No-op for engines that index inside the database.
+     */
+    default void remove(UUID bookId) {
+        // Database-maintained by default
+    }
+}
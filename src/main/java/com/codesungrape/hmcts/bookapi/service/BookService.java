@@ -1,24 +1,91 @@
 package com.codesungrape.hmcts.bookapi.service;
 
+import com.codesungrape.hmcts.bookapi.dto.BookBulkGetResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookBulkResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookListResponse;
 import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
 import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.exception.PreconditionFailedException;
 import com.codesungrape.hmcts.bookapi.exception.ResourceNotFoundException;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookProjection;
 import com.codesungrape.hmcts.bookapi.repository.BookRepository;
-import jakarta.transaction.Transactional;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+import com.codesungrape.hmcts.bookapi.repository.ReplicaRead;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Service layer responsible for all business logic related to the Book resource.
+ * Every public method is timed as bookapi.service{class, method} with a percentile histogram.
+ * Every create, update and soft delete also writes a change event to the outbox in the same transaction.
+ * Listing, search, multi-get and export run in read-only transactions, which go to the read replica when one is configured
+ * (bookapi.datasource.replica); single-book reads feed the cache and stay on the primary, and their cache misses are
+ * batched into shared lookups by {@link BookLoader}.
  */
 @Service
+@Timed(value = "bookapi.service", histogram = true)
 @RequiredArgsConstructor // Lombok creates constructor for dependency injection
 public class BookService {
 
+    // Mirrors the OpenAPI 'Limit' parameter bounds
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Upper bound on a single bulk create request
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    // Rows per bulk transaction; keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+    static final int BULK_CHUNK_SIZE = 100;
+
+    // Longest accepted full-text query
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    // Ids per bulk soft-delete statement, bounding each IN list and statement size; the locks last until commit
+    static final int DELETE_CHUNK_SIZE = 1000;
+
+    // Ids per multi-get query, bounding the array parameter and the rows each round trip returns
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    // Output buffer for streaming exports; bytes reach the client in chunks of this size
+    private static final int EXPORT_BUFFER_BYTES = 64 * 1024;
+
     // Create a field to store the repo in this scope to be accessed and used/reused by methods below
     private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BookCache bookCache;
+    private final BookLoader bookLoader;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookOutbox bookOutbox;
 
     /**
      * Creates a new Book entity from the given BookRequest DTO and persists it.
@@ -46,23 +113,238 @@ public class BookService {
             throw new IllegalArgumentException("Book title cannot be null or blank");
         }
 
-        // Map DTO to Entity
-        Book newBook =
-            Book.builder()
-                .title(request.title())
-                .author(request.author())
-                .synopsis(request.synopsis())
-                // ID and created_at are auto-generated by JPA/DB
-                .build();
-
-        Book savedBook = bookRepository.save(newBook);
+        Book savedBook = bookRepository.save(toBook(request));
+        bookOutbox.record(BookEventType.CREATED, savedBook);
+        // Drop any negative ("not found") entry for the new id
+        bookCache.invalidate(savedBook.getId());
+        afterCommit(() -> bookSearchIndex.index(savedBook));
 
         return savedBook;
     }
 
+    /**
+     * Retrieves a single non-deleted book, served from the read-through cache when possible.
+     * Missing ids are cached briefly as well, so repeated lookups of unknown ids do not reach the database.
+     *
+     * @param bookId The UUID of the book to retrieve
+     * @return The book's API representation
+     * @throws ResourceNotFoundException if no live book exists with the given ID
+     */
+    public BookResponse getBookById(UUID bookId) {
+        return getVersionedBookById(bookId).book();
+    }
+
+    /**
+     * Same as {@link #getBookById(UUID)}, together with the version stamp used for ETag and Last-Modified.
+     *
+     * @param bookId The UUID of the book to retrieve
+     * @return The book and its version stamp
+     * @throws ResourceNotFoundException if no live book exists with the given ID
+     */
+    public VersionedBook getVersionedBookById(UUID bookId) {
+        return bookCache.get(bookId, bookLoader::load).orElseThrow(() -> notFound(bookId));
+    }
+
+    /**
+     * Resolves many books in one go, e.g. for rendering a reading list, instead of one lookup per id.
+     * Duplicate ids are collapsed and the rest are read in chunks of {@value #LOOKUP_CHUNK_SIZE}, each with a single
+     * {@code id = ANY(?)} query. Runs read-only, so it is served by the read replica when one is configured;
+     * the single-book cache is neither consulted nor filled.
+     *
+     * @param bookIds ids to look up, at most {@value #MAX_BULK_SIZE}
+     * @return the live books in request order, and the ids that are unknown or deleted
+     * @throws NullPointerException     if bookIds is null
+     * @throws IllegalArgumentException if there are more than {@value #MAX_BULK_SIZE} ids
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public BookBulkGetResponse getBooksByIds(Collection<UUID> bookIds) {
+        if (bookIds == null) {
+            throw new NullPointerException("Book id list cannot be null");
+        }
+        if (bookIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "Bulk get accepts at most %d ids", MAX_BULK_SIZE
+            ));
+        }
+
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(bookIds));
+        Map<UUID, BookResponse> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+            for (Book book : bookRepository.findLiveByIds(chunk.toArray(UUID[]::new))) {
+                found.put(book.getId(), BookResponse.from(book));
+            }
+            // Nothing is written back, so drop the chunk and keep the persistence context small
+            entityManager.clear();
+        }
+
+        List<BookResponse> items = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : distinct) {
+            BookResponse book = found.get(id);
+            if (book == null) {
+                missing.add(id);
+            } else {
+                items.add(book);
+            }
+        }
+        return new BookBulkGetResponse(items, missing);
+    }
+
+    /**
+     * Returns only the version stamp of a live book, for answering If-None-Match / If-Modified-Since.
+     * Taken from the cache when the book is cached, otherwise from a version-only query that loads no entity.
+     *
+     * @param bookId The UUID of the book
+     * @return The book's current version stamp
+     * @throws ResourceNotFoundException if no live book exists with the given ID
+     */
+    public BookVersion getBookVersion(UUID bookId) {
+        return bookCache.getIfPresent(bookId)
+            .map(VersionedBook::version)
+            .or(() -> bookRepository.findVersionById(bookId))
+            .orElseThrow(() -> notFound(bookId));
+    }
+
+    /**
+     * Replaces the title, synopsis and author of a live book.
+     * With an expected version (If-Match) the replace only happens if the book is still at that version;
+     * a concurrent update between the read and the write is caught by the @Version check on flush.
+     *
+     * @param bookId          The UUID of the book to replace
+     * @param request         the new book details
+     * @param expectedVersion the version the client last saw, or null for an unconditional replace
+     * @return The updated book and its new version stamp
+     * @throws IllegalArgumentException    if a field is missing or blank
+     * @throws ResourceNotFoundException   if no live book exists with the given ID
+     * @throws PreconditionFailedException if the book is not at the expected version
+     */
+    @Transactional // Required: This method modifies data
+    public VersionedBook replaceBook(UUID bookId, BookRequest request, Long expectedVersion) {
+        String error = validationError(request);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        Book book = bookRepository.findByIdAndDeletedFalse(bookId).orElseThrow(() -> notFound(bookId));
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException(String.format(
+                "Book %s is at version %d, not %d", bookId, book.getVersion(), expectedVersion
+            ));
+        }
+
+        book.setTitle(request.title());
+        book.setSynopsis(request.synopsis());
+        book.setAuthor(request.author());
+        // Flush now so the version increment (and any optimistic-lock conflict) happens before we answer
+        Book saved = bookRepository.saveAndFlush(book);
+        bookOutbox.record(BookEventType.UPDATED, saved);
+
+        bookCache.invalidate(bookId);
+        afterCommit(() -> bookSearchIndex.index(saved));
+        return VersionedBook.from(saved);
+    }
+
+    /**
+     * Creates many books in one call for catalogue ingest.
+     * Every item is validated up front; valid items are then written in chunks of {@value #BULK_CHUNK_SIZE},
+     * each chunk in its own transaction and sent as JDBC batch INSERTs. A failing chunk is reported
+     * per item and does not roll back chunks that were already committed.
+     *
+     * @param requests book details, at most {@value #MAX_BULK_SIZE}
+     * @return per-item outcome in request order
+     * @throws NullPointerException     if requests is null
+     * @throws IllegalArgumentException if there are more than {@value #MAX_BULK_SIZE} requests
+     */
+    public BookBulkResponse createBooks(List<BookRequest> requests) {
+        if (requests == null) {
+            throw new NullPointerException("BookRequest list cannot be null");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "Bulk create accepts at most %d books", MAX_BULK_SIZE
+            ));
+        }
+
+        BookBulkResponse.Item[] results = new BookBulkResponse.Item[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validationError(requests.get(i));
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = BookBulkResponse.Item.failed(i, error);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + BULK_CHUNK_SIZE, valid.size()));
+            writeChunk(requests, chunk, results);
+        }
+
+        return BookBulkResponse.of(Arrays.asList(results));
+    }
+
+    private void writeChunk(List<BookRequest> requests, List<Integer> chunk, BookBulkResponse.Item[] results) {
+        try {
+            List<Book> saved = new ArrayList<>(chunk.size());
+            transactionTemplate.executeWithoutResult(status -> {
+                saved.addAll(bookRepository.saveAll(
+                    chunk.stream().map(index -> toBook(requests.get(index))).toList()
+                ));
+                bookOutbox.recordAll(BookEventType.CREATED, saved);
+                // Send the chunk as batched INSERTs, then drop it so the persistence context stays small
+                bookRepository.flush();
+                entityManager.clear();
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                Book book = saved.get(i);
+                bookCache.invalidate(book.getId());
+                // Runs now unless the caller wraps the whole bulk create in its own transaction
+                afterCommit(() -> bookSearchIndex.index(book));
+                results[chunk.get(i)] = BookBulkResponse.Item.created(chunk.get(i), book.getId());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            String error = "Insert failed: " + e.getMostSpecificCause().getMessage();
+            for (Integer index : chunk) {
+                results[index] = BookBulkResponse.Item.failed(index, error);
+            }
+        }
+    }
+
+    // Mirrors the @NotBlank constraints on BookRequest so one bad item cannot reject the whole batch
+    private static String validationError(BookRequest request) {
+        if (request == null) {
+            return "Book cannot be null";
+        }
+        if (request.title() == null || request.title().isBlank()) {
+            return "Title is required";
+        }
+        if (request.synopsis() == null || request.synopsis().isBlank()) {
+            return "Synopsis is required";
+        }
+        if (request.author() == null || request.author().isBlank()) {
+            return "Author is required";
+        }
+        return null;
+    }
+
+    // Map DTO to Entity
+    private static Book toBook(BookRequest request) {
+        return Book.builder()
+            .title(request.title())
+            .author(request.author())
+            .synopsis(request.synopsis())
+            // ID is generated in the JVM by Hibernate at persist time; created_at by @PrePersist
+            .build();
+    }
+
     /**
      * Performs a soft delete on a Book entity by marking it as deleted.
      * This operation is idempotent - repeated calls will not trigger additional database writes.
+     * The delete is a single conditional UPDATE; only when it matches no live row does a cheap
+     * existence check decide between "already deleted" (no-op) and "never existed" (404).
      *
      * @param bookId The UUID of the book to soft delete
      * @throws ResourceNotFoundException if no book exists with the given ID
@@ -70,15 +352,237 @@ public class BookService {
     @Transactional // Required: This method modifies data
     public void deleteBookById(UUID bookId) {
 
-        Book book = bookRepository.findById(bookId)
-            .orElseThrow(() -> new ResourceNotFoundException(String.format(
-                "Book not found with id: %s", bookId
-            )));
+        int deleted = bookRepository.softDeleteById(bookId, Instant.now());
+
+        if (deleted == 0 && !bookRepository.existsById(bookId)) {
+            throw notFound(bookId);
+        }
+
+        if (deleted > 0) {
+            bookOutbox.recordDeleted(List.of(bookId));
+            evict(bookId);
+        }
+    }
+
+    /**
+     * Soft-deletes a live book only if it is still at the expected version (If-Match), in one conditional UPDATE.
+     *
+     * @param bookId          The UUID of the book to soft delete
+     * @param expectedVersion the version the client last saw
+     * @throws ResourceNotFoundException   if no book exists with the given ID
+     * @throws PreconditionFailedException if the book was already deleted or is at another version
+     */
+    @Transactional // Required: This method modifies data
+    public void deleteBookByIdIfMatch(UUID bookId, long expectedVersion) {
+        if (bookRepository.softDeleteByIdAndVersion(bookId, expectedVersion, Instant.now()) > 0) {
+            bookOutbox.recordDeleted(List.of(bookId));
+            evict(bookId);
+            return;
+        }
+        if (!bookRepository.existsById(bookId)) {
+            throw notFound(bookId);
+        }
+        throw new PreconditionFailedException(String.format(
+            "Book %s has changed or was deleted since version %d", bookId, expectedVersion
+        ));
+    }
+
+    // A soft-deleted book must never be served from cache or found by search
+    private void evict(UUID bookId) {
+        bookCache.invalidate(bookId);
+        afterCommit(() -> bookSearchIndex.remove(bookId));
+    }
 
-        // Idempotent way to mark soft-delete and save
-        if (!book.isDeleted()) {
-            book.setDeleted(true);
-            bookRepository.save(book);
+    // The search index is not transactional: change it only once the write has committed, so a rollback leaves it untouched
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static ResourceNotFoundException notFound(UUID bookId) {
+        return new ResourceNotFoundException(String.format("Book not found with id: %s", bookId));
+    }
+
+    /**
+     * Soft-deletes many books at once. Idempotent: ids that are unknown or already deleted are skipped.
+     * Duplicate ids are collapsed and the rest are locked and updated in chunks of {@value #DELETE_CHUNK_SIZE}.
+     * All chunks run in one transaction, so the delete is all-or-nothing and every row lock is held until it commits.
+     *
+     * @param bookIds ids to soft delete, at most {@value #MAX_BULK_SIZE}
+     * @return the number of books that were live and are now deleted
+     * @throws NullPointerException     if bookIds is null
+     * @throws IllegalArgumentException if there are more than {@value #MAX_BULK_SIZE} ids
+     */
+    @Transactional // Required: This method modifies data
+    public int deleteBooksByIds(Collection<UUID> bookIds) {
+        if (bookIds == null) {
+            throw new NullPointerException("Book id list cannot be null");
+        }
+        if (bookIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "Bulk delete accepts at most %d ids", MAX_BULK_SIZE
+            ));
+        }
+
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(bookIds));
+        Instant now = Instant.now();
+        int deleted = 0;
+        for (int from = 0; from < distinct.size(); from += DELETE_CHUNK_SIZE) {
+            List<UUID> chunk = distinct.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinct.size()));
+            // Lock first so the outbox records exactly the books this transaction deletes
+            List<UUID> live = bookRepository.lockLiveIds(chunk);
+            if (!live.isEmpty()) {
+                deleted += bookRepository.softDeleteAllById(live, now);
+                bookOutbox.recordDeleted(live);
+            }
+        }
+
+        distinct.forEach(this::evict);
+        return deleted;
+    }
+
+    /**
+     * Full-text search over title, author and synopsis of non-deleted books, best match first.
+     * Every term must match; results are paged by offset/limit (total_count is not computed).
+     *
+     * @param query  search text, e.g. {@code tolkien "the hobbit"}
+     * @param offset number of matches to skip (0 or more)
+     * @param limit  maximum number of books to return (1 to {@value #MAX_PAGE_SIZE})
+     * @return the ranked page of matching books
+     * @throws IllegalArgumentException if the query is blank or too long, or offset/limit are out of range
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public BookListResponse searchBooks(String query, long offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
         }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException(String.format(
+                "Search query must be at most %d characters", MAX_SEARCH_QUERY_LENGTH
+            ));
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        validateLimit(limit);
+
+        List<Book> books = bookSearchIndex.search(query.trim(), offset, limit);
+
+        return new BookListResponse(null, books.stream().map(BookResponse::from).toList(), null);
+    }
+
+    /**
+     * Lists one offset/limit page of non-deleted books in (createdAt, id) order.
+     * Suited to shallow pages; deep offsets still scan the skipped rows, so prefer
+     * {@link #listBooksAfter(String, int, Set)} when walking the whole catalogue.
+     * Only the requested columns are read, as unmanaged projections rather than entities.
+     *
+     * @param offset number of books to skip (0 or more)
+     * @param limit  maximum number of books to return (1 to {@value #MAX_PAGE_SIZE})
+     * @param fields book attributes to include in each item (id is always included)
+     * @return the page, with total_count and a cursor for continuing in keyset mode
+     * @throws IllegalArgumentException if offset or limit is out of range
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public BookListResponse listBooks(long offset, int limit, Set<BookField> fields) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        validateLimit(limit);
+
+        // Fetch one extra row to learn whether another page exists without a second query
+        List<BookProjection> books = bookRepository.findLivePageProjection(fields, offset, limit + 1);
+
+        return toPage(bookRepository.countByDeletedFalse(), books, limit);
+    }
+
+    /**
+     * Lists the keyset page of non-deleted books that follows the given cursor.
+     * Each page is a bounded index range scan, so page 10,000 costs the same as page 1.
+     *
+     * @param cursor opaque `next_cursor` token from a previous page
+     * @param limit  maximum number of books to return (1 to {@value #MAX_PAGE_SIZE})
+     * @param fields book attributes to include in each item (id is always included)
+     * @return the page, with a cursor for the next page if there is one
+     * @throws IllegalArgumentException if the cursor is malformed or limit is out of range
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public BookListResponse listBooksAfter(String cursor, int limit, Set<BookField> fields) {
+        validateLimit(limit);
+        BookCursor position = BookCursor.decode(cursor);
+
+        List<BookProjection> books = bookRepository.findLivePageAfterProjection(
+            fields, position.createdAt(), position.id(), limit + 1
+        );
+
+        // total_count is deliberately omitted: counting would undo the constant cost of keyset paging
+        return toPage(null, books, limit);
+    }
+
+    /**
+     * Streams every non-deleted book to the given output as newline-delimited JSON (one BookOutput per line).
+     * Rows are read through a forward-only cursor and detached as soon as they are written,
+     * so heap use stays flat regardless of catalogue size.
+     *
+     * @param out destination stream (e.g. the HTTP response body); flushed but not closed
+     * @return the number of books written
+     * @throws IOException if writing to the output fails
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true) // Required: streaming queries keep the connection (and server-side cursor) open
+    public long exportBooks(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookResponse.class);
+        BufferedOutputStream buffered = new BufferedOutputStream(out, EXPORT_BUFFER_BYTES);
+        long written = 0;
+
+        try (Stream<Book> books = bookRepository.streamAllByDeletedFalse()) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                buffered.write(writer.writeValueAsBytes(BookResponse.from(book)));
+                buffered.write('\n');
+                // Drop the entity from the persistence context so it can be garbage collected
+                entityManager.detach(book);
+                written++;
+            }
+        }
+
+        buffered.flush();
+        return written;
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "Limit must be between 1 and %d", MAX_PAGE_SIZE
+            ));
+        }
+    }
+
+    private static BookListResponse toPage(Long totalCount, List<BookProjection> books, int limit) {
+        boolean hasMore = books.size() > limit;
+        List<BookProjection> page = hasMore ? books.subList(0, limit) : books;
+        String nextCursor = null;
+        if (hasMore) {
+            BookProjection last = page.get(limit - 1);
+            nextCursor = new BookCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return new BookListResponse(
+            totalCount,
+            page.stream().map(BookProjection::toResponse).toList(),
+            nextCursor
+        );
     }
 }
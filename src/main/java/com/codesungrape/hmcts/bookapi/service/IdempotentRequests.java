@@ -0,0 +1,281 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.config.IdempotencyProperties;
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyRecord;
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyState;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.exception.IdempotencyKeyReusedException;
+import com.codesungrape.hmcts.bookapi.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per client and Idempotency-Key, replaying its result to retries for bookapi.idempotency.ttl.
+ *
+ * <p>Two tiers. In memory, the first request for a key registers a future that concurrent and later retries on this
+ * instance wait on, so they never reach the database. In the idempotency_key table, the first request claims the key
+ * with an INSERT that the primary key makes atomic across instances, and stores its response in the same transaction
+ * as the write itself: a key is completed if and only if the write committed. A failed write releases its claim, so
+ * the retry runs it again; a claim left behind by a request that died is taken over after claim-timeout.
+ *
+ * <p>A key sent again with a different body is rejected with {@link IdempotencyKeyReusedException}. A retry still
+ * waiting after in-flight-wait for the first request gets {@link ConflictException}. Outcomes are counted in
+ * bookapi.idempotency.requests{outcome}.
+ */
+@Component
+public class IdempotentRequests {
+
+    // Upper bound on the Idempotency-Key header
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String IN_PROGRESS = "A request with this Idempotency-Key is still in progress, retry later";
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate ownTransaction;
+    private final IdempotencyProperties properties;
+    private final AsyncCache<UUID, Stored> memory;
+
+    private final Counter executed;
+    private final Counter replayedFromMemory;
+    private final Counter replayedFromDatabase;
+    private final Counter inProgress;
+    private final Counter reused;
+
+    /**
+     * The write's result, and whether it was replayed rather than executed by this request.
+     *
+     * @param value    the result
+     * @param replayed true if an earlier request with the same key produced it
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Stored(UUID fingerprint, Object value) {
+    }
+
+    public IdempotentRequests(
+        IdempotencyRecordRepository repository,
+        ObjectMapper objectMapper,
+        TransactionTemplate transactionTemplate,
+        IdempotencyProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        // Claims, releases and lookups commit on their own, whatever the caller's transaction does
+        this.ownTransaction = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        // Caffeine does not expire a future until it completes
+        this.memory = Caffeine.newBuilder()
+            .expireAfterWrite(properties.memoryTtl().compareTo(properties.ttl()) < 0 ? properties.memoryTtl() : properties.ttl())
+            .maximumSize(properties.memoryMaximumSize())
+            .buildAsync();
+
+        this.executed = counter(meterRegistry, "executed");
+        this.replayedFromMemory = counter(meterRegistry, "replayed_memory");
+        this.replayedFromDatabase = counter(meterRegistry, "replayed_database");
+        this.inProgress = counter(meterRegistry, "in_progress");
+        this.reused = counter(meterRegistry, "key_reused");
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("bookapi.idempotency.requests")
+            .description("Requests with an Idempotency-Key, by what happened to them")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    /**
+     * Runs the action once for this client and key, or returns the result of the run that already happened.
+     *
+     * @param client  who sent the request (the key is only unique per client)
+     * @param key     the Idempotency-Key header
+     * @param request the request body; a retry must send the same one
+     * @param type    the result type, for reading a stored result back
+     * @param action  the write; runs in a transaction that also stores its result
+     * @return the result, and whether it was replayed
+     * @throws IllegalArgumentException       if the key is blank or longer than {@value #MAX_KEY_LENGTH} characters
+     * @throws IdempotencyKeyReusedException  if the key was used before with a different request body
+     * @throws ConflictException              if the first request with the key is still running after in-flight-wait
+     */
+    public <T> Result<T> execute(String client, String key, Object request, Class<T> type, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        UUID id = UUID.nameUUIDFromBytes((client + '\n' + key).getBytes(StandardCharsets.UTF_8));
+        UUID fingerprint = UUID.nameUUIDFromBytes(json(request).getBytes(StandardCharsets.UTF_8));
+        long deadline = System.nanoTime() + properties.inFlightWait().toNanos();
+        ConcurrentMap<UUID, CompletableFuture<Stored>> inMemory = memory.asMap();
+
+        while (true) {
+            CompletableFuture<Stored> mine = new CompletableFuture<>();
+            CompletableFuture<Stored> earlier = inMemory.putIfAbsent(id, mine);
+            if (earlier == null) {
+                try {
+                    Result<T> result = executeDurably(id, fingerprint, type, action, deadline);
+                    mine.complete(new Stored(fingerprint, result.value()));
+                    return result;
+                } catch (RuntimeException ex) {
+                    // Forget the failure first, so the requests it wakes can claim the key again
+                    inMemory.remove(id, mine);
+                    mine.completeExceptionally(ex);
+                    throw ex;
+                }
+            }
+
+            Stored stored = await(earlier, deadline);
+            if (stored != null) {
+                checkFingerprint(stored.fingerprint(), fingerprint);
+                replayedFromMemory.increment();
+                return new Result<>(type.cast(stored.value()), true);
+            }
+            // The earlier request failed and released the key: try to claim it
+        }
+    }
+
+    /**
+     * Deletes expired records, bookapi.idempotency.sweep-batch-size per transaction.
+     *
+     * @return records deleted
+     */
+    public long sweepExpired() {
+        Instant now = Instant.now();
+        int batchSize = properties.sweepBatchSize();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(status -> repository.deleteExpired(now, batchSize)));
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private <T> Result<T> executeDurably(UUID id, UUID fingerprint, Class<T> type, Supplier<T> action, long deadline) {
+        while (true) {
+            UUID token = UUID.randomUUID();
+            if (claim(id, fingerprint, token)) {
+                T value = runClaimed(id, token, action);
+                executed.increment();
+                return new Result<>(value, false);
+            }
+
+            IdempotencyRecord existing = ownTransaction.execute(status -> repository.findById(id).orElse(null));
+            if (existing != null) {
+                checkFingerprint(existing.getFingerprint(), fingerprint);
+                if (existing.getState() == IdempotencyState.COMPLETED) {
+                    replayedFromDatabase.increment();
+                    return new Result<>(read(existing.getResponse(), type), true);
+                }
+            }
+            // Held by a request on another instance (or released just now): look again shortly
+            pauseUntil(deadline);
+        }
+    }
+
+    private boolean claim(UUID id, UUID fingerprint, UUID token) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(properties.ttl());
+        try {
+            ownTransaction.executeWithoutResult(status -> repository.insertClaim(id, fingerprint, token, now, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            // Known key: only an expired record or an abandoned claim can be taken over
+            Instant staleBefore = now.minus(properties.claimTimeout());
+            return Boolean.TRUE.equals(ownTransaction.execute(
+                status -> repository.takeOverClaim(id, fingerprint, token, now, expiresAt, staleBefore) > 0));
+        }
+    }
+
+    private <T> T runClaimed(UUID id, UUID token, Supplier<T> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                T value = action.get();
+                if (repository.complete(id, token, json(value), Instant.now().plus(properties.ttl())) == 0) {
+                    // Rolls the write back: the key now belongs to a request that took over the claim
+                    throw new ConflictException("The Idempotency-Key claim was taken over before the request finished, retry it");
+                }
+                return value;
+            });
+        } catch (RuntimeException ex) {
+            ownTransaction.executeWithoutResult(status -> repository.release(id, token));
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for an earlier request on this instance; null if it failed.
+     */
+    private Stored await(CompletableFuture<Stored> earlier, long deadline) {
+        try {
+            return earlier.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            return null;
+        } catch (TimeoutException ex) {
+            inProgress.increment();
+            throw new ConflictException(IN_PROGRESS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(IN_PROGRESS);
+        }
+    }
+
+    private void pauseUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            inProgress.increment();
+            throw new ConflictException(IN_PROGRESS);
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.min(properties.pollInterval().toNanos(), remaining));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(IN_PROGRESS);
+        }
+    }
+
+    private void checkFingerprint(UUID stored, UUID fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            reused.increment();
+            throw new IdempotencyKeyReusedException("This Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise " + value.getClass().getSimpleName() + " for idempotency", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored " + type.getSimpleName() + " for idempotency", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process invalidation bus. Delivers synchronously to every subscriber in this JVM, which covers a
+ * single instance and lets tests run several caches side by side as stand-ins for separate instances.
+ * A cross-process transport (e.g. PostgreSQL LISTEN/NOTIFY) can replace this bean without touching BookCache.
+ */
+@Component
+public class InMemoryBookCacheInvalidationBus implements BookCacheInvalidationBus {
+
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UUID bookId) {
+        listeners.forEach(listener -> listener.accept(bookId));
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+}
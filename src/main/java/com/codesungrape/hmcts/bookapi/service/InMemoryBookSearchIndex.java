@@ -0,0 +1,116 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted-index fallback for databases without PostgreSQL full-text search (the H2 test profile).
+ * Mirrors the PostgreSQL weighting (title > author > synopsis) and AND semantics,
+ * but without stemming or stop words.
+ */
+@Component
+@ConditionalOnProperty(name = "bookapi.search.engine", havingValue = "in-memory")
+@RequiredArgsConstructor
+public class InMemoryBookSearchIndex implements BookSearchIndex {
+
+    private static final int TITLE_WEIGHT = 4;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int SYNOPSIS_WEIGHT = 1;
+
+    // Highest score first; ties broken by id so paging is stable
+    private static final Comparator<Map.Entry<UUID, Integer>> BY_SCORE_THEN_ID =
+        Map.Entry.<UUID, Integer>comparingByValue().reversed()
+            .thenComparing(Map.Entry.<UUID, Integer>comparingByKey());
+
+    private final BookRepository bookRepository;
+
+    // term -> (book id -> weighted term frequency)
+    private final Map<String, Map<UUID, Integer>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuilds the index from the live books in the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        postings.clear();
+        bookRepository.findAllByDeletedFalse().forEach(this::index);
+    }
+
+    @Override
+    public void index(Book book) {
+        // Drop the previous version's terms first, so a replaced book only matches its new text
+        remove(book.getId());
+        addTerms(book.getId(), book.getTitle(), TITLE_WEIGHT);
+        addTerms(book.getId(), book.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(book.getId(), book.getSynopsis(), SYNOPSIS_WEIGHT);
+    }
+
+    @Override
+    public void remove(UUID bookId) {
+        postings.values().forEach(ids -> ids.remove(bookId));
+    }
+
+    @Override
+    public List<Book> search(String query, long offset, int limit) {
+        Set<String> terms = Set.copyOf(tokenize(query));
+        Map<UUID, Integer> scores = null;
+        for (String term : terms) {
+            Map<UUID, Integer> matches = postings.getOrDefault(term, Map.of());
+            if (scores == null) {
+                scores = new HashMap<>(matches);
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.getOrDefault(id, 0));
+            }
+        }
+        if (scores == null || scores.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ranked = scores.entrySet().stream()
+            .sorted(BY_SCORE_THEN_ID)
+            .skip(offset)
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+
+        // Load the page and restore rank order; rows deleted since indexing are dropped
+        Map<UUID, Book> books = bookRepository.findAllById(ranked).stream()
+            .filter(book -> !book.isDeleted())
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ranked.stream().map(books::get).filter(Objects::nonNull).toList();
+    }
+
+    private void addTerms(UUID bookId, String text, int weight) {
+        for (String term : tokenize(text)) {
+            postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).merge(bookId, weight, Integer::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .toList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search backed by the generated search_vector column and its GIN index (V3 migration).
+ * PostgreSQL keeps the vector current on every write, so index/remove are no-ops.
+ */
+@Component
+@ConditionalOnProperty(name = "bookapi.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresBookSearchIndex implements BookSearchIndex {
+
+    private final BookRepository bookRepository;
+
+    @Override
+    public List<Book> search(String query, long offset, int limit) {
+        return bookRepository.searchLive(query, offset, limit);
+    }
+}
@@ -0,0 +1,189 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets: each client may send {@code limit} requests per {@code window}, refilled continuously,
+ * with a burst of up to {@code limit}.
+ *
+ * <p>A bucket is a single {@link AtomicLong} holding the time at which it will be full again (the generic cell rate
+ * algorithm, equivalent to a token bucket), so taking a token is a compare-and-set that never blocks.
+ * Buckets live in {@value #STRIPES} independently bounded stripes. A full bucket carries no state, so idle clients are
+ * dropped by a sweep that runs at most once per window per stripe, and only when a new client arrives. When a stripe
+ * is still at capacity after sweeping, new clients share that stripe's overflow bucket: unknown clients are throttled
+ * together rather than let through or allowed to push out the buckets of active ones.
+ */
+public class RateLimiter {
+
+    // Power of two, so the stripe is picked with a mask
+    public static final int STRIPES = 32;
+
+    private final int limit;
+    private final String policy;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long sweepIntervalNanos;
+    private final int maxKeysPerStripe;
+    private final Ticker ticker;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final Counter allowed;
+    private final Counter rejected;
+    private final Counter overflowed;
+
+    /**
+     * Outcome of one request.
+     *
+     * @param allowed         whether the request may proceed
+     * @param limit           requests allowed per window
+     * @param remaining       requests the client could still send right now
+     * @param resetNanos      time until the bucket is full again
+     * @param retryAfterNanos time until the next request would be allowed; 0 when allowed
+     */
+    public record Decision(boolean allowed, int limit, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    /**
+     * Creates a limiter and registers its meters, tagged with the operation it limits.
+     *
+     * @param operation what the limiter guards, e.g. read or write
+     * @param limit     requests allowed per window, which is also the largest burst
+     * @param window    time over which limit requests are refilled
+     * @param maxKeys   clients tracked at once, split evenly across the stripes
+     * @param registry  meter registry
+     * @param ticker    nanosecond clock
+     */
+    public RateLimiter(String operation, int limit, Duration window, int maxKeys, MeterRegistry registry, Ticker ticker) {
+        if (limit < 1 || window.toNanos() < limit) {
+            throw new IllegalArgumentException("Rate limit needs at least one request per window and at most one per nanosecond");
+        }
+        if (maxKeys < STRIPES) {
+            throw new IllegalArgumentException("Rate limiter must track at least " + STRIPES + " clients");
+        }
+        this.limit = limit;
+        this.policy = limit + ";w=" + seconds(window.toNanos());
+        this.intervalNanos = window.toNanos() / limit;
+        this.burstNanos = intervalNanos * limit;
+        this.sweepIntervalNanos = window.toNanos();
+        this.maxKeysPerStripe = maxKeys / STRIPES;
+        this.ticker = ticker;
+        long now = ticker.read();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(now + sweepIntervalNanos);
+        }
+
+        this.allowed = Counter.builder("bookapi.ratelimit.requests")
+            .description("Requests checked against the per-client rate limit")
+            .tag("operation", operation).tag("outcome", "allowed")
+            .register(registry);
+        this.rejected = Counter.builder("bookapi.ratelimit.requests")
+            .description("Requests checked against the per-client rate limit")
+            .tag("operation", operation).tag("outcome", "rejected")
+            .register(registry);
+        this.overflowed = Counter.builder("bookapi.ratelimit.overflow")
+            .description("Requests from clients that did not fit in the key table and shared an overflow bucket")
+            .tag("operation", operation)
+            .register(registry);
+        Gauge.builder("bookapi.ratelimit.keys", this, RateLimiter::trackedKeys)
+            .description("Clients currently holding a rate-limit bucket")
+            .tag("operation", operation)
+            .register(registry);
+    }
+
+    /**
+     * Takes a token from the client's bucket if one is available.
+     *
+     * @param key the client, e.g. its API key
+     * @return whether the request is allowed, with the figures for the RateLimit-* headers
+     */
+    public Decision tryAcquire(String key) {
+        long now = ticker.read();
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.admit(key, now);
+        }
+
+        long previous = bucket.getAndUpdate(fullAt -> take(fullAt, now));
+        long ahead = Math.max(previous, now) + intervalNanos - now;
+        if (ahead > burstNanos) {
+            rejected.increment();
+            return new Decision(false, limit, 0, Math.max(previous, now) - now, ahead - burstNanos);
+        }
+        allowed.increment();
+        return new Decision(true, limit, (burstNanos - ahead) / intervalNanos, ahead, 0);
+    }
+
+    /**
+     * Number of clients currently holding their own bucket.
+     */
+    public long trackedKeys() {
+        long keys = 0;
+        for (Stripe stripe : stripes) {
+            keys += stripe.buckets.size();
+        }
+        return keys;
+    }
+
+    /**
+     * The limit in RateLimit-Policy form, e.g. {@code 60;w=60} for 60 requests per minute.
+     */
+    public String policy() {
+        return policy;
+    }
+
+    /**
+     * Rounds a duration in nanoseconds up to whole seconds, as the RateLimit-Reset and Retry-After headers carry it.
+     */
+    public static long seconds(long nanos) {
+        return (nanos + 999_999_999) / 1_000_000_000;
+    }
+
+    /**
+     * The bucket's next state: one interval further on, or unchanged when the request is rejected.
+     */
+    private long take(long fullAt, long now) {
+        long next = Math.max(fullAt, now) + intervalNanos;
+        return next - now > burstNanos ? fullAt : next;
+    }
+
+    // Mixes the high bits in, as HashMap does, so keys that differ only there still spread across stripes
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Stripe {
+
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong nextSweep;
+
+        private Stripe(long firstSweep) {
+            this.nextSweep = new AtomicLong(firstSweep);
+        }
+
+        /**
+         * Finds or creates the bucket of a client seen for the first time (or since its bucket was swept).
+         */
+        private AtomicLong admit(String key, long now) {
+            if (now - nextSweep.get() >= 0) {
+                // Two threads may sweep at once; removal is idempotent, so that only costs a second pass
+                nextSweep.set(now + sweepIntervalNanos);
+                // A client racing the sweep may take a token from a bucket as it is dropped, gaining at most one request
+                buckets.values().removeIf(bucket -> bucket.get() <= now);
+            }
+            if (buckets.size() >= maxKeysPerStripe) {
+                overflowed.increment();
+                return overflow;
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+    }
+}
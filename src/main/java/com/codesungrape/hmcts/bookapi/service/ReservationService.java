@@ -0,0 +1,144 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.dto.ReservationListResponse;
+import com.codesungrape.hmcts.bookapi.dto.ReservationRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.Reservation;
+import com.codesungrape.hmcts.bookapi.entity.ReservationState;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.exception.ResourceNotFoundException;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.ReplicaRead;
+import com.codesungrape.hmcts.bookapi.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Service layer for reservations of books. A book has at most one active (RESERVED) reservation at a time.
+ *
+ * <p>Reserving is contention-safe without serializing the table: attempts on a book that is visibly reserved
+ * fail on a lock-free index probe, and the remaining attempts take the book's row lock, re-check and insert.
+ * Only attempts on the same book wait for each other, each for one short transaction.
+ * Every public method is timed as bookapi.service{class, method}.
+ */
+@Service
+@Timed(value = "bookapi.service", histogram = true)
+@RequiredArgsConstructor
+public class ReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final BookRepository bookRepository;
+
+    /**
+     * Reserves a live book for a user.
+     *
+     * @param bookId  The UUID of the book to reserve
+     * @param request the user the reservation is for
+     * @return the new reservation
+     * @throws IllegalArgumentException  if the user id is missing
+     * @throws ResourceNotFoundException if no live book exists with the given ID
+     * @throws ConflictException         if the book already has an active reservation
+     */
+    @Transactional
+    public ReservationResponse reserve(UUID bookId, ReservationRequest request) {
+        if (request == null || request.userId() == null) {
+            throw new IllegalArgumentException("User id is required");
+        }
+
+        // Fast path: under contention almost every attempt lands after the winner committed; fail those without a lock
+        if (reservationRepository.existsByBookIdAndState(bookId, ReservationState.RESERVED)) {
+            throw alreadyReserved(bookId);
+        }
+
+        // Waits for any in-flight reservation of this book, then re-checks against its committed result
+        Book book = bookRepository.lockLiveById(bookId).orElseThrow(() -> bookNotFound(bookId));
+        if (reservationRepository.existsByBookIdAndState(bookId, ReservationState.RESERVED)) {
+            throw alreadyReserved(bookId);
+        }
+
+        Reservation reservation = Reservation.builder()
+            .book(book)
+            .userId(request.userId())
+            .state(ReservationState.RESERVED)
+            .build();
+        return ReservationResponse.from(reservationRepository.save(reservation));
+    }
+
+    /**
+     * Retrieves one reservation of a book.
+     *
+     * @param bookId        The UUID of the book
+     * @param reservationId The UUID of the reservation
+     * @return the reservation
+     * @throws ResourceNotFoundException if the book has no such reservation
+     */
+    public ReservationResponse getReservation(UUID bookId, UUID reservationId) {
+        return reservationRepository.findByIdAndBookId(reservationId, bookId)
+            .map(ReservationResponse::from)
+            .orElseThrow(() -> reservationNotFound(bookId, reservationId));
+    }
+
+    /**
+     * Lists a live book's reservations, active and cancelled, oldest first.
+     *
+     * @param bookId The UUID of the book
+     * @param offset number of reservations to skip
+     * @param limit  maximum number of reservations to return (1 to {@value BookService#MAX_PAGE_SIZE})
+     * @return the page and the book's total number of reservations
+     * @throws IllegalArgumentException  if offset or limit is out of range
+     * @throws ResourceNotFoundException if no live book exists with the given ID
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public ReservationListResponse listReservations(UUID bookId, long offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > BookService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + BookService.MAX_PAGE_SIZE);
+        }
+        if (!bookRepository.existsByIdAndDeletedFalse(bookId)) {
+            throw bookNotFound(bookId);
+        }
+
+        return new ReservationListResponse(
+            reservationRepository.countByBookId(bookId),
+            reservationRepository.findPageByBookId(bookId, offset, limit).stream().map(ReservationResponse::from).toList()
+        );
+    }
+
+    /**
+     * Cancels a reservation, freeing the book. Idempotent: cancelling a cancelled reservation changes nothing.
+     *
+     * @param bookId        The UUID of the book
+     * @param reservationId The UUID of the reservation
+     * @throws ResourceNotFoundException if the book has no such reservation
+     */
+    @Transactional
+    public void cancelReservation(UUID bookId, UUID reservationId) {
+        Reservation reservation = reservationRepository.findByIdAndBookId(reservationId, bookId)
+            .orElseThrow(() -> reservationNotFound(bookId, reservationId));
+        if (reservation.getState() == ReservationState.RESERVED) {
+            reservation.setState(ReservationState.CANCELLED);
+            // Flush now so a concurrent cancel surfaces as an optimistic-lock conflict (409) before we answer
+            reservationRepository.saveAndFlush(reservation);
+        }
+    }
+
+    private static ConflictException alreadyReserved(UUID bookId) {
+        return new ConflictException(String.format("Book %s is already reserved", bookId));
+    }
+
+    private static ResourceNotFoundException bookNotFound(UUID bookId) {
+        return new ResourceNotFoundException(String.format("Book not found with id: %s", bookId));
+    }
+
+    private static ResourceNotFoundException reservationNotFound(UUID bookId, UUID reservationId) {
+        return new ResourceNotFoundException(String.format("Reservation %s not found for book %s", reservationId, bookId));
+    }
+}
@@ -0,0 +1,18 @@
+package com.codesungrape.hmcts.bookapi.service;
+
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+
+/**
+ * A book's API representation together with the version stamp it was read at (ETag / Last-Modified).
+ */
+public record VersionedBook(BookResponse book, BookVersion version) {
+
+    /**
+     * Snapshot of a persisted entity.
+     */
+    public static VersionedBook from(Book book) {
+        return new VersionedBook(BookResponse.from(book), BookVersion.of(book));
+    }
+}
@@ -0,0 +1,107 @@
+-- partition_book_by_hash(partition_count): converts a plain book table into one hash-partitioned by id, in a
+-- maintenance window (see V9 for why hash on id). Repeatable, so this definition replaces V9's whenever it changes.
+-- Nothing about book is hard-coded: its columns, indexes, constraints and the foreign keys that reference it are
+-- read from the catalog before the old table is dropped and recreated under their own names, so indexes and keys
+-- added by later migrations survive the conversion. So do its owner and its table and column privileges; grants
+-- made through WITH GRANT OPTION come back as granted by the owner. Anything else that depends on book (a view,
+-- say) makes the DROP fail and the whole call roll back.
+CREATE OR REPLACE PROCEDURE partition_book_by_hash(partition_count INTEGER)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    copied_columns TEXT;
+    own_constraints TEXT[];
+    secondary_indexes TEXT[];
+    referencing_keys RECORD;
+    book_owner OID;
+    book_grants TEXT[];
+    statement TEXT;
+BEGIN
+    IF partition_count < 2 THEN
+        RAISE EXCEPTION 'book needs at least 2 hash partitions, got %', partition_count;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'book'::regclass) THEN
+        RAISE NOTICE 'book is already partitioned';
+        RETURN;
+    END IF;
+
+    -- Writers wait for the copy instead of writing into the table that is about to be dropped
+    LOCK TABLE book IN ACCESS EXCLUSIVE MODE;
+
+    -- Generated columns (search_vector) are recomputed on insert, so they are not copied
+    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum) INTO copied_columns
+    FROM pg_attribute
+    WHERE attrelid = 'book'::regclass AND attnum > 0 AND NOT attisdropped AND attgenerated = '';
+
+    -- Primary key, unique, check, exclusion and outgoing foreign keys; NOT NULL comes with LIKE
+    SELECT array_agg(format('ALTER TABLE book ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid)))
+    INTO own_constraints
+    FROM pg_constraint
+    WHERE conrelid = 'book'::regclass AND contype IN ('p', 'u', 'c', 'x', 'f');
+
+    -- Indexes that do not back one of those constraints
+    SELECT array_agg(pg_get_indexdef(ix.indexrelid)) INTO secondary_indexes
+    FROM pg_index ix
+    WHERE ix.indrelid = 'book'::regclass
+      AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = ix.indexrelid AND c.conrelid = 'book'::regclass);
+
+    -- Owner and grants: the new tables start out owned by the caller with no grants. The owner's own entries
+    -- come back with ownership
+    SELECT relowner INTO book_owner FROM pg_class WHERE oid = 'book'::regclass;
+    SELECT array_agg(format('GRANT %s%s ON book TO %s%s',
+               acl.privilege_type,
+               CASE WHEN acl.column_name IS NULL THEN '' ELSE format(' (%I)', acl.column_name) END,
+               CASE WHEN acl.grantee = 0 THEN 'PUBLIC' ELSE acl.grantee::regrole::text END,
+               CASE WHEN acl.is_grantable THEN ' WITH GRANT OPTION' ELSE '' END))
+    INTO book_grants
+    FROM (
+        SELECT NULL::name AS column_name, a.grantee, a.privilege_type, a.is_grantable
+        FROM pg_class c, aclexplode(c.relacl) AS a
+        WHERE c.oid = 'book'::regclass
+        UNION ALL
+        SELECT t.attname, a.grantee, a.privilege_type, a.is_grantable
+        FROM pg_attribute t, aclexplode(t.attacl) AS a
+        WHERE t.attrelid = 'book'::regclass AND t.attnum > 0 AND NOT t.attisdropped
+    ) acl
+    WHERE acl.grantee <> book_owner;
+
+    -- Same columns, defaults and generated expressions; keys and indexes are added once the old table is gone
+    CREATE TABLE book_partitioned (LIKE book INCLUDING DEFAULTS INCLUDING GENERATED) PARTITION BY HASH (id);
+    FOR i IN 0 .. partition_count - 1 LOOP
+        EXECUTE format('CREATE TABLE book_p%s PARTITION OF book_partitioned FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+            i, partition_count, i);
+        EXECUTE format('ALTER TABLE book_p%s OWNER TO %s', i, book_owner::regrole);
+    END LOOP;
+
+    EXECUTE format('INSERT INTO book_partitioned (%1$s) SELECT %1$s FROM book', copied_columns);
+
+    -- Foreign keys of other tables that reference book: dropped with it, re-added below under the same names
+    CREATE TEMPORARY TABLE book_referencing_keys AS
+    SELECT conrelid::regclass AS referencing_table, conname, pg_get_constraintdef(oid) AS definition
+    FROM pg_constraint
+    WHERE confrelid = 'book'::regclass AND conrelid <> 'book'::regclass AND contype = 'f';
+    FOR referencing_keys IN SELECT * FROM book_referencing_keys LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', referencing_keys.referencing_table, referencing_keys.conname);
+    END LOOP;
+
+    DROP TABLE book;
+    ALTER TABLE book_partitioned RENAME TO book;
+    EXECUTE format('ALTER TABLE book OWNER TO %s', book_owner::regrole);
+    FOREACH statement IN ARRAY COALESCE(book_grants, '{}') LOOP
+        EXECUTE statement;
+    END LOOP;
+
+    -- Created on the parent, so every partition gets its own copy (PostgreSQL 12+ for foreign keys)
+    FOREACH statement IN ARRAY COALESCE(own_constraints, '{}') LOOP
+        EXECUTE statement;
+    END LOOP;
+    FOREACH statement IN ARRAY COALESCE(secondary_indexes, '{}') LOOP
+        EXECUTE statement;
+    END LOOP;
+    FOR referencing_keys IN SELECT * FROM book_referencing_keys LOOP
+        EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I %s',
+            referencing_keys.referencing_table, referencing_keys.conname, referencing_keys.definition);
+    END LOOP;
+    DROP TABLE book_referencing_keys;
+END;
+$$;
@@ -0,0 +1,33 @@
+-- Change feed positions assigned by BookEventPublisher in commit order (com.codesungrape.hmcts.bookapi.entity.BookFeedHead).
+-- created_at comes from the writing JVM's clock, so a transaction that commits late, or runs on a host whose clock
+-- lags, can insert an event behind one the feed has already served. A position is handed out only while holding the
+-- book_feed_head row lock, so positions commit in the order they are handed out and a reader that has seen position n
+-- has seen every position below it.
+ALTER TABLE book_outbox ADD COLUMN IF NOT EXISTS feed_position BIGINT;
+
+-- Events published before this migration keep their former (created_at, id) order
+UPDATE book_outbox o
+SET feed_position = p.position
+FROM (SELECT id, row_number() OVER (ORDER BY created_at, id) AS position
+      FROM book_outbox
+      WHERE published_at IS NOT NULL) p
+WHERE o.id = p.id;
+
+-- Feed reads; unpublished rows have no position yet and stay out of the index
+CREATE UNIQUE INDEX IF NOT EXISTS idx_book_outbox_feed_position
+    ON book_outbox (feed_position)
+    WHERE feed_position IS NOT NULL;
+
+-- The feed no longer reads in (created_at, id) order
+DROP INDEX IF EXISTS idx_book_outbox_created_at_id;
+
+-- The last position handed out; its single row is the lock publishers queue on
+CREATE TABLE IF NOT EXISTS book_feed_head (
+    id            INTEGER NOT NULL,
+    last_position BIGINT  NOT NULL,
+    CONSTRAINT pk_book_feed_head PRIMARY KEY (id)
+);
+
+INSERT INTO book_feed_head (id, last_position)
+SELECT 1, COALESCE(MAX(feed_position), 0) FROM book_outbox
+ON CONFLICT (id) DO NOTHING;
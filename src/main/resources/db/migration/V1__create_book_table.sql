@@ -0,0 +1,11 @@
+-- Baseline schema for the Book entity (com.codesungrape.hmcts.bookapi.entity.Book)
+CREATE TABLE IF NOT EXISTS book (
+    id          UUID                        NOT NULL,
+    title       VARCHAR(255)                NOT NULL,
+    synopsis    TEXT                        NOT NULL,
+    author      VARCHAR(255)                NOT NULL,
+    deleted     BOOLEAN                     NOT NULL DEFAULT FALSE,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    modified_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_book PRIMARY KEY (id)
+);
@@ -0,0 +1,5 @@
+-- Supports paginated listing of live books ordered by (created_at, id).
+-- Partial: soft-deleted rows are never listed, so they are kept out of the index entirely.
+CREATE INDEX IF NOT EXISTS idx_book_live_created_at_id
+    ON book (created_at, id)
+    WHERE deleted = FALSE;
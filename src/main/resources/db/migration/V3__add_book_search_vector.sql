@@ -0,0 +1,14 @@
+-- Full-text search over title (weight A), author (B) and synopsis (C).
+-- Generated column: PostgreSQL keeps it in step with the row, so the application never writes it.
+ALTER TABLE book
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('english', coalesce(author, '')), 'B')
+            || setweight(to_tsvector('english', coalesce(synopsis, '')), 'C')
+    ) STORED;
+
+-- Only live books are searchable, so soft-deleted rows stay out of the index
+CREATE INDEX IF NOT EXISTS idx_book_live_search_vector
+    ON book USING GIN (search_vector)
+    WHERE deleted = FALSE;
@@ -0,0 +1,3 @@
+-- Optimistic-locking version (Book.version, JPA @Version); also the strong ETag of GET /books/{id}.
+-- Existing rows start at 0; every update, including soft delete, increments it.
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- Transactional outbox of book mutations (com.codesungrape.hmcts.bookapi.entity.BookEvent).
+-- Rows are written in the same transaction as the change they describe, drained by BookEventPublisher
+-- and served, in (created_at, id) order, by GET /books/changes.
+CREATE TABLE IF NOT EXISTS book_outbox (
+    id           UUID                        NOT NULL,
+    book_id      UUID                        NOT NULL,
+    event_type   VARCHAR(16)                 NOT NULL,
+    payload      TEXT,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_book_outbox PRIMARY KEY (id)
+);
+
+-- Keyset reads of the change feed
+CREATE INDEX IF NOT EXISTS idx_book_outbox_created_at_id
+    ON book_outbox (created_at, id);
+
+-- The publisher only looks for unpublished rows, which are few; published ones stay out of this index
+CREATE INDEX IF NOT EXISTS idx_book_outbox_unpublished
+    ON book_outbox (created_at, id)
+    WHERE published_at IS NULL;
@@ -0,0 +1,23 @@
+-- Soft-deleted books moved out of the hot table by BookArchiver (com.codesungrape.hmcts.bookapi.entity.BookArchive).
+CREATE TABLE IF NOT EXISTS book_archive (
+    id          UUID                        NOT NULL,
+    title       VARCHAR(255)                NOT NULL,
+    synopsis    TEXT                        NOT NULL,
+    author      VARCHAR(255)                NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    version     BIGINT                      NOT NULL,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_book_archive PRIMARY KEY (id)
+);
+
+-- Finds soft-deleted books past retention, oldest first. A soft delete is a book's last write, so modified_at is its
+-- deletion time. Partial: live books are never archival candidates.
+CREATE INDEX IF NOT EXISTS idx_book_deleted_modified_at_id
+    ON book (modified_at, id)
+    WHERE deleted = TRUE;
+
+-- Finds published outbox events past retention
+CREATE INDEX IF NOT EXISTS idx_book_outbox_published_at
+    ON book_outbox (published_at)
+    WHERE published_at IS NOT NULL;
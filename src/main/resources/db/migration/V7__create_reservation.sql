@@ -0,0 +1,21 @@
+-- Reservations of books (com.codesungrape.hmcts.bookapi.entity.Reservation).
+-- ON DELETE CASCADE: when the archival job hard-deletes a book, its reservation history goes with it.
+CREATE TABLE IF NOT EXISTS reservation (
+    id          UUID                        NOT NULL,
+    book_id     UUID                        NOT NULL,
+    user_id     UUID                        NOT NULL,
+    state       VARCHAR(16)                 NOT NULL,
+    reserved_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    version     BIGINT                      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_reservation PRIMARY KEY (id),
+    CONSTRAINT fk_reservation_book FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE
+);
+
+-- Per-book listing in (reserved_at, id) order; also serves the book_id foreign key
+CREATE INDEX IF NOT EXISTS idx_reservation_book_reserved_at_id
+    ON reservation (book_id, reserved_at, id);
+
+-- Backstop for ReservationService's per-book lock: at most one active reservation per book
+CREATE UNIQUE INDEX IF NOT EXISTS uq_reservation_active_book
+    ON reservation (book_id)
+    WHERE state = 'RESERVED';
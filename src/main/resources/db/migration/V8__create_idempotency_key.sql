@@ -0,0 +1,18 @@
+-- Idempotency-Key records for POST /books (com.codesungrape.hmcts.bookapi.entity.IdempotencyRecord).
+-- id is a name-based UUID (a digest) of the client and its key, so API keys are never stored.
+-- A row is claimed (IN_PROGRESS) by the first request, completed with the response in the same transaction
+-- as the write, and swept after expires_at.
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    id          UUID                        NOT NULL,
+    fingerprint UUID                        NOT NULL,
+    state       VARCHAR(16)                 NOT NULL,
+    claim_token UUID                        NOT NULL,
+    claimed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    response    TEXT,
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (id)
+);
+
+-- Expiry sweeps
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires_at
+    ON idempotency_key (expires_at);
@@ -0,0 +1,54 @@
+-- Optional hash partitioning of book by id (PostgreSQL declarative partitioning).
+-- Off by default: spring.flyway.placeholders.book-hash-partitions = 0 leaves book a plain table. Set it (e.g. 16) before
+-- this migration first runs to partition a new database; convert an existing one later, in a maintenance window, with
+--     CALL partition_book_by_hash(16);
+-- Hash on id keeps the primary key (and the reservation foreign key) on id alone, and every single-book statement
+-- (lookup, lock, update, soft delete, archive) filters on id, so it touches one partition. Range partitioning on
+-- created_at would need (id, created_at) as the key, which the foreign key cannot reference, and by-id lookups
+-- would visit every partition.
+CREATE OR REPLACE PROCEDURE partition_book_by_hash(partition_count INTEGER)
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF partition_count < 2 THEN
+        RAISE EXCEPTION 'book needs at least 2 hash partitions, got %', partition_count;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'book'::regclass) THEN
+        RAISE NOTICE 'book is already partitioned';
+        RETURN;
+    END IF;
+
+    -- Writers wait for the copy instead of writing into the table that is about to be dropped
+    LOCK TABLE book IN ACCESS EXCLUSIVE MODE;
+
+    -- Same columns, defaults and generated search_vector; keys and indexes are added once the old table is gone
+    CREATE TABLE book_partitioned (LIKE book INCLUDING DEFAULTS INCLUDING GENERATED) PARTITION BY HASH (id);
+    FOR i IN 0 .. partition_count - 1 LOOP
+        EXECUTE format('CREATE TABLE book_p%s PARTITION OF book_partitioned FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+            i, partition_count, i);
+    END LOOP;
+
+    INSERT INTO book_partitioned (id, title, synopsis, author, deleted, created_at, modified_at, version)
+    SELECT id, title, synopsis, author, deleted, created_at, modified_at, version FROM book;
+
+    ALTER TABLE reservation DROP CONSTRAINT fk_reservation_book;
+    DROP TABLE book;
+    ALTER TABLE book_partitioned RENAME TO book;
+
+    -- Created on the parent, so every partition gets its own copy (PostgreSQL 12+ for the foreign key)
+    ALTER TABLE book ADD CONSTRAINT pk_book PRIMARY KEY (id);
+    CREATE INDEX idx_book_live_created_at_id ON book (created_at, id) WHERE deleted = FALSE;
+    CREATE INDEX idx_book_live_search_vector ON book USING GIN (search_vector) WHERE deleted = FALSE;
+    CREATE INDEX idx_book_deleted_modified_at_id ON book (modified_at, id) WHERE deleted = TRUE;
+    ALTER TABLE reservation
+        ADD CONSTRAINT fk_reservation_book FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE;
+END;
+$$;
+
+DO $$
+BEGIN
+    IF ${book-hash-partitions} > 0 THEN
+        CALL partition_book_by_hash(${book-hash-partitions});
+    END IF;
+END;
+$$;
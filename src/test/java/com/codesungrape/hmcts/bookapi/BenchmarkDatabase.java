@@ -0,0 +1,33 @@
+package com.codesungrape.hmcts.bookapi;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Database used by JDBC-level benchmarks. Defaults to in-memory H2 (PostgreSQL mode);
+ * point it at a real PostgreSQL with BENCHMARK_JDBC_URL, BENCHMARK_JDBC_USER and BENCHMARK_JDBC_PASSWORD
+ * for numbers that reflect production (index sizes are only reported on PostgreSQL).
+ */
+final class BenchmarkDatabase {
+
+    private static final String DEFAULT_URL = "jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private BenchmarkDatabase() {
+        // Utility class
+    }
+
+    static JdbcTemplate jdbcTemplate() {
+        String url = System.getenv().getOrDefault("BENCHMARK_JDBC_URL", DEFAULT_URL);
+        String user = System.getenv().getOrDefault("BENCHMARK_JDBC_USER", "sa");
+        String password = System.getenv().getOrDefault("BENCHMARK_JDBC_PASSWORD", "");
+        return new JdbcTemplate(new DriverManagerDataSource(url, user, password));
+    }
+
+    static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        );
+        return "PostgreSQL".equals(product);
+    }
+}
@@ -0,0 +1,85 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.BinaryFormatConfig;
+import com.codesungrape.hmcts.bookapi.controller.BookController;
+import com.codesungrape.hmcts.bookapi.dto.BookListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.IdempotentRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web-layer slice tests for the binary representations: the same page negotiated as CBOR, Smile and JSON.
+ */
+@WebMvcTest(BookController.class)
+@Import(BinaryFormatConfig.class)
+class BinaryFormatTest {
+
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BookService bookService;
+
+    @MockitoBean
+    private IdempotentRequests idempotentRequests;
+
+    private final BookListResponse page = new BookListResponse(
+        1L,
+        List.of(new BookResponse(UUID.randomUUID(), "Title", "Synopsis", "Author")),
+        null
+    );
+
+    @BeforeEach
+    void setUp() {
+        when(bookService.listBooks(0L, 20, BookField.ALL)).thenReturn(page);
+    }
+
+    private BookListResponse fetch(MediaType accept, ObjectMapper decoder) throws Exception {
+        byte[] body = mockMvc.perform(get("/books").accept(accept))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(accept))
+            .andReturn().getResponse().getContentAsByteArray();
+        return decoder.readValue(body, BookListResponse.class);
+    }
+
+    @Test
+    void testListBooks_AcceptCbor_ReturnsCbor() throws Exception {
+        assertEquals(page, fetch(CBOR, new ObjectMapper(new CBORFactory())));
+    }
+
+    @Test
+    void testListBooks_AcceptSmile_ReturnsSmile() throws Exception {
+        assertEquals(page, fetch(SMILE, new ObjectMapper(new SmileFactory())));
+    }
+
+    @Test
+    void testListBooks_AcceptAnything_PrefersJson() throws Exception {
+        mockMvc.perform(get("/books").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,121 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.BookArchive;
+import com.codesungrape.hmcts.bookapi.repository.BookArchiveRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for the archival queries (book to book_archive) against H2.
+ */
+@DataJpaTest
+class BookArchiveRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private BookArchiveRepository bookArchiveRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Seeds through JDBC so modified_at (the deletion time) can be controlled
+    private UUID insertBook(boolean deleted, int secondsAfterBase) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+            "INSERT INTO book (id, title, synopsis, author, deleted, created_at, modified_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 2)",
+            id, "Title " + id, "Synopsis", "Author", deleted,
+            BASE.atOffset(ZoneOffset.UTC),
+            BASE.plusSeconds(secondsAfterBase).atOffset(ZoneOffset.UTC)
+        );
+        return id;
+    }
+
+    @Test
+    void testLockArchivableIds_OnlyDeletedBeforeCutoff_OldestFirst() {
+        // Arrange
+        UUID second = insertBook(true, 2);
+        UUID first = insertBook(true, 1);
+        insertBook(false, 0); // live
+        insertBook(true, 10); // within retention
+
+        // Act
+        List<UUID> ids = bookArchiveRepository.lockArchivableIds(BASE.plusSeconds(5), 10);
+
+        // Assert
+        assertEquals(List.of(first, second), ids);
+        assertEquals(List.of(first), bookArchiveRepository.lockArchivableIds(BASE.plusSeconds(5), 1));
+    }
+
+    @Test
+    void testCopyToArchiveAndDeleteArchived_MovesRowOutOfBookTable() {
+        // Arrange
+        UUID id = insertBook(true, 1);
+        Instant archivedAt = BASE.plusSeconds(100);
+
+        // Act
+        int copied = bookArchiveRepository.copyToArchive(List.of(id), archivedAt);
+        int deleted = bookArchiveRepository.deleteArchived(List.of(id));
+
+        // Assert
+        assertEquals(1, copied);
+        assertEquals(1, deleted);
+        assertTrue(bookRepository.findById(id).isEmpty());
+
+        BookArchive archived = bookArchiveRepository.findById(id).orElseThrow();
+        assertEquals("Title " + id, archived.getTitle());
+        assertEquals(BASE, archived.getCreatedAt());
+        assertEquals(BASE.plusSeconds(1), archived.getDeletedAt());
+        assertEquals(2L, archived.getVersion());
+        assertEquals(archivedAt, archived.getArchivedAt());
+    }
+
+    @Test
+    void testDeleteArchived_LiveBook_IsNeverRemoved() {
+        UUID live = insertBook(false, 1);
+
+        assertEquals(0, bookArchiveRepository.deleteArchived(List.of(live)));
+        assertTrue(bookRepository.findById(live).isPresent());
+    }
+
+    @Test
+    void testCountArchivable_CountsOnlyDeletedBeforeCutoff() {
+        insertBook(true, 1);
+        insertBook(true, 2);
+        insertBook(true, 10);
+        insertBook(false, 1);
+
+        assertEquals(2, bookArchiveRepository.countArchivable(BASE.plusSeconds(5)));
+    }
+
+    @Test
+    void testFindOldestDeletedAt_IgnoresLiveBooks() {
+        insertBook(false, 0);
+        insertBook(true, 3);
+        insertBook(true, 7);
+
+        assertEquals(Optional.of(BASE.plusSeconds(3)), bookArchiveRepository.findOldestDeletedAt());
+    }
+
+    @Test
+    void testFindOldestDeletedAt_NoDeletedBooks_ReturnsEmpty() {
+        insertBook(false, 0);
+
+        assertEquals(Optional.empty(), bookArchiveRepository.findOldestDeletedAt());
+    }
+}
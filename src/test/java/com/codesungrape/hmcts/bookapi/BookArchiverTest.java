@@ -0,0 +1,212 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.BookArchiveProperties;
+import com.codesungrape.hmcts.bookapi.repository.BookArchiveRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.codesungrape.hmcts.bookapi.service.BookArchiver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookArchiver: batching, throttling, dry runs and metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookArchiverTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    @Mock
+    private BookArchiveRepository testBookArchiveRepository;
+
+    @Mock
+    private BookEventRepository testBookEventRepository;
+
+    @Mock
+    private PlatformTransactionManager testTransactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    private BookArchiver archiver(boolean dryRun) {
+        BookArchiveProperties properties = new BookArchiveProperties(
+            true, Duration.ofMinutes(10), RETENTION, Duration.ofDays(7), BATCH_SIZE, Duration.ofMillis(1), dryRun
+        );
+        return new BookArchiver(
+            testBookArchiveRepository,
+            testBookEventRepository,
+            new TransactionTemplate(testTransactionManager),
+            properties,
+            meterRegistry
+        );
+    }
+
+    private static List<UUID> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    private double rows(String table) {
+        return meterRegistry.get("bookapi.archive.rows").tag("table", table).counter().count();
+    }
+
+    private double lag() {
+        return meterRegistry.get("bookapi.archive.lag").gauge().value();
+    }
+
+    // ---- Tests: run ----
+
+    @Test
+    void testRun_NothingPastRetention_MovesNothing() {
+        // Arrange
+        when(testBookArchiveRepository.lockArchivableIds(any(Instant.class), eq(BATCH_SIZE))).thenReturn(List.of());
+        when(testBookEventRepository.findPublishedBefore(any(Instant.class), eq(BATCH_SIZE))).thenReturn(List.of());
+        when(testBookArchiveRepository.findOldestDeletedAt()).thenReturn(Optional.empty());
+
+        // Act
+        BookArchiver.Run run = archiver(false).run();
+
+        // Assert
+        assertEquals(new BookArchiver.Run(false, 0, 0), run);
+        verify(testBookArchiveRepository, never()).copyToArchive(anyList(), any());
+        verify(testBookArchiveRepository, never()).deleteArchived(anyList());
+        verify(testBookEventRepository, never()).deleteAllByIdInBatch(anyList());
+        assertEquals(0, rows("book"));
+        assertEquals(0, lag());
+    }
+
+    @Test
+    void testRun_FullBatches_KeepsMovingUntilAShortBatch() {
+        // Arrange: books 2 + 2 + 1, events 2 + 0
+        List<UUID> first = ids(2);
+        List<UUID> second = ids(2);
+        List<UUID> third = ids(1);
+        List<UUID> events = ids(2);
+        when(testBookArchiveRepository.lockArchivableIds(any(Instant.class), eq(BATCH_SIZE))).thenReturn(first, second, third);
+        when(testBookEventRepository.findPublishedBefore(any(Instant.class), eq(BATCH_SIZE))).thenReturn(events, List.of());
+        when(testBookArchiveRepository.findOldestDeletedAt()).thenReturn(Optional.empty());
+
+        // Act
+        BookArchiver.Run run = archiver(false).run();
+
+        // Assert
+        assertEquals(new BookArchiver.Run(false, 5, 2), run);
+        for (List<UUID> batch : List.of(first, second, third)) {
+            verify(testBookArchiveRepository).copyToArchive(eq(batch), any(Instant.class));
+            verify(testBookArchiveRepository).deleteArchived(batch);
+        }
+        verify(testBookEventRepository).deleteAllByIdInBatch(events);
+        verify(testTransactionManager, times(5)).commit(any());
+        assertEquals(5, rows("book"));
+        assertEquals(2, rows("book_outbox"));
+    }
+
+    @Test
+    void testRun_CutoffIsNowMinusRetention() {
+        // Arrange
+        when(testBookArchiveRepository.lockArchivableIds(any(Instant.class), anyInt())).thenReturn(List.of());
+        when(testBookEventRepository.findPublishedBefore(any(Instant.class), anyInt())).thenReturn(List.of());
+        when(testBookArchiveRepository.findOldestDeletedAt()).thenReturn(Optional.empty());
+        Instant before = Instant.now();
+
+        // Act
+        archiver(false).run();
+
+        // Assert
+        verify(testBookArchiveRepository).lockArchivableIds(
+            argThat(cutoff -> !cutoff.isBefore(before.minus(RETENTION))
+                && !cutoff.isAfter(Instant.now().minus(RETENTION))),
+            eq(BATCH_SIZE)
+        );
+    }
+
+    @Test
+    void testRun_Interrupted_StopsAfterTheCurrentBatch() {
+        // Arrange
+        when(testBookArchiveRepository.lockArchivableIds(any(Instant.class), eq(BATCH_SIZE))).thenReturn(ids(2));
+        when(testBookEventRepository.findPublishedBefore(any(Instant.class), eq(BATCH_SIZE))).thenReturn(ids(2));
+        when(testBookArchiveRepository.findOldestDeletedAt()).thenReturn(Optional.empty());
+        Thread.currentThread().interrupt();
+
+        // Act
+        BookArchiver.Run run = archiver(false).run();
+
+        // Assert: one full batch each, then the pause sees the interrupt
+        assertEquals(new BookArchiver.Run(false, 2, 2), run);
+        verify(testBookArchiveRepository, times(1)).lockArchivableIds(any(Instant.class), anyInt());
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testRun_BacklogLeft_ReportsLagPastRetention() {
+        // Arrange: the oldest deleted book is an hour past retention
+        when(testBookArchiveRepository.lockArchivableIds(any(Instant.class), anyInt())).thenReturn(List.of());
+        when(testBookEventRepository.findPublishedBefore(any(Instant.class), anyInt())).thenReturn(List.of());
+        when(testBookArchiveRepository.findOldestDeletedAt())
+            .thenReturn(Optional.of(Instant.now().minus(RETENTION).minus(Duration.ofHours(1))));
+
+        // Act
+        archiver(false).run();
+
+        // Assert
+        assertEquals(3600, lag(), 5);
+    }
+
+    @Test
+    void testRun_OldestWithinRetention_ReportsZeroLag() {
+        when(testBookArchiveRepository.lockArchivableIds(any(Instant.class), anyInt())).thenReturn(List.of());
+        when(testBookEventRepository.findPublishedBefore(any(Instant.class), anyInt())).thenReturn(List.of());
+        when(testBookArchiveRepository.findOldestDeletedAt()).thenReturn(Optional.of(Instant.now()));
+
+        archiver(false).run();
+
+        assertEquals(0, lag());
+    }
+
+    @Test
+    void testRun_DryRun_OnlyCounts() {
+        // Arrange
+        when(testBookArchiveRepository.countArchivable(any(Instant.class))).thenReturn(7L);
+        when(testBookEventRepository.countByPublishedAtBefore(any(Instant.class))).thenReturn(3L);
+        when(testBookArchiveRepository.findOldestDeletedAt()).thenReturn(Optional.empty());
+
+        // Act
+        BookArchiver.Run run = archiver(true).run();
+
+        // Assert
+        assertEquals(new BookArchiver.Run(true, 7, 3), run);
+        verify(testBookArchiveRepository, never()).lockArchivableIds(any(), anyInt());
+        verify(testBookEventRepository, never()).findPublishedBefore(any(), anyInt());
+        verify(testTransactionManager, never()).getTransaction(any());
+        assertEquals(0, rows("book"));
+        assertEquals(0, rows("book_outbox"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookBulkResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows-per-second comparison of bulk create (chunked JDBC batches) against a loop of createBook calls.
+ * Tagged "benchmark": excluded from `./gradlew test`, run with `./gradlew benchmark`.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BookBulkCreateBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP_ROWS = 500;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    private static List<BookRequest> requests(int count) {
+        List<BookRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new BookRequest("Title " + i, "Synopsis ".repeat(50) + i, "Author " + (i % 100)));
+        }
+        return requests;
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+
+    @Test
+    void benchmarkBulkCreateAgainstSingleCreateLoop() {
+        // Warm up both paths so JIT and connection pool are not measured
+        requests(WARMUP_ROWS).forEach(bookService::createBook);
+        bookService.createBooks(requests(WARMUP_ROWS));
+        bookRepository.deleteAllInBatch();
+
+        List<BookRequest> input = requests(ROWS);
+
+        long loopStart = System.nanoTime();
+        input.forEach(bookService::createBook);
+        long loopNanos = System.nanoTime() - loopStart;
+
+        long bulkStart = System.nanoTime();
+        BookBulkResponse response = bookService.createBooks(input);
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        assertEquals(ROWS, response.created());
+        assertEquals(2L * ROWS, bookRepository.count());
+
+        System.out.printf(
+            "createBook loop: %,.0f rows/s | createBooks bulk: %,.0f rows/s | speed-up: %.1fx%n",
+            rowsPerSecond(ROWS, loopNanos),
+            rowsPerSecond(ROWS, bulkNanos),
+            (double) loopNanos / bulkNanos
+        );
+    }
+}
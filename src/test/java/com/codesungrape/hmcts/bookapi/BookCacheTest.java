@@ -0,0 +1,200 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.BookCacheProperties;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+import com.codesungrape.hmcts.bookapi.service.BookCache;
+import com.codesungrape.hmcts.bookapi.service.InMemoryBookCacheInvalidationBus;
+import com.codesungrape.hmcts.bookapi.service.VersionedBook;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the read-through BookCache, using two caches on one in-memory bus
+ * as stand-ins for two application instances.
+ */
+class BookCacheTest {
+
+    private final BookCacheProperties properties =
+        new BookCacheProperties(100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+    private InMemoryBookCacheInvalidationBus bus;
+    private SimpleMeterRegistry registry;
+    private BookCache instanceA;
+    private BookCache instanceB;
+    private UUID bookId;
+    private AtomicInteger loads;
+    private Function<UUID, CompletableFuture<Optional<VersionedBook>>> loader;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryBookCacheInvalidationBus();
+        registry = new SimpleMeterRegistry();
+        instanceA = new BookCache(properties, bus, registry);
+        instanceB = new BookCache(properties, bus, new SimpleMeterRegistry());
+        bookId = UUID.randomUUID();
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(new VersionedBook(
+                new BookResponse(id, "Title", "Synopsis", "Author"),
+                new BookVersion(0L, Instant.EPOCH)
+            )));
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGet_SecondReadIsAHit() {
+        instanceA.get(bookId, loader);
+        instanceA.get(bookId, loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, instanceA.stats().hitCount());
+        assertEquals(1, instanceA.stats().missCount());
+        assertEquals(1, instanceA.estimatedSize());
+    }
+
+    @Test
+    void testGet_StatsArePublishedAsMeters() {
+        // Act
+        instanceA.get(bookId, loader);
+        instanceA.get(bookId, loader);
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", BookCache.CACHE_NAME, "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", BookCache.CACHE_NAME, "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGet_MissingIdIsCachedNegatively() {
+        Function<UUID, CompletableFuture<Optional<VersionedBook>>> missingLoader = id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.empty());
+        };
+
+        assertTrue(instanceA.get(bookId, missingLoader).isEmpty());
+        assertTrue(instanceA.get(bookId, missingLoader).isEmpty());
+
+        assertEquals(1, loads.get(), "Second lookup of an unknown id must not reach the loader");
+    }
+
+    @Test
+    void testGetIfPresent_NeverLoadsAndIgnoresNegativeEntries() {
+        assertTrue(instanceA.getIfPresent(bookId).isEmpty());
+
+        instanceA.get(bookId, loader);
+        assertEquals(bookId, instanceA.getIfPresent(bookId).orElseThrow().book().id());
+
+        UUID missing = UUID.randomUUID();
+        instanceA.get(missing, id -> CompletableFuture.completedFuture(Optional.empty()));
+        assertTrue(instanceA.getIfPresent(missing).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetIfPresent_LoadInFlight_DoesNotWait() throws InterruptedException {
+        // Arrange: a load that has started but not finished
+        CompletableFuture<Optional<VersionedBook>> inFlight = new CompletableFuture<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread reader = Thread.ofPlatform().start(() -> instanceA.get(bookId, id -> {
+            started.countDown();
+            return inFlight;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(instanceA.getIfPresent(bookId).isEmpty());
+
+        // Act: the load completes
+        inFlight.complete(loader.apply(bookId).join());
+
+        // Assert
+        reader.join(Duration.ofSeconds(5));
+        assertFalse(reader.isAlive());
+        assertEquals(bookId, instanceA.getIfPresent(bookId).orElseThrow().book().id());
+    }
+
+    @Test
+    void testGet_FailedLoad_RethrowsItsExceptionAndIsNotCached() {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        // Act & Assert: the loader's own exception, not a CompletionException wrapper
+        assertSame(failure, assertThrows(IllegalStateException.class,
+            () -> instanceA.get(bookId, id -> CompletableFuture.failedFuture(failure))));
+
+        // Assert: the next lookup retries
+        instanceA.get(bookId, loader);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidate_OutsideTransaction_DropsEntryOnEveryInstance() {
+        instanceA.get(bookId, loader);
+        instanceB.get(bookId, loader);
+
+        instanceA.invalidate(bookId);
+        instanceA.get(bookId, loader);
+        instanceB.get(bookId, loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testInvalidate_InsideTransaction_BroadcastsOnlyAfterCommit() {
+        instanceA.get(bookId, loader);
+        instanceB.get(bookId, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        instanceA.invalidate(bookId);
+
+        // Before commit: the writing instance has dropped its entry, other instances have not heard yet
+        instanceB.get(bookId, loader);
+        assertEquals(2, loads.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // After commit: the invalidation has reached instance B
+        instanceB.get(bookId, loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGet_EvictsBeyondMaximumSize() {
+        BookCache small = new BookCache(new BookCacheProperties(10, Duration.ofMinutes(5), Duration.ofSeconds(30)), bus, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 1_000; i++) {
+            small.get(UUID.randomUUID(), loader);
+        }
+
+        small.cleanUp();
+
+        assertTrue(small.estimatedSize() <= 10, "size=" + small.estimatedSize());
+        assertTrue(small.stats().evictionCount() >= 990, "evictions=" + small.stats().evictionCount());
+    }
+}
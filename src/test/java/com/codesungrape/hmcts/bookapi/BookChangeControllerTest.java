@@ -0,0 +1,106 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.BookChangeController;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeResponse;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.service.BookChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web-layer slice tests for BookChangeController, with BookChangeFeed replaced by a Mockito mock.
+ */
+@WebMvcTest(BookChangeController.class)
+class BookChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BookChangeFeed bookChangeFeed;
+
+    @Test
+    void testListChanges_PassesCursorAndWaitAndRendersChanges() throws Exception {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        UUID bookId = UUID.randomUUID();
+        DeferredResult<BookChangeListResponse> result = new DeferredResult<>();
+        result.setResult(new BookChangeListResponse(List.of(
+            new BookChangeResponse(eventId, BookEventType.UPDATED, bookId, Instant.parse("2024-01-01T00:00:00Z"), "{\"title\":\"T\"}"),
+            new BookChangeResponse(UUID.randomUUID(), BookEventType.DELETED, bookId, Instant.parse("2024-01-01T00:00:01Z"), null)
+        ), "next"));
+        when(bookChangeFeed.changesSince("abc", 50, Duration.ofSeconds(20))).thenReturn(result);
+
+        // Act: DeferredResult is handled asynchronously
+        MvcResult started = mockMvc.perform(get("/books/changes").param("since", "abc").param("limit", "50").param("wait", "20"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert: the payload is embedded as the book object, and deletions carry none
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].event_id").value(eventId.toString()))
+            .andExpect(jsonPath("$.items[0].type").value("UPDATED"))
+            .andExpect(jsonPath("$.items[0].book_id").value(bookId.toString()))
+            .andExpect(jsonPath("$.items[0].book.title").value("T"))
+            .andExpect(jsonPath("$.items[1].book").doesNotExist())
+            .andExpect(jsonPath("$.next_cursor").value("next"));
+    }
+
+    @Test
+    void testListChanges_Defaults_NoCursorNoWait() throws Exception {
+        // Arrange
+        DeferredResult<BookChangeListResponse> result = new DeferredResult<>();
+        result.setResult(new BookChangeListResponse(List.of(), "start"));
+        when(bookChangeFeed.changesSince(null, 100, Duration.ZERO)).thenReturn(result);
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/books/changes"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isEmpty())
+            .andExpect(jsonPath("$.next_cursor").value("start"));
+    }
+
+    @Test
+    void testListChanges_WaitTooLong_Returns400() throws Exception {
+        mockMvc.perform(get("/books/changes").param("wait", "31"))
+            .andExpect(status().isBadRequest());
+
+        verify(bookChangeFeed, never()).changesSince(any(), anyInt(), any());
+    }
+
+    @Test
+    void testListChanges_MalformedCursor_Returns400() throws Exception {
+        when(bookChangeFeed.changesSince("bad", 100, Duration.ZERO)).thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/books/changes").param("since", "bad"))
+            .andExpect(status().isBadRequest());
+    }
+}
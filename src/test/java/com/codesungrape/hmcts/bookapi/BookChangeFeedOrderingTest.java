@@ -0,0 +1,82 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookChangeListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.service.BookChangeFeed;
+import com.codesungrape.hmcts.bookapi.service.BookEventPublisher;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration test for the change feed against H2: a write that commits after a later one has been served still
+ * appears after the consumer's cursor.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:changefeed;LOCK_TIMEOUT=10000")
+class BookChangeFeedOrderingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookEventPublisher bookEventPublisher;
+
+    @Autowired
+    private BookChangeFeed bookChangeFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private BookChangeListResponse read(String since) {
+        return (BookChangeListResponse) bookChangeFeed.changesSince(since, 100, Duration.ZERO).getResult();
+    }
+
+    private static List<UUID> bookIds(BookChangeListResponse page) {
+        return page.items().stream().map(BookChangeResponse::bookId).toList();
+    }
+
+    @Test
+    void testChangesSince_WriteCommittedAfterALaterOneWasServed_IsNotLost() throws Exception {
+        // Arrange: the slow write records its event first, then stays open
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<UUID> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            UUID id = bookService.createBook(new BookRequest("Slow", "Synopsis", "Author")).getId();
+            written.countDown();
+            try {
+                assertTrue(commit.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return id;
+        }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        UUID fast = bookService.createBook(new BookRequest("Fast", "Synopsis", "Author")).getId();
+
+        // Act: the consumer reads the fast write before the slow one commits
+        bookEventPublisher.drain();
+        BookChangeListResponse first = read(null);
+        commit.countDown();
+        UUID slowId = slow.get(10, TimeUnit.SECONDS);
+        bookEventPublisher.drain();
+        BookChangeListResponse second = read(first.nextCursor());
+
+        // Assert
+        assertEquals(List.of(fast), bookIds(first));
+        assertEquals(List.of(slowId), bookIds(second));
+    }
+}
@@ -0,0 +1,224 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.BookOutboxProperties;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeResponse;
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.codesungrape.hmcts.bookapi.service.BookChangeCursor;
+import com.codesungrape.hmcts.bookapi.service.BookChangeFeed;
+import com.codesungrape.hmcts.bookapi.service.BookCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookChangeFeed: position cursors and long-poll wake-ups.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookChangeFeedTest {
+
+    @Mock
+    private BookEventRepository testBookEventRepository;
+
+    private BookChangeFeed testFeed;
+
+    private BookChangeFeed feed(Duration pollInterval) {
+        testFeed = new BookChangeFeed(
+            testBookEventRepository,
+            new BookOutboxProperties(true, Duration.ofMillis(500), 100, pollInterval)
+        );
+        return testFeed;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (testFeed != null) {
+            testFeed.destroy();
+        }
+    }
+
+    private static BookEvent event(long feedPosition) {
+        Instant now = Instant.now();
+        return new BookEvent(UUID.randomUUID(), UUID.randomUUID(), BookEventType.CREATED, "{\"id\":1}", now, now, feedPosition);
+    }
+
+    // Completes with the value DeferredResult hands to MVC (the page, or the error)
+    private static CompletableFuture<Object> completion(DeferredResult<BookChangeListResponse> result) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        result.setResultHandler(future::complete);
+        return future;
+    }
+
+    private void awaitNoWaiters() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (testFeed.waiting() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, testFeed.waiting());
+    }
+
+    // ---- Tests: immediate reads ----
+
+    @Test
+    void testChangesSince_NoCursor_StartsAtBeginning() {
+        // Arrange
+        BookEvent first = event(1L);
+        BookEvent second = event(2L);
+        when(testBookEventRepository.findFeedPageAfter(0L, 10)).thenReturn(List.of(first, second));
+
+        // Act
+        DeferredResult<BookChangeListResponse> result = feed(Duration.ofHours(1)).changesSince(null, 10, Duration.ZERO);
+
+        // Assert: answered at once, cursor after the last change
+        BookChangeListResponse page = (BookChangeListResponse) result.getResult();
+        assertEquals(List.of(first.getId(), second.getId()), page.items().stream().map(BookChangeResponse::eventId).toList());
+        assertEquals(new BookChangeCursor(2L), BookChangeCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testChangesSince_NothingNewAndNoWait_ReturnsEmptyPageWithSameCursor() {
+        // Arrange
+        BookChangeCursor since = new BookChangeCursor(41L);
+        when(testBookEventRepository.findFeedPageAfter(eq(41L), anyInt())).thenReturn(List.of());
+
+        // Act
+        DeferredResult<BookChangeListResponse> result = feed(Duration.ofHours(1)).changesSince(since.encode(), 10, Duration.ZERO);
+
+        // Assert
+        BookChangeListResponse page = (BookChangeListResponse) result.getResult();
+        assertTrue(page.items().isEmpty());
+        assertEquals(since.encode(), page.nextCursor());
+        assertEquals(0, testFeed.waiting());
+    }
+
+    @Test
+    void testChangesSince_InvalidArguments_ThrowsException() {
+        BookChangeFeed changeFeed = feed(Duration.ofHours(1));
+
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.changesSince(null, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.changesSince(null, 1001, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.changesSince(null, 10, Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.changesSince(null, 10, Duration.ofSeconds(31)));
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.changesSince("not-a-cursor", 10, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> BookChangeCursor.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> BookChangeCursor.decode(new BookChangeCursor(-1L).encode()));
+    }
+
+    @Test
+    void testChangesSince_CursorFromBeforeFeedPositions_IsRejected() {
+        // Cursors once encoded (created_at, id); consumers holding one must restart from the beginning
+        String oldCursor = new BookCursor(Instant.parse("2024-01-01T00:00:00Z"), UUID.randomUUID()).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> feed(Duration.ofHours(1)).changesSince(oldCursor, 10, Duration.ZERO));
+    }
+
+    // ---- Tests: long-poll ----
+
+    @Test
+    void testChangesSince_Wait_CompletesWhenPublishWakesIt() throws Exception {
+        // Arrange: nothing at first, one change on the re-check
+        BookEvent change = event(1L);
+        when(testBookEventRepository.findFeedPageAfter(anyLong(), anyInt()))
+            .thenReturn(List.of(), List.of(change));
+        BookChangeFeed changeFeed = feed(Duration.ofHours(1));
+
+        // Act
+        DeferredResult<BookChangeListResponse> result = changeFeed.changesSince(null, 10, Duration.ofSeconds(20));
+        CompletableFuture<Object> completed = completion(result);
+        assertFalse(result.hasResult(), "Nothing to return yet: the request must wait");
+        assertEquals(1, changeFeed.waiting());
+        changeFeed.publish(List.of());
+
+        // Assert
+        BookChangeListResponse page = (BookChangeListResponse) completed.get(5, TimeUnit.SECONDS);
+        assertEquals(change.getId(), page.items().get(0).eventId());
+        awaitNoWaiters();
+    }
+
+    @Test
+    void testChangesSince_Wait_PublishInsideTransaction_WakesOnlyAfterCommit() throws Exception {
+        // Arrange: nothing at first, one change once the publisher's batch is committed
+        BookEvent change = event(1L);
+        when(testBookEventRepository.findFeedPageAfter(anyLong(), anyInt()))
+            .thenReturn(List.of(), List.of(change));
+        BookChangeFeed changeFeed = feed(Duration.ofHours(1));
+        DeferredResult<BookChangeListResponse> result = changeFeed.changesSince(null, 10, Duration.ofSeconds(20));
+        CompletableFuture<Object> completed = completion(result);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act: the publisher's transaction is still open, so the positions are not readable yet
+            changeFeed.publish(List.of());
+            Thread.sleep(50);
+
+            // Assert: only the initial read before the commit, an immediate re-check after it
+            verify(testBookEventRepository, times(1)).findFeedPageAfter(anyLong(), anyInt());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        BookChangeListResponse page = (BookChangeListResponse) completed.get(5, TimeUnit.SECONDS);
+        assertEquals(change.getId(), page.items().get(0).eventId());
+        awaitNoWaiters();
+    }
+
+    @Test
+    void testChangesSince_Wait_KeepsWaitingWhilePeriodicRecheckFindsNothing() throws Exception {
+        // Arrange
+        when(testBookEventRepository.findFeedPageAfter(anyLong(), anyInt())).thenReturn(List.of());
+        BookChangeFeed changeFeed = feed(Duration.ofMillis(10));
+
+        // Act
+        DeferredResult<BookChangeListResponse> result = changeFeed.changesSince(null, 10, Duration.ofSeconds(20));
+
+        // Assert: re-checked repeatedly without completing; once expired (set elsewhere) it is dropped
+        verify(testBookEventRepository, timeout(5_000).atLeast(3)).findFeedPageAfter(anyLong(), anyInt());
+        assertFalse(result.hasResult());
+        result.setResult(new BookChangeListResponse(List.of(), null));
+        awaitNoWaiters();
+    }
+
+    @Test
+    void testChangesSince_Wait_RecheckFailure_CompletesWithError() throws Exception {
+        // Arrange
+        when(testBookEventRepository.findFeedPageAfter(anyLong(), anyInt()))
+            .thenReturn(List.of())
+            .thenThrow(new IllegalStateException("database unavailable"));
+        BookChangeFeed changeFeed = feed(Duration.ofHours(1));
+
+        // Act
+        DeferredResult<BookChangeListResponse> result = changeFeed.changesSince(null, 10, Duration.ofSeconds(20));
+        CompletableFuture<Object> completed = completion(result);
+        changeFeed.publish(List.of());
+
+        // Assert
+        assertInstanceOf(IllegalStateException.class, completed.get(5, TimeUnit.SECONDS));
+        awaitNoWaiters();
+    }
+}
@@ -0,0 +1,588 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.BookController;
+import com.codesungrape.hmcts.bookapi.controller.Clients;
+import com.codesungrape.hmcts.bookapi.dto.BookBulkGetResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookBulkResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookListResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.exception.DatabaseBusyException;
+import com.codesungrape.hmcts.bookapi.exception.IdempotencyKeyReusedException;
+import com.codesungrape.hmcts.bookapi.exception.PreconditionFailedException;
+import com.codesungrape.hmcts.bookapi.exception.ResourceNotFoundException;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.IdempotentRequests;
+import com.codesungrape.hmcts.bookapi.service.VersionedBook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web-layer slice tests for BookController: only MVC infrastructure is loaded,
+ * and BookService is replaced with a Mockito mock.
+ */
+@WebMvcTest(BookController.class)
+class BookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static final Instant MODIFIED_AT = Instant.parse("2025-01-15T10:00:00Z");
+
+    @MockitoBean
+    private BookService bookService;
+
+    @MockitoBean
+    private IdempotentRequests idempotentRequests;
+
+    // --------------------------------------
+    // Tests: GET /books
+    // --------------------------------------
+
+    @Test
+    void testListBooks_DefaultsToFirstOffsetPage() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookListResponse page = new BookListResponse(
+            1L,
+            List.of(new BookResponse(id, "Title", "Synopsis", "Author")),
+            null
+        );
+        when(bookService.listBooks(0L, 20, BookField.ALL)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/books"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total_count").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(id.toString()))
+            .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void testListBooks_WithCursor_UsesKeysetMode() throws Exception {
+        // Arrange
+        when(bookService.listBooksAfter("abc", 50, BookField.ALL)).thenReturn(new BookListResponse(null, List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/books").param("cursor", "abc").param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total_count").doesNotExist());
+
+        verify(bookService, never()).listBooks(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void testListBooks_LimitAboveMaximum_Returns400() throws Exception {
+        mockMvc.perform(get("/books").param("limit", "1001"))
+            .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).listBooks(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void testListBooks_InvalidCursor_Returns400() throws Exception {
+        // Arrange
+        when(bookService.listBooksAfter("bad", 20, BookField.ALL)).thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        // Act & Assert
+        mockMvc.perform(get("/books").param("cursor", "bad"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Invalid cursor: bad"));
+    }
+
+    @Test
+    void testListBooks_WithFields_OmitsUnselectedAttributes() throws Exception {
+        // Arrange: projection rows carry null for columns that were not selected
+        UUID id = UUID.randomUUID();
+        BookListResponse page = new BookListResponse(
+            1L,
+            List.of(new BookResponse(id, "Title", null, "Author")),
+            null
+        );
+        when(bookService.listBooks(0L, 20, EnumSet.of(BookField.TITLE, BookField.AUTHOR))).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/books").param("fields", "id,title,author"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].title").value("Title"))
+            .andExpect(jsonPath("$.items[0].author").value("Author"))
+            .andExpect(jsonPath("$.items[0].synopsis").doesNotExist());
+    }
+
+    @Test
+    void testListBooks_UnknownField_Returns400() throws Exception {
+        mockMvc.perform(get("/books").param("fields", "title,isbn"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Unknown field: isbn"));
+
+        verify(bookService, never()).listBooks(anyLong(), anyInt(), any());
+    }
+
+    // --------------------------------------
+    // Tests: GET /books/export
+    // --------------------------------------
+
+    @Test
+    void testExportBooks_StreamsNdjsonBody() throws Exception {
+        // Arrange: the service writes straight to the response stream
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"title\":\"A\"}\n{\"title\":\"B\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(bookService).exportBooks(any(OutputStream.class));
+
+        // Act: StreamingResponseBody runs asynchronously
+        MvcResult started = mockMvc.perform(get("/books/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(BookController.NDJSON))
+            .andExpect(content().string("{\"title\":\"A\"}\n{\"title\":\"B\"}\n"));
+    }
+
+    // --------------------------------------
+    // Tests: POST /books
+    // --------------------------------------
+
+    private static final String BOOK_JSON = "{\"title\":\"Title\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}";
+
+    @Test
+    void testCreateBook_NoIdempotencyKey_CreatesDirectly() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.createBook(any(BookRequest.class))).thenReturn(book(id));
+
+        // Act & Assert
+        mockMvc.perform(post("/books").contentType(MediaType.APPLICATION_JSON).content(BOOK_JSON))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/books/" + id))
+            .andExpect(header().doesNotExist(BookController.REPLAYED_HEADER))
+            .andExpect(jsonPath("$.id").value(id.toString()));
+        verify(idempotentRequests, never()).execute(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateBook_WithIdempotencyKey_RunsCreateOncePerClientAndKey() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookRequest request = new BookRequest("Title", "Synopsis", "Author");
+        when(bookService.createBook(request)).thenReturn(book(id));
+        when(idempotentRequests.execute(eq("key:client-1"), eq("retry-1"), eq(request), eq(BookResponse.class), any()))
+            .thenAnswer(invocation -> new IdempotentRequests.Result<>(invocation.getArgument(4, Supplier.class).get(), false));
+
+        // Act & Assert
+        mockMvc.perform(post("/books")
+                .header(Clients.API_KEY_HEADER, "client-1")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BOOK_JSON))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/books/" + id))
+            .andExpect(header().doesNotExist(BookController.REPLAYED_HEADER))
+            .andExpect(jsonPath("$.title").value("Title"));
+    }
+
+    @Test
+    void testCreateBook_ReplayedIdempotencyKey_ReturnsStoredBookWithoutCreating() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(idempotentRequests.execute(any(), eq("retry-1"), any(), eq(BookResponse.class), any()))
+            .thenReturn(new IdempotentRequests.Result<>(new BookResponse(id, "Title", "Synopsis", "Author"), true));
+
+        // Act & Assert
+        mockMvc.perform(post("/books")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BOOK_JSON))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/books/" + id))
+            .andExpect(header().string(BookController.REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.id").value(id.toString()));
+        verify(bookService, never()).createBook(any());
+    }
+
+    @Test
+    void testCreateBook_IdempotencyKeyReusedForOtherBody_Returns422() throws Exception {
+        // Arrange
+        when(idempotentRequests.execute(any(), any(), any(), any(), any()))
+            .thenThrow(new IdempotencyKeyReusedException("This Idempotency-Key was already used for a different request"));
+
+        // Act & Assert
+        mockMvc.perform(post("/books")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BOOK_JSON))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testCreateBook_IdempotencyKeyStillInProgress_Returns409() throws Exception {
+        // Arrange
+        when(idempotentRequests.execute(any(), any(), any(), any(), any()))
+            .thenThrow(new ConflictException("A request with this Idempotency-Key is still in progress, retry later"));
+
+        // Act & Assert
+        mockMvc.perform(post("/books")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BOOK_JSON))
+            .andExpect(status().isConflict());
+    }
+
+    // --------------------------------------
+    // Tests: POST /books/bulk
+    // --------------------------------------
+
+    @Test
+    void testCreateBooks_ReturnsPerItemResults() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.createBooks(any())).thenReturn(BookBulkResponse.of(List.of(
+            BookBulkResponse.Item.created(0, id),
+            BookBulkResponse.Item.failed(1, "Title is required")
+        )));
+
+        // Act & Assert
+        mockMvc.perform(post("/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"T\",\"synopsis\":\"S\",\"author\":\"A\"},{\"title\":\"\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(id.toString()))
+            .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+            .andExpect(jsonPath("$.items[1].id").doesNotExist());
+    }
+
+    // --------------------------------------
+    // Tests: GET /books/{bookId}
+    // --------------------------------------
+
+    @Test
+    void testGetBookById_ReturnsBook() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.getVersionedBookById(id)).thenReturn(versionedBook(id, 3L));
+
+        // Act & Assert
+        mockMvc.perform(get("/books/{bookId}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Title"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, MODIFIED_AT.toEpochMilli()));
+    }
+
+    @Test
+    void testGetBookById_IfNoneMatchCurrent_Returns304WithoutLoadingBook() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.getBookVersion(id)).thenReturn(new BookVersion(3L, MODIFIED_AT));
+
+        // Act & Assert
+        mockMvc.perform(get("/books/{bookId}", id).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(content().string(""));
+
+        verify(bookService, never()).getVersionedBookById(any());
+    }
+
+    @Test
+    void testGetBookById_IfNoneMatchStale_ReturnsBook() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.getBookVersion(id)).thenReturn(new BookVersion(4L, MODIFIED_AT));
+        when(bookService.getVersionedBookById(id)).thenReturn(versionedBook(id, 4L));
+
+        // Act & Assert
+        mockMvc.perform(get("/books/{bookId}", id).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void testGetBookById_IfModifiedSinceNotModified_Returns304() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.getBookVersion(id)).thenReturn(new BookVersion(3L, MODIFIED_AT));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(MODIFIED_AT.plusSeconds(60).toEpochMilli());
+
+        // Act & Assert
+        mockMvc.perform(get("/books/{bookId}", id).headers(headers))
+            .andExpect(status().isNotModified());
+
+        verify(bookService, never()).getVersionedBookById(any());
+    }
+
+    @Test
+    void testGetBookById_Missing_Returns404() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(bookService.getVersionedBookById(id)).thenThrow(new ResourceNotFoundException("Book not found with id: " + id));
+
+        // Act & Assert
+        mockMvc.perform(get("/books/{bookId}", id))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetBookById_DatabaseSaturated_Returns503WithRetryAfter() throws Exception {
+        // Arrange: the gate's exception arrives wrapped, as it does when a transaction cannot start
+        UUID id = UUID.randomUUID();
+        DatabaseBusyException busy = new DatabaseBusyException("Database is at capacity, retry later", Duration.ofMillis(1500));
+        when(bookService.getVersionedBookById(id)).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager", busy));
+
+        // Act & Assert
+        mockMvc.perform(get("/books/{bookId}", id))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "2"))
+            .andExpect(jsonPath("$.detail").value("Database is at capacity, retry later"));
+    }
+
+    @Test
+    void testGetBookById_MalformedId_Returns400() throws Exception {
+        mockMvc.perform(get("/books/{bookId}", "not-a-uuid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    // --------------------------------------
+    // Tests: PUT /books/{bookId}
+    // --------------------------------------
+
+    @Test
+    void testReplaceBook_IfMatch_PassesVersionAndReturnsNewEtag() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookRequest request = new BookRequest("Title", "Synopsis", "Author");
+        when(bookService.replaceBook(id, request, 3L)).thenReturn(versionedBook(id, 4L));
+
+        // Act & Assert
+        mockMvc.perform(put("/books/{bookId}", id)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Title\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+            .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    void testReplaceBook_NoIfMatch_ReplacesUnconditionally() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BookRequest request = new BookRequest("Title", "Synopsis", "Author");
+        when(bookService.replaceBook(id, request, null)).thenReturn(versionedBook(id, 4L));
+
+        // Act & Assert
+        mockMvc.perform(put("/books/{bookId}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Title\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testReplaceBook_WeakIfMatch_Returns412WithoutCallingService() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(put("/books/{bookId}", id)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Title\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andExpect(status().isPreconditionFailed());
+
+        verify(bookService, never()).replaceBook(any(), any(), any());
+    }
+
+    @Test
+    void testReplaceBook_ConcurrentUpdate_Returns409() throws Exception {
+        // Arrange: a writer committed between our version check and flush
+        UUID id = UUID.randomUUID();
+        BookRequest request = new BookRequest("Title", "Synopsis", "Author");
+        when(bookService.replaceBook(id, request, null)).thenThrow(new ObjectOptimisticLockingFailureException("Book", id));
+
+        // Act & Assert
+        mockMvc.perform(put("/books/{bookId}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Title\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andExpect(status().isConflict());
+    }
+
+    // --------------------------------------
+    // Tests: DELETE /books/{bookId} and POST /books/bulk-delete
+    // --------------------------------------
+
+    @Test
+    void testDeleteBookById_Returns204() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(delete("/books/{bookId}", id))
+            .andExpect(status().isNoContent());
+
+        verify(bookService).deleteBookById(id);
+    }
+
+    @Test
+    void testDeleteBookById_Missing_Returns404() throws Exception {
+        UUID id = UUID.randomUUID();
+        doThrow(new ResourceNotFoundException("Book not found with id: " + id)).when(bookService).deleteBookById(id);
+
+        mockMvc.perform(delete("/books/{bookId}", id))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteBookById_IfMatch_DeletesOnlyAtThatVersion() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(delete("/books/{bookId}", id).header(HttpHeaders.IF_MATCH, "\"3\""))
+            .andExpect(status().isNoContent());
+
+        verify(bookService).deleteBookByIdIfMatch(id, 3L);
+        verify(bookService, never()).deleteBookById(any());
+    }
+
+    @Test
+    void testDeleteBookById_IfMatchAny_DeletesUnconditionally() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(delete("/books/{bookId}", id).header(HttpHeaders.IF_MATCH, "*"))
+            .andExpect(status().isNoContent());
+
+        verify(bookService).deleteBookById(id);
+    }
+
+    @Test
+    void testDeleteBookById_IfMatchStale_Returns412() throws Exception {
+        UUID id = UUID.randomUUID();
+        doThrow(new PreconditionFailedException("Book " + id + " is not at version 3"))
+            .when(bookService).deleteBookByIdIfMatch(id, 3L);
+
+        mockMvc.perform(delete("/books/{bookId}", id).header(HttpHeaders.IF_MATCH, "\"3\""))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testDeleteBooks_ReturnsRequestedAndDeletedCounts() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(bookService.deleteBooksByIds(List.of(first, second))).thenReturn(1);
+
+        mockMvc.perform(post("/books/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + first + "\",\"" + second + "\"]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requested").value(2))
+            .andExpect(jsonPath("$.deleted").value(1));
+    }
+
+    // --------------------------------------
+    // Tests: POST /books/bulk-get
+    // --------------------------------------
+
+    @Test
+    void testGetBooks_ReturnsItemsAndMissingIds() throws Exception {
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(bookService.getBooksByIds(List.of(found, missing))).thenReturn(new BookBulkGetResponse(
+            List.of(new BookResponse(found, "Title", "Synopsis", "Author")), List.of(missing)
+        ));
+
+        mockMvc.perform(post("/books/bulk-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + found + "\",\"" + missing + "\"]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(found.toString()))
+            .andExpect(jsonPath("$.items[0].title").value("Title"))
+            .andExpect(jsonPath("$.missing[0]").value(missing.toString()));
+    }
+
+    @Test
+    void testGetBooks_TooManyIds_Returns400() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(bookService.getBooksByIds(List.of(id)))
+            .thenThrow(new IllegalArgumentException("Bulk get accepts at most 10000 ids"));
+
+        mockMvc.perform(post("/books/bulk-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + id + "\"]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    // --------------------------------------
+    // Tests: GET /books/search
+    // --------------------------------------
+
+    @Test
+    void testSearchBooks_PassesQueryAndPaging() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(bookService.searchBooks("hobbit", 20L, 10)).thenReturn(new BookListResponse(
+            null,
+            List.of(new BookResponse(id, "The Hobbit", "Synopsis", "J. R. R. Tolkien")),
+            null
+        ));
+
+        mockMvc.perform(get("/books/search").param("q", "hobbit").param("offset", "20").param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].title").value("The Hobbit"));
+    }
+
+    @Test
+    void testSearchBooks_MissingQuery_Returns400() throws Exception {
+        mockMvc.perform(get("/books/search"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static Book book(UUID id) {
+        return Book.builder().id(id).title("Title").synopsis("Synopsis").author("Author").build();
+    }
+
+    private static VersionedBook versionedBook(UUID id, long version) {
+        return new VersionedBook(new BookResponse(id, "Title", "Synopsis", "Author"), new BookVersion(version, MODIFIED_AT));
+    }
+}
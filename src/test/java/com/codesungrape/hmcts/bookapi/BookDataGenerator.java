@@ -0,0 +1,66 @@
+package com.codesungrape.hmcts.bookapi;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills a book table (V1-V4 columns) with synthetic rows, generated on the PostgreSQL server in chunks, so benchmarks
+ * can reach tens of millions of rows without streaming them through JDBC.
+ * Books are created one second apart from {@link #START}, with UUIDv7-shaped ids that follow created_at as
+ * BookIdGenerator's default ids do; one book in {@value #DELETED_EVERY} is soft-deleted a day after creation.
+ */
+final class BookDataGenerator {
+
+    static final OffsetDateTime START = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    static final int DELETED_EVERY = 20;
+
+    // Rows per INSERT ... SELECT, so a large fill is several moderate transactions rather than one huge one
+    private static final long CHUNK = 1_000_000;
+
+    // 48-bit millisecond timestamp, version 7, then 12 + 60 bits from md5(g) for uniqueness
+    private static final String INSERT_SQL = """
+        INSERT INTO %s (id, title, synopsis, author, deleted, created_at, modified_at, version)
+        SELECT (lpad(to_hex((extract(epoch FROM t.created_at) * 1000)::bigint), 12, '0')
+                    || '7' || substr(t.h, 1, 3) || '8' || substr(t.h, 4, 15))::uuid,
+               'Title ' || t.g,
+               'Synopsis of book ' || t.g || '. ' || repeat('A story of journeys, letters and winter storms. ', 4),
+               'Author ' || (t.g %% 50000),
+               t.g %% %d = 0,
+               t.created_at,
+               CASE WHEN t.g %% %d = 0 THEN t.created_at + INTERVAL '1 day' END,
+               0
+        FROM (SELECT g, md5(g::text) AS h, CAST(? AS timestamptz) + g * INTERVAL '1 second' AS created_at
+              FROM generate_series(?::bigint, ?::bigint) AS g) t
+        """;
+
+    private BookDataGenerator() {
+        // Utility class
+    }
+
+    /**
+     * Inserts rows 1..rows into the table and refreshes its planner statistics.
+     *
+     * @param table table name, optionally schema-qualified
+     */
+    static void generate(JdbcTemplate jdbcTemplate, String table, long rows) {
+        String sql = INSERT_SQL.formatted(table, DELETED_EVERY, DELETED_EVERY);
+        for (long from = 1; from <= rows; from += CHUNK) {
+            jdbcTemplate.update(sql, START, from, Math.min(rows, from + CHUNK - 1));
+        }
+        jdbcTemplate.execute("ANALYZE " + table);
+    }
+
+    /**
+     * Ids of randomly chosen live books.
+     */
+    static List<UUID> liveIds(JdbcTemplate jdbcTemplate, String table, int count) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM " + table + " WHERE deleted = false ORDER BY random() LIMIT ?", UUID.class, count
+        );
+    }
+}
@@ -0,0 +1,157 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.BookOutboxProperties;
+import com.codesungrape.hmcts.bookapi.dto.BookChangeResponse;
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.entity.BookFeedHead;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookFeedHeadRepository;
+import com.codesungrape.hmcts.bookapi.service.BookEventPublisher;
+import com.codesungrape.hmcts.bookapi.service.BookEventSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookEventPublisher: batching, feed positions, sink delivery, publish stamps and failure handling.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookEventPublisherTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private BookEventRepository testBookEventRepository;
+
+    @Mock
+    private BookFeedHeadRepository testBookFeedHeadRepository;
+
+    @Mock
+    private BookEventSink testSink;
+
+    @Mock
+    private PlatformTransactionManager testTransactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookEventPublisher testPublisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BookOutboxProperties properties = new BookOutboxProperties(true, Duration.ofMillis(500), BATCH_SIZE, Duration.ofSeconds(1));
+        testPublisher = new BookEventPublisher(
+            testBookEventRepository,
+            testBookFeedHeadRepository,
+            List.of(testSink),
+            new TransactionTemplate(testTransactionManager),
+            properties,
+            meterRegistry
+        );
+    }
+
+    private static List<BookEvent> events(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new BookEvent(UUID.randomUUID(), UUID.randomUUID(), BookEventType.DELETED, null, Instant.now(), null, null))
+            .toList();
+    }
+
+    private BookFeedHead headAt(long lastPosition) {
+        BookFeedHead head = new BookFeedHead(BookFeedHead.ID, lastPosition);
+        when(testBookFeedHeadRepository.lockById(BookFeedHead.ID)).thenReturn(Optional.of(head));
+        return head;
+    }
+
+    @Test
+    void testDrain_EmptyOutbox_PublishesNothing() {
+        headAt(7L);
+        when(testBookEventRepository.claimUnpublished(BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, testPublisher.drain());
+
+        verify(testSink, never()).publish(anyList());
+        verify(testBookEventRepository, never()).saveAll(anyList());
+        verify(testBookFeedHeadRepository, never()).save(any());
+    }
+
+    @Test
+    void testDrain_FullBatches_KeepsClaimingUntilAShortBatch() {
+        // Arrange: 2 + 2 + 1 events
+        BookFeedHead head = headAt(7L);
+        List<BookEvent> first = events(2);
+        List<BookEvent> second = events(2);
+        List<BookEvent> last = events(1);
+        when(testBookEventRepository.claimUnpublished(BATCH_SIZE)).thenReturn(first, second, last);
+
+        // Act
+        int published = testPublisher.drain();
+
+        // Assert: each batch is positioned after the last, delivered, stamped and committed in its own transaction
+        assertEquals(5, published);
+        assertEquals(List.of(8L, 9L, 10L, 11L, 12L),
+            Stream.of(first, second, last).flatMap(List::stream).map(BookEvent::getFeedPosition).toList());
+        assertTrue(Stream.of(first, second, last).flatMap(List::stream).allMatch(event -> event.getPublishedAt() != null));
+        assertEquals(12L, head.getLastPosition());
+        verify(testSink).publish(first.stream().map(BookChangeResponse::from).toList());
+        verify(testBookEventRepository).saveAll(last);
+        verify(testBookFeedHeadRepository, times(3)).lockById(BookFeedHead.ID);
+        verify(testBookFeedHeadRepository, times(3)).save(head);
+        verify(testTransactionManager, times(3)).commit(any());
+        assertEquals(5, meterRegistry.get("bookapi.outbox.lag").timer().count());
+    }
+
+    @Test
+    void testDrain_NoFeedHeadYet_CreatesItAtTheStart() {
+        // Arrange
+        when(testBookFeedHeadRepository.lockById(BookFeedHead.ID)).thenReturn(Optional.empty());
+        when(testBookFeedHeadRepository.saveAndFlush(any(BookFeedHead.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        List<BookEvent> batch = events(1);
+        when(testBookEventRepository.claimUnpublished(BATCH_SIZE)).thenReturn(batch);
+
+        // Act
+        testPublisher.drain();
+
+        // Assert
+        assertEquals(1L, batch.get(0).getFeedPosition());
+    }
+
+    @Test
+    void testDrain_SinkFails_RollsBackWithoutMarkingPublished() {
+        // Arrange
+        headAt(0L);
+        when(testBookEventRepository.claimUnpublished(anyInt())).thenReturn(events(1));
+        doThrow(new IllegalStateException("broker down")).when(testSink).publish(anyList());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> testPublisher.drain());
+
+        verify(testBookEventRepository, never()).saveAll(anyList());
+        verify(testBookFeedHeadRepository, never()).save(any());
+        verify(testTransactionManager).rollback(any());
+    }
+}
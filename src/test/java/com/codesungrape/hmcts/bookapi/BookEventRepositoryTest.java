@@ -0,0 +1,116 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.entity.BookFeedHead;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookFeedHeadRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Repository tests for the book outbox (claiming, the change feed and its head) against H2.
+ */
+@DataJpaTest
+class BookEventRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private BookEventRepository bookEventRepository;
+
+    @Autowired
+    private BookFeedHeadRepository bookFeedHeadRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Seeds through JDBC so created_at can be controlled (@PrePersist would overwrite it); positioned events are published
+    private UUID insertEvent(int secondsAfterBase, Long feedPosition) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+            "INSERT INTO book_outbox (id, book_id, event_type, payload, created_at, published_at, feed_position) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            id, UUID.randomUUID(), BookEventType.DELETED.name(), null,
+            BASE.plusSeconds(secondsAfterBase).atOffset(ZoneOffset.UTC),
+            feedPosition == null ? null : BASE.atOffset(ZoneOffset.UTC),
+            feedPosition
+        );
+        return id;
+    }
+
+    private static List<UUID> ids(List<BookEvent> events) {
+        return events.stream().map(BookEvent::getId).toList();
+    }
+
+    @Test
+    void testClaimUnpublished_OldestUnpublishedFirst() {
+        // Arrange
+        UUID second = insertEvent(2, null);
+        UUID first = insertEvent(1, null);
+        insertEvent(0, 1L); // already published
+
+        // Act
+        List<BookEvent> claimed = bookEventRepository.claimUnpublished(10);
+
+        // Assert
+        assertEquals(List.of(first, second), ids(claimed));
+        assertEquals(List.of(first), ids(bookEventRepository.claimUnpublished(1)));
+    }
+
+    @Test
+    void testFindFeedPageAfter_WalksPositionsAndSkipsUnpublishedEvents() {
+        // Arrange: the feed follows publish order, not created_at
+        UUID first = insertEvent(5, 1L);
+        UUID second = insertEvent(1, 2L);
+        UUID third = insertEvent(3, 3L);
+        insertEvent(0, null); // committed, not yet published
+
+        // Act
+        List<BookEvent> page1 = bookEventRepository.findFeedPageAfter(0L, 2);
+        List<BookEvent> page2 = bookEventRepository.findFeedPageAfter(page1.get(1).getFeedPosition(), 2);
+
+        // Assert
+        assertEquals(List.of(first, second), ids(page1));
+        assertEquals(List.of(third), ids(page2));
+    }
+
+    @Test
+    void testLockById_ReturnsTheFeedHead() {
+        // Arrange
+        bookFeedHeadRepository.saveAndFlush(new BookFeedHead(BookFeedHead.ID, 42L));
+
+        // Act
+        Optional<BookFeedHead> head = bookFeedHeadRepository.lockById(BookFeedHead.ID);
+
+        // Assert
+        assertEquals(42L, head.orElseThrow().getLastPosition());
+    }
+
+    @Test
+    void testLockLiveIds_ReturnsOnlyLiveBooksAmongIds() {
+        // Arrange
+        Book live = bookRepository.saveAndFlush(Book.builder().title("Live").synopsis("S").author("A").build());
+        Book deleted = bookRepository.saveAndFlush(Book.builder().title("Gone").synopsis("S").author("A").deleted(true).build());
+
+        // Act
+        List<UUID> locked = bookRepository.lockLiveIds(List.of(live.getId(), deleted.getId(), UUID.randomUUID()));
+
+        // Assert
+        assertEquals(List.of(live.getId()), locked);
+    }
+}
@@ -0,0 +1,42 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for parsing the `fields` list parameter.
+ */
+class BookFieldTest {
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  "})
+    void testParse_Missing_SelectsAllFields(String fields) {
+        assertEquals(BookField.ALL, BookField.parse(fields));
+    }
+
+    @Test
+    void testParse_IgnoresIdCaseAndBlanks() {
+        assertEquals(EnumSet.of(BookField.TITLE, BookField.AUTHOR), BookField.parse(" ID, Title,,author "));
+    }
+
+    @Test
+    void testParse_OnlyId_SelectsNoOptionalFields() {
+        assertEquals(EnumSet.noneOf(BookField.class), BookField.parse("id"));
+    }
+
+    @Test
+    void testParse_UnknownField_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> BookField.parse("title, isbn"));
+
+        assertEquals("Unknown field: isbn", exception.getMessage());
+    }
+}
@@ -0,0 +1,67 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.BookIdGenerator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookIdGenerator configuration and output.
+ */
+class BookIdGeneratorTest {
+
+    private static BookIdGenerator initializedWith(Map<String, Object> settings) {
+        GeneratorCreationContext context = mock(GeneratorCreationContext.class);
+        ServiceRegistry registry = mock(ServiceRegistry.class);
+        ConfigurationService configuration = mock(ConfigurationService.class);
+        when(context.getServiceRegistry()).thenReturn(registry);
+        when(registry.requireService(ConfigurationService.class)).thenReturn(configuration);
+        when(configuration.getSettings()).thenReturn(settings);
+
+        BookIdGenerator generator = new BookIdGenerator();
+        generator.initialize(null, null, context);
+        return generator;
+    }
+
+    @Test
+    void testGenerate_DefaultsToVersion7() {
+        BookIdGenerator generator = initializedWith(new HashMap<>());
+
+        UUID id = (UUID) generator.generate(null, null, null, EventType.INSERT);
+
+        assertEquals(BookIdGenerator.UuidVersion.V7, generator.getVersion());
+        assertEquals(7, id.version());
+        assertTrue(generator.getEventTypes().contains(EventType.INSERT));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"v4, 4", "V7, 7", "' v4 ', 4"})
+    void testGenerate_UsesConfiguredVersion(String configured, int expectedVersion) {
+        BookIdGenerator generator = initializedWith(Map.of(BookIdGenerator.UUID_VERSION_SETTING, configured));
+
+        UUID id = (UUID) generator.generate(null, null, null, EventType.INSERT);
+
+        assertEquals(expectedVersion, id.version());
+    }
+
+    @Test
+    void testInitialize_UnsupportedVersion_ThrowsException() {
+        Map<String, Object> settings = Map.of(BookIdGenerator.UUID_VERSION_SETTING, "v1");
+
+        assertThrows(IllegalArgumentException.class, () -> initializedWith(settings));
+    }
+}
@@ -0,0 +1,296 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.BookCacheProperties;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.QueryCounter;
+import com.codesungrape.hmcts.bookapi.service.BookCache;
+import com.codesungrape.hmcts.bookapi.service.BookLoader;
+import com.codesungrape.hmcts.bookapi.service.BookOutbox;
+import com.codesungrape.hmcts.bookapi.service.BookSearchIndex;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.InMemoryBookCacheInvalidationBus;
+import com.codesungrape.hmcts.bookapi.service.VersionedBook;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookLoader. The dispatcher is a mock, so each test fires the batching tick itself;
+ * the last test runs the loader on its own real pool.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookLoaderTest {
+
+    @Mock
+    private BookRepository testBookRepository;
+
+    @Mock
+    private ScheduledExecutorService testDispatcher;
+
+    private BookLoader testLoader;
+
+    @BeforeEach
+    void setUp() {
+        testLoader = new BookLoader(testBookRepository, testDispatcher);
+    }
+
+    private static Book book(UUID id) {
+        return Book.builder()
+            .id(id)
+            .title("Title " + id)
+            .synopsis("Synopsis")
+            .author("Author")
+            .version(0L)
+            .createdAt(Instant.EPOCH)
+            .build();
+    }
+
+    // Answers findLiveByIds with a live book for every requested id except the given missing ones
+    private void booksExistExcept(UUID... missing) {
+        Set<UUID> unknown = Set.of(missing);
+        when(testBookRepository.findLiveByIds(any())).thenAnswer(invocation -> {
+            UUID[] ids = invocation.getArgument(0);
+            return Arrays.stream(ids).filter(id -> !unknown.contains(id)).map(BookLoaderTest::book).toList();
+        });
+    }
+
+    // Fires the most recently scheduled tick, as the dispatcher would after TICK_MILLIS
+    private void tick() {
+        ArgumentCaptor<Runnable> ticks = ArgumentCaptor.forClass(Runnable.class);
+        verify(testDispatcher, atLeastOnce()).schedule(ticks.capture(), eq(1L), eq(TimeUnit.MILLISECONDS));
+        ticks.getValue().run();
+    }
+
+    // ---- Tests: batching ----
+
+    @Test
+    void testLoad_SameTick_ResolvedByOneQuery() {
+        // Arrange
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        booksExistExcept(missing);
+
+        // Act
+        CompletableFuture<Optional<VersionedBook>> first = testLoader.load(found);
+        CompletableFuture<Optional<VersionedBook>> second = testLoader.load(missing);
+        assertFalse(first.isDone(), "Nothing is queried before the tick");
+        tick();
+
+        // Assert
+        ArgumentCaptor<UUID[]> ids = ArgumentCaptor.forClass(UUID[].class);
+        verify(testBookRepository, times(1)).findLiveByIds(ids.capture());
+        assertEquals(List.of(found, missing), List.of(ids.getValue()));
+        assertEquals(found, first.join().orElseThrow().book().id());
+        assertTrue(second.join().isEmpty());
+    }
+
+    @Test
+    void testLoad_SameIdTwiceInOneTick_SharesOneFuture() {
+        UUID bookId = UUID.randomUUID();
+
+        assertSame(testLoader.load(bookId), testLoader.load(bookId));
+    }
+
+    @Test
+    void testLoad_AfterTick_OpensNewBatch() {
+        // Arrange
+        booksExistExcept();
+        UUID bookId = UUID.randomUUID();
+        testLoader.load(bookId);
+        tick();
+
+        // Act
+        CompletableFuture<Optional<VersionedBook>> again = testLoader.load(bookId);
+        tick();
+
+        // Assert: the loader remembers nothing, so the id is queried again
+        assertTrue(again.join().isPresent());
+        verify(testBookRepository, times(2)).findLiveByIds(any());
+        verify(testDispatcher, times(2)).schedule(any(Runnable.class), eq(1L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testLoad_FullBatch_SentWithoutWaitingForTick() {
+        // Arrange
+        booksExistExcept();
+        List<CompletableFuture<Optional<VersionedBook>>> loads = new ArrayList<>();
+        IntStream.range(0, 1000).forEach(i -> loads.add(testLoader.load(UUID.randomUUID())));
+
+        // Act: the full batch went to the dispatcher straight away
+        ArgumentCaptor<Runnable> send = ArgumentCaptor.forClass(Runnable.class);
+        verify(testDispatcher).execute(send.capture());
+        send.getValue().run();
+
+        // Assert: its tick finds nothing left to send
+        tick();
+        verify(testBookRepository, times(1)).findLiveByIds(any());
+        assertTrue(loads.stream().allMatch(load -> load.join().isPresent()));
+    }
+
+    @Test
+    void testLoad_QueryFails_CompletesExceptionallyAndRetriesNextTime() {
+        // Arrange
+        UUID bookId = UUID.randomUUID();
+        IllegalStateException failure = new IllegalStateException("database down");
+        when(testBookRepository.findLiveByIds(any())).thenThrow(failure).thenReturn(List.of(book(bookId)));
+
+        // Act
+        CompletableFuture<Optional<VersionedBook>> failed = testLoader.load(bookId);
+        tick();
+        CompletableFuture<Optional<VersionedBook>> retried = testLoader.load(bookId);
+        tick();
+
+        // Assert
+        CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+        assertSame(failure, thrown.getCause());
+        assertEquals(bookId, retried.join().orElseThrow().book().id());
+    }
+
+    @Test
+    void testLoad_QueryIsCountedAgainstTheRequestThatOpenedTheBatch() {
+        // Arrange: the statement is counted on whichever thread runs the query
+        UUID bookId = UUID.randomUUID();
+        when(testBookRepository.findLiveByIds(any())).thenAnswer(invocation -> {
+            QueryCounter.increment();
+            return List.of(book(bookId));
+        });
+        QueryCounter request = QueryCounter.start();
+        try {
+            testLoader.load(bookId);
+            request.stop();
+
+            // Act: the tick runs on a thread that counts nothing of its own
+            tick();
+
+            // Assert
+            assertEquals(1, request.count());
+            assertNull(QueryCounter.current(), "The tick thread's own counter is restored");
+        } finally {
+            request.stop();
+        }
+    }
+
+    @Test
+    void testLoad_NullId_ThrowsException() {
+        assertThrows(NullPointerException.class, () -> testLoader.load(null));
+        verify(testDispatcher, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void testDestroy_ShutsDownDispatcher() {
+        testLoader.destroy();
+
+        verify(testDispatcher).shutdownNow();
+    }
+
+    // ---- Tests: through the cache and the service ----
+
+    @Test
+    void testGetBookById_ConcurrentMisses_IssueOneQuery() throws InterruptedException {
+        // Arrange: a real cache whose misses go to the loader, as wired in the application
+        booksExistExcept();
+        BookCache cache = new BookCache(
+            new BookCacheProperties(100, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+            new InMemoryBookCacheInvalidationBus(),
+            new SimpleMeterRegistry()
+        );
+        BookService service = new BookService(
+            testBookRepository, mock(EntityManager.class), new ObjectMapper(), mock(TransactionTemplate.class),
+            cache, testLoader, mock(BookSearchIndex.class), mock(BookOutbox.class)
+        );
+        List<UUID> ids = IntStream.range(0, 8).mapToObj(i -> UUID.randomUUID()).toList();
+        ConcurrentHashMap<UUID, BookResponse> responses = new ConcurrentHashMap<>();
+        // Readers spin rather than park until released, so a parked reader is one waiting for its book
+        AtomicBoolean go = new AtomicBoolean();
+        List<Thread> readers = ids.stream()
+            .map(id -> Thread.ofPlatform().start(() -> {
+                while (!go.get()) {
+                    Thread.onSpinWait();
+                }
+                responses.put(id, service.getBookById(id));
+            }))
+            .toList();
+
+        // Act: every reader queues its id and parks on the shared batch, then the tick fires once
+        go.set(true);
+        awaitParked(readers);
+        tick();
+        for (Thread reader : readers) {
+            reader.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        // Assert
+        verify(testDispatcher, times(1)).schedule(any(Runnable.class), eq(1L), eq(TimeUnit.MILLISECONDS));
+        verify(testBookRepository, times(1)).findLiveByIds(any());
+        assertEquals(ids.size(), responses.size());
+        ids.forEach(id -> assertEquals(id, responses.get(id).id()));
+    }
+
+    // Waits until every reader is parked, i.e. has queued its id and is waiting for the batch
+    private static void awaitParked(List<Thread> readers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (readers.stream().anyMatch(reader -> reader.getState() != Thread.State.WAITING) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(readers.stream().allMatch(reader -> reader.getState() == Thread.State.WAITING));
+    }
+
+    @Test
+    void testLoad_OwnPool_ResolvesAfterTick() {
+        // Arrange
+        UUID bookId = UUID.randomUUID();
+        when(testBookRepository.findLiveByIds(any())).thenReturn(List.of(book(bookId)));
+        BookLoader pooled = new BookLoader(testBookRepository);
+
+        try {
+            // Act
+            Optional<VersionedBook> loaded = pooled.load(bookId).orTimeout(5, TimeUnit.SECONDS).join();
+
+            // Assert
+            assertEquals(bookId, loaded.orElseThrow().book().id());
+        } finally {
+            pooled.destroy();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.BookEvent;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.repository.BookEventRepository;
+import com.codesungrape.hmcts.bookapi.service.BookOutbox;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for BookOutbox: the events it writes and their payloads.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookOutboxTest {
+
+    @Mock
+    private BookEventRepository testBookEventRepository;
+
+    @Spy
+    private ObjectMapper testObjectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BookOutbox testBookOutbox;
+
+    private final Book book = Book.builder()
+        .id(UUID.randomUUID())
+        .title("Title")
+        .synopsis("Synopsis")
+        .author("Author")
+        .build();
+
+    @Test
+    void testRecord_WritesEventWithBookOutputPayload() throws JsonProcessingException {
+        // Act
+        testBookOutbox.record(BookEventType.UPDATED, book);
+
+        // Assert
+        ArgumentCaptor<BookEvent> captor = ArgumentCaptor.forClass(BookEvent.class);
+        verify(testBookEventRepository).save(captor.capture());
+        BookEvent event = captor.getValue();
+        assertEquals(book.getId(), event.getBookId());
+        assertEquals(BookEventType.UPDATED, event.getType());
+        assertEquals(BookResponse.from(book), testObjectMapper.readValue(event.getPayload(), BookResponse.class));
+        assertNull(event.getPublishedAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordAll_WritesOneEventPerBook() {
+        // Act
+        testBookOutbox.recordAll(BookEventType.CREATED, List.of(book, book));
+
+        // Assert
+        ArgumentCaptor<List<BookEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(testBookEventRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(BookEventType.CREATED, captor.getValue().get(0).getType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordDeleted_WritesEventsWithoutPayload() {
+        // Arrange
+        UUID other = UUID.randomUUID();
+
+        // Act
+        testBookOutbox.recordDeleted(List.of(book.getId(), other));
+
+        // Assert
+        ArgumentCaptor<List<BookEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(testBookEventRepository).saveAll(captor.capture());
+        List<BookEvent> events = captor.getValue();
+        assertEquals(List.of(book.getId(), other), events.stream().map(BookEvent::getBookId).toList());
+        assertEquals(BookEventType.DELETED, events.get(1).getType());
+        assertNull(events.get(0).getPayload());
+    }
+
+    @Test
+    void testRecord_UnserialisableBook_ThrowsIllegalState() throws JsonProcessingException {
+        // Arrange
+        doThrow(new JsonProcessingException("boom") { }).when(testObjectMapper).writeValueAsString(any());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> testBookOutbox.record(BookEventType.CREATED, book));
+    }
+}
@@ -0,0 +1,171 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.UuidV7;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookProjectionRepositoryImpl;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Plain against hash-partitioned book table (V9 migration), both built by the real Flyway migrations in their own
+ * schema and filled by {@link BookDataGenerator}: by-id lookups, batched inserts and keyset listing pages, plus a
+ * check that a by-id lookup is pruned to one partition.
+ * PostgreSQL only: set BENCHMARK_JDBC_URL/USER/PASSWORD; skipped on the default H2 database.
+ * BENCHMARK_BOOK_ROWS sets the table size (default 1,000,000). Tagged "benchmark": run with `./gradlew benchmark`.
+ */
+@Tag("benchmark")
+class BookPartitioningBenchmarkTest {
+
+    private static final String PLAIN = "bench_book_plain";
+    private static final String PARTITIONED = "bench_book_hash";
+    private static final int PARTITIONS = 16;
+
+    private static final long ROWS = Long.parseLong(System.getenv().getOrDefault("BENCHMARK_BOOK_ROWS", "1000000"));
+    private static final int LOOKUPS = 20_000;
+    private static final int INSERT_ROWS = 50_000;
+    // Same as spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int INSERT_BATCH = 100;
+    private static final int PAGES = 2_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String LOOKUP_SQL = "SELECT * FROM %s.book WHERE id = ? AND deleted = false";
+    private static final String INSERT_SQL = "INSERT INTO %s.book (id, title, synopsis, author, deleted, created_at, version) "
+        + "VALUES (?, ?, ?, ?, false, ?, 0)";
+
+    private static void migrate(JdbcTemplate jdbcTemplate, String schema, int partitions) {
+        Flyway flyway = Flyway.configure()
+            .dataSource(jdbcTemplate.getDataSource())
+            .schemas(schema)
+            .placeholders(Map.of("book-hash-partitions", Integer.toString(partitions)))
+            .cleanDisabled(false)
+            .load();
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    /**
+     * Partitions of book the plan reads for a lookup of this id.
+     */
+    private static long partitionsScanned(JdbcTemplate jdbcTemplate, String schema, UUID id) {
+        List<String> plan = jdbcTemplate.queryForList(
+            "EXPLAIN " + LOOKUP_SQL.formatted(schema).replace("?", "'" + id + "'"), String.class
+        );
+        return plan.stream().filter(line -> line.contains(" on book_p")).count();
+    }
+
+    private static double lookupMicros(JdbcTemplate jdbcTemplate, String schema, List<UUID> ids) {
+        return Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Double>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(LOOKUP_SQL.formatted(schema))) {
+                long start = System.nanoTime();
+                for (UUID id : ids) {
+                    statement.setObject(1, id);
+                    try (ResultSet row = statement.executeQuery()) {
+                        row.next();
+                    }
+                }
+                return (System.nanoTime() - start) / 1_000.0 / ids.size();
+            }
+        }));
+    }
+
+    private static double insertMicros(JdbcTemplate jdbcTemplate, String schema) {
+        return Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Double>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL.formatted(schema))) {
+                long start = System.nanoTime();
+                for (int i = 0; i < INSERT_ROWS; i++) {
+                    statement.setObject(1, UuidV7.next());
+                    statement.setString(2, "Inserted " + i);
+                    statement.setString(3, "Synopsis");
+                    statement.setString(4, "Author");
+                    statement.setTimestamp(5, Timestamp.from(Instant.now()));
+                    statement.addBatch();
+                    if ((i + 1) % INSERT_BATCH == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                return (System.nanoTime() - start) / 1_000.0 / INSERT_ROWS;
+            }
+        }));
+    }
+
+    /**
+     * Keyset pages (the service's projection query, all fields) starting at evenly spread positions through the table.
+     */
+    private static double keysetPageMicros(JdbcTemplate jdbcTemplate, String schema) {
+        String sql = BookProjectionRepositoryImpl.projectionSql(BookField.ALL, BookRepository.LIVE_PAGE_AFTER_FROM)
+            .replace(" FROM book ", " FROM " + schema + ".book ")
+            .replace(":createdAt", "?").replace(":id", "?").replace(":limit", "?");
+        return Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Double>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                long start = System.nanoTime();
+                for (int i = 0; i < PAGES; i++) {
+                    Timestamp cursor = Timestamp.from(BookDataGenerator.START.toInstant().plusSeconds(ROWS * i / PAGES));
+                    statement.setTimestamp(1, cursor);
+                    statement.setTimestamp(2, cursor);
+                    statement.setObject(3, new UUID(0, 0));
+                    statement.setInt(4, PAGE_SIZE);
+                    try (ResultSet page = statement.executeQuery()) {
+                        while (page.next()) {
+                            page.getObject(1);
+                        }
+                    }
+                }
+                return (System.nanoTime() - start) / 1_000.0 / PAGES;
+            }
+        }));
+    }
+
+    private static String measure(JdbcTemplate jdbcTemplate, String schema, List<UUID> ids) {
+        // Warm-up pass over the same statements, then the measured one
+        lookupMicros(jdbcTemplate, schema, ids);
+        keysetPageMicros(jdbcTemplate, schema);
+        return String.format(
+            "%s: lookup by id %,.1f us | insert %,.1f us/row (batches of %d) | keyset page of %d %,.1f us | table %s",
+            schema,
+            lookupMicros(jdbcTemplate, schema, ids),
+            insertMicros(jdbcTemplate, schema),
+            INSERT_BATCH,
+            PAGE_SIZE,
+            keysetPageMicros(jdbcTemplate, schema),
+            jdbcTemplate.queryForObject(
+                "SELECT pg_size_pretty(sum(pg_total_relation_size(c.oid))) FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                    + "WHERE n.nspname = ? AND c.relkind = 'r' AND (c.relname = 'book' OR c.relname ~ '^book_p[0-9]+$')", String.class, schema)
+        );
+    }
+
+    @Test
+    void benchmarkHashPartitionedAgainstPlainBookTable() {
+        JdbcTemplate jdbcTemplate = BenchmarkDatabase.jdbcTemplate();
+        Assumptions.assumeTrue(BenchmarkDatabase.isPostgres(jdbcTemplate), "Declarative partitioning needs PostgreSQL");
+
+        migrate(jdbcTemplate, PLAIN, 0);
+        migrate(jdbcTemplate, PARTITIONED, PARTITIONS);
+        BookDataGenerator.generate(jdbcTemplate, PLAIN + ".book", ROWS);
+        BookDataGenerator.generate(jdbcTemplate, PARTITIONED + ".book", ROWS);
+        // Same generator, same ids in both tables
+        List<UUID> ids = BookDataGenerator.liveIds(jdbcTemplate, PLAIN + ".book", LOOKUPS);
+
+        assertEquals(0, partitionsScanned(jdbcTemplate, PLAIN, ids.get(0)));
+        assertEquals(1, partitionsScanned(jdbcTemplate, PARTITIONED, ids.get(0)));
+
+        System.out.printf("%,d books, %d hash partitions%n", ROWS, PARTITIONS);
+        System.out.println(measure(jdbcTemplate, PLAIN, ids));
+        System.out.println(measure(jdbcTemplate, PARTITIONED, ids));
+    }
+}
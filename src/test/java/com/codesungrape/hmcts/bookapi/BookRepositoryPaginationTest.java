@@ -0,0 +1,145 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookProjection;
+import com.codesungrape.hmcts.bookapi.repository.BookProjectionRepositoryImpl;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for paginated listing against H2 (PostgreSQL-compatible SQL), through the projection queries
+ * the service runs. Uses H2's EXPLAIN ANALYZE scan counts as a portable proxy for query cost.
+ */
+@DataJpaTest
+class BookRepositoryPaginationTest {
+
+    private static final int TOTAL_BOOKS = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // H2 has no partial indexes; this is the V2 migration index without its WHERE clause
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_book_live_created_at_id ON book (created_at, id)");
+
+        // Bulk seed through JDBC so created_at can be controlled (@PrePersist would overwrite it)
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TOTAL_BOOKS; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            rows.add(new Object[] {id, "Title " + i, "Synopsis " + i, "Author", i % 10 == 0, createdAt(i)});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO book (id, title, synopsis, author, deleted, created_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)",
+            rows
+        );
+    }
+
+    private static OffsetDateTime createdAt(int index) {
+        return EPOCH.plusSeconds(index).atOffset(ZoneOffset.UTC);
+    }
+
+    private long explainScanCount(String from, MapSqlParameterSource params) {
+        String sql = BookProjectionRepositoryImpl.projectionSql(BookField.ALL, from);
+        String plan = namedJdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, params, String.class);
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertTrue(matcher.find(), "Expected a scanCount in plan: " + plan);
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private long keysetScanCountAfter(int index) {
+        return explainScanCount(BookRepository.LIVE_PAGE_AFTER_FROM, new MapSqlParameterSource()
+            .addValue("createdAt", createdAt(index))
+            .addValue("id", ids.get(index))
+            .addValue("limit", PAGE_SIZE));
+    }
+
+    private long offsetScanCountAt(long offset) {
+        return explainScanCount(BookRepository.LIVE_PAGE_FROM, new MapSqlParameterSource()
+            .addValue("offset", offset)
+            .addValue("limit", PAGE_SIZE));
+    }
+
+    // --------------------------------------
+    // Tests: query cost by page depth
+    // --------------------------------------
+
+    @Test
+    void testKeysetPage_ScanCountStaysFlatAsDepthGrows() {
+        long shallow = keysetScanCountAfter(PAGE_SIZE);
+        long middle = keysetScanCountAfter(TOTAL_BOOKS / 2);
+        long deep = keysetScanCountAfter(TOTAL_BOOKS - 4 * PAGE_SIZE);
+
+        // Only the page itself (plus a few soft-deleted rows skipped in-range) should be touched
+        assertTrue(shallow < 2L * PAGE_SIZE, "Shallow keyset page scanned " + shallow + " rows");
+        assertTrue(Math.abs(deep - shallow) <= PAGE_SIZE / 4, "shallow=" + shallow + ", deep=" + deep);
+        assertTrue(Math.abs(middle - shallow) <= PAGE_SIZE / 4, "shallow=" + shallow + ", middle=" + middle);
+    }
+
+    @Test
+    void testOffsetPage_ScanCountGrowsWithDepth() {
+        // Contrast: offset paging has to walk every skipped row
+        long shallow = offsetScanCountAt(0);
+        long deep = offsetScanCountAt(TOTAL_BOOKS / 2);
+
+        assertTrue(deep > 10 * shallow, "shallow=" + shallow + ", deep=" + deep);
+    }
+
+    // --------------------------------------
+    // Tests: page contents
+    // --------------------------------------
+
+    @Test
+    void testKeysetPages_WalkAllLiveBooksInOrderWithoutGapsOrDuplicates() {
+        List<BookProjection> seen = new ArrayList<>(bookRepository.findLivePageProjection(BookField.ALL, 0, PAGE_SIZE));
+        while (true) {
+            BookProjection last = seen.get(seen.size() - 1);
+            List<BookProjection> next = bookRepository.findLivePageAfterProjection(BookField.ALL, last.createdAt(), last.id(), PAGE_SIZE);
+            if (next.isEmpty()) {
+                break;
+            }
+            seen.addAll(next);
+        }
+
+        assertEquals(bookRepository.countByDeletedFalse(), seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).createdAt().isBefore(seen.get(i).createdAt()));
+        }
+        // Every tenth seeded book is soft-deleted and must not be listed
+        Set<UUID> deleted = IntStream.range(0, TOTAL_BOOKS).filter(i -> i % 10 == 0).mapToObj(ids::get).collect(Collectors.toSet());
+        assertTrue(seen.stream().noneMatch(book -> deleted.contains(book.id())));
+    }
+}
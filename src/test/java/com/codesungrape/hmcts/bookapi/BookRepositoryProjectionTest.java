@@ -0,0 +1,96 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookProjection;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for the column projections behind GET /books, run against H2.
+ * A Hibernate StatementInspector records the SQL actually sent to the database.
+ */
+@DataJpaTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.codesungrape.hmcts.bookapi.BookRepositoryProjectionTest$RecordingInspector")
+class BookRepositoryProjectionTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            bookRepository.saveAndFlush(Book.builder()
+                .title("Title " + i)
+                .synopsis("A long synopsis " + i)
+                .author("Author " + i)
+                .build());
+        }
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testFindLivePageProjection_TitleAndAuthor_DoesNotSelectSynopsis() {
+        List<BookProjection> rows = bookRepository.findLivePageProjection(
+            EnumSet.of(BookField.TITLE, BookField.AUTHOR), 0, 10
+        );
+
+        assertEquals(3, rows.size());
+        assertEquals("Title 0", rows.get(0).title());
+        assertEquals("Author 0", rows.get(0).author());
+        assertNull(rows.get(0).synopsis());
+
+        String sql = lastStatement();
+        assertTrue(sql.startsWith("select id, created_at, title, author from book"), sql);
+        assertFalse(sql.contains("synopsis"), "synopsis TEXT column must not be read: " + sql);
+    }
+
+    @Test
+    void testFindLivePageAfterProjection_FollowsKeysetOrder() {
+        List<BookProjection> all = bookRepository.findLivePageProjection(BookField.ALL, 0, 10);
+        BookProjection first = all.get(0);
+
+        List<BookProjection> rest = bookRepository.findLivePageAfterProjection(
+            EnumSet.noneOf(BookField.class), first.createdAt(), first.id(), 10
+        );
+
+        assertEquals(all.subList(1, 3).stream().map(BookProjection::id).toList(),
+            rest.stream().map(BookProjection::id).toList());
+        assertNull(rest.get(0).title());
+        assertTrue(lastStatement().startsWith("select id, created_at from book"), lastStatement());
+    }
+
+    private static String lastStatement() {
+        List<String> statements = RecordingInspector.STATEMENTS;
+        return statements.get(statements.size() - 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Captures every SQL statement Hibernate prepares; instantiated by Hibernate from its class name.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
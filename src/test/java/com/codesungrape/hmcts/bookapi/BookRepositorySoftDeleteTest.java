@@ -0,0 +1,90 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for the conditional soft-delete UPDATE queries, and the live-only multi-get, against H2.
+ */
+@DataJpaTest
+class BookRepositorySoftDeleteTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Book saveLiveBook(String title) {
+        return bookRepository.saveAndFlush(Book.builder()
+            .title(title)
+            .synopsis("Synopsis")
+            .author("Author")
+            .build());
+    }
+
+    @Test
+    void testSoftDeleteById_UpdatesLiveRowOnceAndStampsModifiedAt() {
+        Book book = saveLiveBook("Title");
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        assertEquals(1, bookRepository.softDeleteById(book.getId(), now));
+        assertEquals(0, bookRepository.softDeleteById(book.getId(), now), "Second delete must be a no-op");
+
+        Book reloaded = bookRepository.findById(book.getId()).orElseThrow();
+        assertTrue(reloaded.isDeleted());
+        assertEquals(now, reloaded.getModifiedAt());
+        assertTrue(bookRepository.findByIdAndDeletedFalse(book.getId()).isEmpty());
+    }
+
+    @Test
+    void testSoftDeleteById_UnknownId_UpdatesNothing() {
+        UUID unknown = UUID.randomUUID();
+
+        assertEquals(0, bookRepository.softDeleteById(unknown, Instant.now()));
+        assertFalse(bookRepository.existsById(unknown));
+    }
+
+    @Test
+    void testSoftDeleteAllById_CountsOnlyRowsThatWereLive() {
+        Book first = saveLiveBook("First");
+        Book second = saveLiveBook("Second");
+        Book untouched = saveLiveBook("Untouched");
+        bookRepository.softDeleteById(second.getId(), Instant.now());
+
+        int deleted = bookRepository.softDeleteAllById(
+            List.of(first.getId(), second.getId(), UUID.randomUUID()),
+            Instant.now()
+        );
+
+        assertEquals(1, deleted);
+        assertEquals(1, bookRepository.countByDeletedFalse());
+        assertTrue(bookRepository.findByIdAndDeletedFalse(untouched.getId()).isPresent());
+    }
+
+    @Test
+    void testFindLiveByIds_ReturnsOnlyLiveBooksAmongTheIds() {
+        Book first = saveLiveBook("First");
+        Book second = saveLiveBook("Second");
+        Book deleted = saveLiveBook("Deleted");
+        saveLiveBook("Not asked for");
+        bookRepository.softDeleteById(deleted.getId(), Instant.now());
+
+        List<Book> found = bookRepository.findLiveByIds(
+            new UUID[] {second.getId(), deleted.getId(), UUID.randomUUID(), first.getId()}
+        );
+
+        assertEquals(Set.of(first.getId(), second.getId()), found.stream().map(Book::getId).collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for the @Version column behind ETags and If-Match, against H2.
+ */
+@DataJpaTest
+class BookRepositoryVersionTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Book saveLiveBook() {
+        return bookRepository.saveAndFlush(Book.builder()
+            .title("Title")
+            .synopsis("Synopsis")
+            .author("Author")
+            .build());
+    }
+
+    @Test
+    void testVersion_StartsAtZeroAndIncrementsOnUpdate() {
+        Book book = saveLiveBook();
+        assertEquals(0L, book.getVersion());
+
+        book.setTitle("New title");
+        Book updated = bookRepository.saveAndFlush(book);
+
+        assertEquals(1L, updated.getVersion());
+        assertNotNull(updated.getModifiedAt());
+    }
+
+    @Test
+    void testFindVersionById_ReturnsStampOfLiveBooksOnly() {
+        Book book = saveLiveBook();
+
+        BookVersion version = bookRepository.findVersionById(book.getId()).orElseThrow();
+        assertEquals(0L, version.version());
+        assertNotNull(version.lastModified(), "Never modified: falls back to created_at");
+
+        bookRepository.softDeleteById(book.getId(), Instant.now());
+        assertTrue(bookRepository.findVersionById(book.getId()).isEmpty());
+    }
+
+    @Test
+    void testSoftDeleteByIdAndVersion_OnlyDeletesAtExpectedVersion() {
+        Book book = saveLiveBook();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        assertEquals(0, bookRepository.softDeleteByIdAndVersion(book.getId(), 5L, now), "Stale version must not delete");
+        assertEquals(0, bookRepository.softDeleteByIdAndVersion(UUID.randomUUID(), 0L, now));
+        assertEquals(1, bookRepository.softDeleteByIdAndVersion(book.getId(), 0L, now));
+
+        // The delete itself is a change: it bumps the version so older ETags stop matching
+        Book deleted = bookRepository.findById(book.getId()).orElseThrow();
+        assertTrue(deleted.isDeleted());
+        assertEquals(1L, deleted.getVersion());
+    }
+}
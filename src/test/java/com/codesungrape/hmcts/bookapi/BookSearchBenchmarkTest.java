@@ -0,0 +1,85 @@
+package com.codesungrape.hmcts.bookapi;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Latency of ranked full-text search (tsvector + GIN, as in the V3 migration) at 1M rows.
+ * PostgreSQL only: set BENCHMARK_JDBC_URL/USER/PASSWORD; skipped on the default H2 database.
+ * Tagged "benchmark": run with `./gradlew benchmark`.
+ */
+@Tag("benchmark")
+class BookSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int RUNS_PER_QUERY = 200;
+    private static final String[] QUERIES = {"dragon", "dragon quest", "\"lost city\"", "ocean -storm", "zephyr"};
+
+    @Test
+    void benchmarkRankedSearchAtOneMillionRows() {
+        JdbcTemplate jdbcTemplate = BenchmarkDatabase.jdbcTemplate();
+        Assumptions.assumeTrue(BenchmarkDatabase.isPostgres(jdbcTemplate), "Full-text search needs PostgreSQL");
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_book_search");
+        jdbcTemplate.execute("""
+            CREATE TABLE bench_book_search (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                title VARCHAR(255) NOT NULL,
+                author VARCHAR(255) NOT NULL,
+                synopsis TEXT NOT NULL,
+                deleted BOOLEAN NOT NULL DEFAULT FALSE,
+                search_vector tsvector GENERATED ALWAYS AS (
+                    setweight(to_tsvector('english', coalesce(title, '')), 'A')
+                        || setweight(to_tsvector('english', coalesce(author, '')), 'B')
+                        || setweight(to_tsvector('english', coalesce(synopsis, '')), 'C')
+                ) STORED
+            )""");
+
+        // Synthetic catalogue: words drawn from a fixed vocabulary so term frequencies are realistic-ish
+        jdbcTemplate.update("""
+            INSERT INTO bench_book_search (title, author, synopsis, deleted)
+            SELECT
+                initcap(w[1 + (g % 97)] || ' ' || w[1 + (g * 7 % 89)]),
+                'Author ' || (g % 5000),
+                repeat(w[1 + (g * 13 % 83)] || ' ' || w[1 + (g * 31 % 79)] || ' of the ' || w[1 + (g % 71)] || '. ', 20),
+                g % 20 = 0
+            FROM generate_series(1, ?) AS g,
+                 (SELECT string_to_array(
+                     'dragon quest lost city ocean storm river mountain shadow crown empire garden winter summer '
+                     || 'ghost machine secret island forest desert star queen king thief soldier wizard night '
+                     || 'morning silver golden iron glass paper stone fire water wind earth light dark blood '
+                     || 'song war peace love death life dream memory journey return house door road bridge '
+                     || 'tower castle village harbour market school letter map clock mirror key book voice '
+                     || 'child mother father brother sister friend enemy stranger hunter keeper maker zephyr', ' ') AS w) v
+            """, ROWS);
+        jdbcTemplate.execute("CREATE INDEX bench_book_search_gin ON bench_book_search USING GIN (search_vector) "
+            + "WHERE deleted = FALSE");
+        jdbcTemplate.execute("ANALYZE bench_book_search");
+
+        String sql = "SELECT b.id FROM bench_book_search b, websearch_to_tsquery('english', ?) q "
+            + "WHERE b.deleted = false AND b.search_vector @@ q "
+            + "ORDER BY ts_rank(b.search_vector, q) DESC, b.id LIMIT 20";
+
+        for (String query : QUERIES) {
+            long[] nanos = new long[RUNS_PER_QUERY];
+            for (int i = 0; i < RUNS_PER_QUERY; i++) {
+                long start = System.nanoTime();
+                jdbcTemplate.queryForList(sql, query);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf(
+                "search %-16s p50=%6.2f ms  p99=%6.2f ms%n",
+                query,
+                nanos[RUNS_PER_QUERY / 2] / 1_000_000.0,
+                nanos[RUNS_PER_QUERY * 99 / 100] / 1_000_000.0
+            );
+        }
+
+        jdbcTemplate.execute("DROP TABLE bench_book_search");
+    }
+}
@@ -1,10 +1,27 @@
 package com.codesungrape.hmcts.bookapi;
 
+import com.codesungrape.hmcts.bookapi.dto.BookBulkGetResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookBulkResponse;
+import com.codesungrape.hmcts.bookapi.dto.BookListResponse;
 import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
 import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.BookEventType;
+import com.codesungrape.hmcts.bookapi.exception.PreconditionFailedException;
 import com.codesungrape.hmcts.bookapi.exception.ResourceNotFoundException;
+import com.codesungrape.hmcts.bookapi.repository.BookField;
+import com.codesungrape.hmcts.bookapi.repository.BookProjection;
 import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.BookVersion;
+import com.codesungrape.hmcts.bookapi.service.BookCache;
+import com.codesungrape.hmcts.bookapi.service.BookCursor;
+import com.codesungrape.hmcts.bookapi.service.BookLoader;
+import com.codesungrape.hmcts.bookapi.service.BookOutbox;
+import com.codesungrape.hmcts.bookapi.service.BookSearchIndex;
 import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.VersionedBook;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,21 +29,47 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -50,6 +93,33 @@ class BookServiceTest {
     @Mock
     private BookRepository testBookRepository;
 
+    // Arrange: streaming export detaches entities and serializes with a real ObjectMapper
+    @Mock
+    private EntityManager testEntityManager;
+
+    @Spy
+    private ObjectMapper testObjectMapper = new ObjectMapper();
+
+    // Arrange: bulk create runs each chunk through a programmatic transaction
+    @Mock
+    private TransactionTemplate testTransactionTemplate;
+
+    // Arrange: single-book reads go through the cache, writes invalidate it
+    @Mock
+    private BookCache testBookCache;
+
+    // Arrange: the cache's miss loader, batching single-book lookups
+    @Mock
+    private BookLoader testBookLoader;
+
+    // Arrange: full-text search engine, kept in step on create/delete
+    @Mock
+    private BookSearchIndex testBookSearchIndex;
+
+    // Arrange: change events written alongside every create, update and delete
+    @Mock
+    private BookOutbox testBookOutbox;
+
     // Service to Test: Real service with fake repo injected
     @InjectMocks
     private BookService testBookService;
@@ -117,6 +187,7 @@ class BookServiceTest {
                 .author(validBookRequest.author())
                 .deleted(false)
                 .createdAt(java.time.Instant.now())
+                .version(3L)
                 .build();
     }
 
@@ -157,6 +228,49 @@ class BookServiceTest {
         assertEquals(specialRequest.title(), bookSentToDb.getTitle());
         assertEquals(specialRequest.synopsis(), bookSentToDb.getSynopsis());
         assertEquals(specialRequest.author(), bookSentToDb.getAuthor());
+
+        // Assert: any negative cache entry for the new id is dropped, and the book becomes searchable
+        verify(testBookCache).invalidate(testId);
+        verify(testBookSearchIndex).index(bookFromDb);
+
+        // Assert: the change event is written in the same transaction
+        verify(testBookOutbox).record(BookEventType.CREATED, bookFromDb);
+    }
+
+    @Test
+    void testCreateBook_InsideTransaction_IndexesOnlyAfterCommit() {
+        // Arrange: a surrounding transaction, as under @Transactional
+        when(testBookRepository.save(any(Book.class))).thenReturn(persistedBook);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            testBookService.createBook(validBookRequest);
+
+            // Assert: nothing is indexed while the write can still roll back
+            verify(testBookSearchIndex, never()).index(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(testBookSearchIndex).index(persistedBook);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testDeleteBookById_RolledBack_StaysSearchable() {
+        // Arrange
+        when(testBookRepository.softDeleteById(any(UUID.class), any(Instant.class))).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act: the transaction rolls back, so afterCommit never runs
+            testBookService.deleteBookById(testId);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            verify(testBookSearchIndex, never()).remove(any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -234,8 +348,9 @@ class BookServiceTest {
     @Test
     void testDelete_Book_ShouldThrowException_WhenIdNotFound() {
 
-        // Arrange: simulate missing record
-        when(testBookRepository.findById(testId)).thenReturn(Optional.empty());
+        // Arrange: simulate missing record (no live row updated, and no row at all)
+        when(testBookRepository.softDeleteById(any(UUID.class), any(Instant.class))).thenReturn(0);
+        when(testBookRepository.existsById(testId)).thenReturn(false);
 
         // ACT and ASSERT: correct exception thrown
         assertThrows(
@@ -243,53 +358,656 @@ class BookServiceTest {
             () -> testBookService.deleteBookById(testId)
         );
 
-        // Assert: ensure the save method was NEVER called.
-        // proves delete business logic halts immediately when the resource isn't found.
-        verify(testBookRepository, never()).save(any(Book.class));
+        // Assert: nothing was deleted, so there is nothing to invalidate or announce
+        verify(testBookCache, never()).invalidate(any());
+        verify(testBookOutbox, never()).recordDeleted(any());
     }
 
     @Test
     void testDeleteBookById_Success() {
 
-        // Arrange: ensure the test book is active
-        persistedBook.setDeleted(false);
-
-        when(testBookRepository.findById(testId))
-            .thenReturn(Optional.of(persistedBook));
+        // Arrange: the conditional UPDATE matches the live row
+        when(testBookRepository.softDeleteById(any(UUID.class), any(Instant.class))).thenReturn(1);
 
         // Act: call the service method we are testing
         testBookService.deleteBookById(testId);
 
-        // Assert: the entity was marked deleted
-        ArgumentCaptor<Book> bookCaptor = ArgumentCaptor.forClass(Book.class);
-        verify(testBookRepository, times(1)).save(bookCaptor.capture());
-
-        // extract from the captured object (internal list)
-        Book savedBook = bookCaptor.getValue();
-
-        // Assert: the service correctly marked it as deleted
-        assertTrue(
-            savedBook.isDeleted(),
-            "Book passed to save() should be marked deleted"
-        );
-        // Assert: it is the same ID we attempted to delete
-        assertEquals(testId, savedBook.getId());
+        // Assert: a single UPDATE for this id, no entity load or save, no extra existence check
+        verify(testBookRepository, times(1)).softDeleteById(any(UUID.class), any(Instant.class));
+        verify(testBookRepository).softDeleteById(eq(testId), any(Instant.class));
+        verify(testBookRepository, never()).findById(any());
+        verify(testBookRepository, never()).save(any(Book.class));
+        verify(testBookRepository, never()).existsById(any());
 
+        // Assert: the cached copy is dropped so the deleted book is never served or found
+        verify(testBookCache).invalidate(testId);
+        verify(testBookSearchIndex).remove(testId);
+        verify(testBookOutbox).recordDeleted(List.of(testId));
     }
 
     @Test
     void testDeleteBookById_ShouldDoNothing_WhenAlreadyDeleted() {
 
-        // Arrange:
-        persistedBook.setDeleted(true); // ensure starting state
-        when(testBookRepository.findById(testId))
-            .thenReturn(Optional.of(persistedBook));
+        // Arrange: no live row updated, but the row exists (already soft-deleted)
+        when(testBookRepository.softDeleteById(any(UUID.class), any(Instant.class))).thenReturn(0);
+        when(testBookRepository.existsById(testId)).thenReturn(true);
 
-        // Act: call the service method we are testing
+        // Act: call the service method we are testing (must not throw - idempotent)
         testBookService.deleteBookById(testId);
 
         // Assert
-        // Verify save was NEVER called (the if condition was false, so the if block was skipped)
         verify(testBookRepository, never()).save(any(Book.class));
+        verify(testBookCache, never()).invalidate(any());
+        verify(testBookOutbox, never()).recordDeleted(any());
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: deleteBooksByIds(Collection<UUID>)
+    // -------------------------------------------------------------------------------------------
+
+    @Test
+    void testDeleteBooksByIds_DedupesAndReturnsDeletedCount() {
+        // Arrange: of the two distinct ids only `other` is still live
+        UUID other = UUID.randomUUID();
+        when(testBookRepository.lockLiveIds(List.of(testId, other))).thenReturn(List.of(other));
+        when(testBookRepository.softDeleteAllById(anyList(), any(Instant.class))).thenReturn(1);
+
+        // Act
+        int deleted = testBookService.deleteBooksByIds(List.of(testId, other, testId));
+
+        // Assert: the two distinct ids are locked in request order, and only the live one is updated and announced
+        verify(testBookRepository).softDeleteAllById(eq(List.of(other)), any(Instant.class));
+        verify(testBookOutbox).recordDeleted(List.of(other));
+        assertEquals(1, deleted);
+        verify(testBookCache).invalidate(testId);
+        verify(testBookCache).invalidate(other);
+    }
+
+    @Test
+    void testDeleteBooksByIds_LargeInput_UpdatesInChunks() {
+        // Arrange: 2,500 ids -> chunks of 1,000, 1,000 and 500
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(2_500).toList();
+        when(testBookRepository.lockLiveIds(anyList())).thenAnswer(invocation -> List.copyOf(invocation.<List<UUID>>getArgument(0)));
+        when(testBookRepository.softDeleteAllById(anyList(), any(Instant.class)))
+            .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+
+        // Act
+        int deleted = testBookService.deleteBooksByIds(ids);
+
+        // Assert
+        assertEquals(2_500, deleted);
+        verify(testBookRepository, times(3)).softDeleteAllById(anyList(), any(Instant.class));
+        verify(testBookOutbox, times(3)).recordDeleted(anyList());
+    }
+
+    @Test
+    void testDeleteBooksByIds_NoneLive_SkipsUpdate() {
+        // Arrange: every id is unknown or already deleted
+        when(testBookRepository.lockLiveIds(anyList())).thenReturn(List.of());
+
+        // Act
+        int deleted = testBookService.deleteBooksByIds(List.of(testId));
+
+        // Assert
+        assertEquals(0, deleted);
+        verify(testBookRepository, never()).softDeleteAllById(anyList(), any(Instant.class));
+        verify(testBookOutbox, never()).recordDeleted(any());
+    }
+
+    @Test
+    void testDeleteBooksByIds_EmptyInput_DoesNothing() {
+        assertEquals(0, testBookService.deleteBooksByIds(List.of()));
+        verify(testBookRepository, never()).softDeleteAllById(anyList(), any(Instant.class));
+    }
+
+    @Test
+    void testDeleteBooksByIds_NullInput_ThrowsException() {
+        assertThrows(NullPointerException.class, () -> testBookService.deleteBooksByIds(null));
+    }
+
+    @Test
+    void testDeleteBooksByIds_TooManyIds_ThrowsException() {
+        List<UUID> ids = Collections.nCopies(BookService.MAX_BULK_SIZE + 1, testId);
+
+        assertThrows(IllegalArgumentException.class, () -> testBookService.deleteBooksByIds(ids));
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: getBooksByIds(Collection<UUID>)
+    // -------------------------------------------------------------------------------------------
+
+    @Test
+    void testGetBooksByIds_OneQueryInRequestOrderWithMissingIds() {
+        // Arrange: the repository returns rows in its own order; `unknown` has no live row
+        UUID other = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        Book otherBook = Book.builder().id(other).title("Other").synopsis("Synopsis").author("Author").build();
+        when(testBookRepository.findLiveByIds(any(UUID[].class))).thenReturn(List.of(persistedBook, otherBook));
+
+        // Act
+        BookBulkGetResponse result = testBookService.getBooksByIds(List.of(other, unknown, testId, other));
+
+        // Assert: duplicates are looked up once, and results follow the order ids were first requested in
+        ArgumentCaptor<UUID[]> ids = ArgumentCaptor.forClass(UUID[].class);
+        verify(testBookRepository).findLiveByIds(ids.capture());
+        assertEquals(List.of(other, unknown, testId), Arrays.asList(ids.getValue()));
+        assertEquals(List.of(BookResponse.from(otherBook), BookResponse.from(persistedBook)), result.items());
+        assertEquals(List.of(unknown), result.missing());
+        verify(testBookCache, never()).get(any(), any());
+    }
+
+    @Test
+    void testGetBooksByIds_LargeInput_QueriesInChunks() {
+        // Arrange: 2,500 ids -> chunks of 1,000, 1,000 and 500, none of them live
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(2_500).toList();
+        when(testBookRepository.findLiveByIds(any(UUID[].class))).thenReturn(List.of());
+
+        // Act
+        BookBulkGetResponse result = testBookService.getBooksByIds(ids);
+
+        // Assert
+        verify(testBookRepository, times(3)).findLiveByIds(any(UUID[].class));
+        verify(testEntityManager, times(3)).clear();
+        assertEquals(ids, result.missing());
+        assertTrue(result.items().isEmpty());
+    }
+
+    @Test
+    void testGetBooksByIds_EmptyInput_RunsNoQuery() {
+        BookBulkGetResponse result = testBookService.getBooksByIds(List.of());
+
+        assertTrue(result.items().isEmpty());
+        assertTrue(result.missing().isEmpty());
+        verify(testBookRepository, never()).findLiveByIds(any(UUID[].class));
+    }
+
+    @Test
+    void testGetBooksByIds_NullInput_ThrowsException() {
+        assertThrows(NullPointerException.class, () -> testBookService.getBooksByIds(null));
+    }
+
+    @Test
+    void testGetBooksByIds_TooManyIds_ThrowsException() {
+        List<UUID> ids = Collections.nCopies(BookService.MAX_BULK_SIZE + 1, testId);
+
+        assertThrows(IllegalArgumentException.class, () -> testBookService.getBooksByIds(ids));
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: listBooks(offset, limit, fields) and listBooksAfter(cursor, limit, fields)
+    // -------------------------------------------------------------------------------------------
+
+    private static Book bookCreatedAt(Instant createdAt) {
+        return Book.builder()
+            .id(UUID.randomUUID())
+            .title("Title")
+            .synopsis("Synopsis")
+            .author("Author")
+            .createdAt(createdAt)
+            .build();
+    }
+
+    private static BookProjection rowCreatedAt(Instant createdAt) {
+        return new BookProjection(UUID.randomUUID(), createdAt, "Title", "Author", null);
+    }
+
+    @Test
+    void testListBooks_LastPage_HasTotalCountAndNoCursor() {
+        // Arrange: fewer rows than limit + 1 means there is no next page
+        BookProjection row = new BookProjection(testId, Instant.now(), "Title", "Author", "Synopsis");
+        when(testBookRepository.findLivePageProjection(BookField.ALL, 0L, 3)).thenReturn(List.of(row));
+        when(testBookRepository.countByDeletedFalse()).thenReturn(1L);
+
+        // Act
+        BookListResponse page = testBookService.listBooks(0L, 2, BookField.ALL);
+
+        // Assert
+        assertEquals(1L, page.totalCount());
+        assertEquals(List.of(new BookResponse(testId, "Title", "Synopsis", "Author")), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testListBooks_FullPage_TrimsExtraRowAndReturnsCursor() {
+        // Arrange: repository is asked for limit + 1 rows to detect a next page
+        Set<BookField> fields = BookField.parse("title,author");
+        BookProjection first = rowCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        BookProjection second = rowCreatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+        BookProjection extra = rowCreatedAt(Instant.parse("2024-01-03T00:00:00Z"));
+        when(testBookRepository.findLivePageProjection(fields, 5L, 3)).thenReturn(List.of(first, second, extra));
+        when(testBookRepository.countByDeletedFalse()).thenReturn(10L);
+
+        // Act
+        BookListResponse page = testBookService.listBooks(5L, 2, fields);
+
+        // Assert: the extra row is not returned, the cursor points after the last returned row,
+        // and the unselected synopsis stays null
+        assertEquals(2, page.items().size());
+        assertNull(page.items().get(0).synopsis());
+        assertEquals(new BookCursor(second.createdAt(), second.id()), BookCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testListBooksAfter_DecodesCursorAndSkipsCount() {
+        // Arrange
+        Book last = bookCreatedAt(Instant.parse("2024-01-01T10:15:30.123456Z"));
+        String cursor = new BookCursor(last.getCreatedAt(), last.getId()).encode();
+        when(testBookRepository.findLivePageAfterProjection(BookField.ALL, last.getCreatedAt(), last.getId(), 21))
+            .thenReturn(List.of(rowCreatedAt(Instant.now())));
+
+        // Act
+        BookListResponse page = testBookService.listBooksAfter(cursor, 20, BookField.ALL);
+
+        // Assert
+        assertNull(page.totalCount(), "Keyset pages must not pay for a count query");
+        assertEquals(1, page.items().size());
+        verify(testBookRepository, never()).countByDeletedFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, BookService.MAX_PAGE_SIZE + 1})
+    void testListBooks_InvalidLimit_ThrowsException(int invalidLimit) {
+        assertThrows(IllegalArgumentException.class, () -> testBookService.listBooks(0L, invalidLimit, BookField.ALL));
+        assertThrows(IllegalArgumentException.class, () -> testBookService.listBooksAfter("x", invalidLimit, BookField.ALL));
+        verify(testBookRepository, never()).findLivePageProjection(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testListBooks_NegativeOffset_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> testBookService.listBooks(-1L, 20, BookField.ALL));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"not-base64!", "bm8tc2VwYXJhdG9y", "bm90LWEtZGF0ZSxub3QtYS11dWlk"})
+    void testListBooksAfter_InvalidCursor_ThrowsException(String invalidCursor) {
+        assertThrows(IllegalArgumentException.class, () -> testBookService.listBooksAfter(invalidCursor, 20, BookField.ALL));
+    }
+
+    @Test
+    void testBookCursor_RoundTrip() {
+        BookCursor cursor = new BookCursor(Instant.parse("2024-05-06T07:08:09.000001Z"), testId);
+
+        String token = cursor.encode();
+
+        assertNotNull(token);
+        assertEquals(cursor, BookCursor.decode(token));
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: exportBooks(OutputStream)
+    // -------------------------------------------------------------------------------------------
+
+    @Test
+    void testExportBooks_WritesOneJsonLinePerBookAndDetachesEach() throws IOException {
+        // Arrange
+        Book second = bookCreatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(testBookRepository.streamAllByDeletedFalse())
+            .thenReturn(Stream.of(persistedBook, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = testBookService.exportBooks(out);
+
+        // Assert: NDJSON, one object per line, each line newline-terminated
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2L, written);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals(testId.toString(), testObjectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals(second.getTitle(), testObjectMapper.readTree(lines[1]).get("title").asText());
+
+        // Assert: entities are released as they go and the cursor is closed
+        verify(testEntityManager).detach(persistedBook);
+        verify(testEntityManager).detach(second);
+        assertTrue(closed.get(), "Stream must be closed to release the database cursor");
+    }
+
+    @Test
+    void testExportBooks_EmptyCatalogue_WritesNothing() throws IOException {
+        // Arrange
+        when(testBookRepository.streamAllByDeletedFalse()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = testBookService.exportBooks(out);
+
+        // Assert
+        assertEquals(0L, written);
+        assertEquals(0, out.size());
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: createBooks(List<BookRequest>)
+    // -------------------------------------------------------------------------------------------
+
+    // Runs transaction callbacks inline, as if every chunk committed
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(testTransactionTemplate).executeWithoutResult(any());
+    }
+
+    // Simulates the repository assigning ids to every saved book
+    private void saveAllAssignsIds() {
+        when(testBookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            books.forEach(book -> book.setId(UUID.randomUUID()));
+            return books;
+        });
+    }
+
+    @Test
+    void testCreateBooks_MixedItems_ReportsPerItemOutcomeInOrder() {
+        // Arrange
+        runTransactionsInline();
+        saveAllAssignsIds();
+        List<BookRequest> requests = Arrays.asList(
+            validBookRequest,
+            new BookRequest(" ", "Synopsis", "Author"),
+            null,
+            new BookRequest("Title", "Synopsis", "Author")
+        );
+
+        // Act
+        BookBulkResponse response = testBookService.createBooks(requests);
+
+        // Assert
+        assertEquals(2, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(BookBulkResponse.Status.CREATED, response.items().get(0).status());
+        assertNotNull(response.items().get(0).id());
+        assertEquals("Title is required", response.items().get(1).error());
+        assertEquals("Book cannot be null", response.items().get(2).error());
+        assertEquals(3, response.items().get(3).index());
+        verify(testBookOutbox).recordAll(eq(BookEventType.CREATED), anyList());
+        verify(testBookRepository, times(1)).flush();
+        verify(testEntityManager, times(1)).clear();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   "})
+    void testCreateBooks_MissingSynopsisOrAuthor_FailsItemWithoutWriting(String invalid) {
+        // Arrange
+        List<BookRequest> requests = List.of(
+            new BookRequest("Title", invalid, "Author"),
+            new BookRequest("Title", "Synopsis", invalid)
+        );
+
+        // Act
+        BookBulkResponse response = testBookService.createBooks(requests);
+
+        // Assert: nothing valid, so no transaction is opened
+        assertEquals("Synopsis is required", response.items().get(0).error());
+        assertEquals("Author is required", response.items().get(1).error());
+        verify(testTransactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void testCreateBooks_LargeInput_WritesInChunks() {
+        // Arrange: 250 valid items -> chunks of 100, 100 and 50
+        runTransactionsInline();
+        saveAllAssignsIds();
+        List<BookRequest> requests = new ArrayList<>(Collections.nCopies(250, validBookRequest));
+
+        // Act
+        BookBulkResponse response = testBookService.createBooks(requests);
+
+        // Assert
+        assertEquals(250, response.created());
+        verify(testBookRepository, times(3)).saveAll(anyList());
+        verify(testBookRepository, times(3)).flush();
+    }
+
+    @Test
+    void testCreateBooks_ChunkFailure_MarksChunkItemsFailed() {
+        // Arrange
+        runTransactionsInline();
+        when(testBookRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        // Act
+        BookBulkResponse response = testBookService.createBooks(List.of(validBookRequest, validBookRequest));
+
+        // Assert
+        assertEquals(0, response.created());
+        assertEquals(2, response.failed());
+        assertEquals("Insert failed: constraint violated", response.items().get(1).error());
+    }
+
+    @Test
+    void testCreateBooks_NullList_ThrowsException() {
+        assertThrows(NullPointerException.class, () -> testBookService.createBooks(null));
+    }
+
+    @Test
+    void testCreateBooks_TooManyItems_ThrowsException() {
+        List<BookRequest> requests = Collections.nCopies(BookService.MAX_BULK_SIZE + 1, validBookRequest);
+
+        assertThrows(IllegalArgumentException.class, () -> testBookService.createBooks(requests));
+        verify(testBookRepository, never()).saveAll(anyList());
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: getBookById(UUID)
+    // -------------------------------------------------------------------------------------------
+
+    // Makes the mocked cache behave as a permanent miss, always delegating to the loader
+    private void cacheAlwaysMisses() {
+        when(testBookCache.get(any(), any())).thenAnswer(invocation -> {
+            Function<UUID, CompletableFuture<Optional<VersionedBook>>> loader = invocation.getArgument(1);
+            return loader.apply(invocation.getArgument(0)).join();
+        });
+    }
+
+    @Test
+    void testGetBookById_Found_ReturnsResponse() {
+        // Arrange
+        cacheAlwaysMisses();
+        when(testBookLoader.load(testId)).thenReturn(CompletableFuture.completedFuture(Optional.of(VersionedBook.from(persistedBook))));
+
+        // Act
+        BookResponse response = testBookService.getBookById(testId);
+
+        // Assert
+        assertEquals(BookResponse.from(persistedBook), response);
+    }
+
+    @Test
+    void testGetBookById_Missing_ThrowsException() {
+        // Arrange
+        cacheAlwaysMisses();
+        when(testBookLoader.load(testId)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> testBookService.getBookById(testId));
+    }
+
+    @Test
+    void testGetBookById_CacheHit_SkipsRepository() {
+        // Arrange
+        when(testBookCache.get(any(), any())).thenReturn(Optional.of(VersionedBook.from(persistedBook)));
+
+        // Act
+        BookResponse response = testBookService.getBookById(testId);
+
+        // Assert
+        assertEquals(testId, response.id());
+        verify(testBookLoader, never()).load(any());
+    }
+
+    @Test
+    void testGetVersionedBookById_CarriesVersionStamp() {
+        // Arrange
+        cacheAlwaysMisses();
+        when(testBookLoader.load(testId)).thenReturn(CompletableFuture.completedFuture(Optional.of(VersionedBook.from(persistedBook))));
+
+        // Act
+        VersionedBook book = testBookService.getVersionedBookById(testId);
+
+        // Assert: never modified, so Last-Modified falls back to createdAt
+        assertEquals(new BookVersion(3L, persistedBook.getCreatedAt()), book.version());
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: getBookVersion(UUID)
+    // -------------------------------------------------------------------------------------------
+
+    @Test
+    void testGetBookVersion_Cached_SkipsRepository() {
+        when(testBookCache.getIfPresent(testId)).thenReturn(Optional.of(VersionedBook.from(persistedBook)));
+
+        BookVersion version = testBookService.getBookVersion(testId);
+
+        assertEquals(3L, version.version());
+        verify(testBookRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void testGetBookVersion_NotCached_UsesVersionQueryOnly() {
+        // Arrange
+        BookVersion stored = new BookVersion(7L, Instant.parse("2024-01-01T00:00:00Z"));
+        when(testBookCache.getIfPresent(testId)).thenReturn(Optional.empty());
+        when(testBookRepository.findVersionById(testId)).thenReturn(Optional.of(stored));
+
+        // Act & Assert: the entity itself is never loaded
+        assertEquals(stored, testBookService.getBookVersion(testId));
+        verify(testBookRepository, never()).findByIdAndDeletedFalse(any());
+    }
+
+    @Test
+    void testGetBookVersion_Missing_ThrowsException() {
+        when(testBookCache.getIfPresent(testId)).thenReturn(Optional.empty());
+        when(testBookRepository.findVersionById(testId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> testBookService.getBookVersion(testId));
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: replaceBook(UUID, BookRequest, Long)
+    // -------------------------------------------------------------------------------------------
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(longs = 3L)
+    void testReplaceBook_UnconditionalOrMatchingVersion_UpdatesAndInvalidates(Long expectedVersion) {
+        // Arrange: saveAndFlush bumps the version and stamps modifiedAt, as Hibernate would
+        BookRequest replacement = new BookRequest("New title", "New synopsis", "New author");
+        Instant modifiedAt = Instant.parse("2024-06-01T12:00:00Z");
+        when(testBookRepository.findByIdAndDeletedFalse(testId)).thenReturn(Optional.of(persistedBook));
+        when(testBookRepository.saveAndFlush(persistedBook)).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            book.setVersion(book.getVersion() + 1);
+            book.setModifiedAt(modifiedAt);
+            return book;
+        });
+
+        // Act
+        VersionedBook result = testBookService.replaceBook(testId, replacement, expectedVersion);
+
+        // Assert
+        assertEquals(new BookResponse(testId, "New title", "New synopsis", "New author"), result.book());
+        assertEquals(new BookVersion(4L, modifiedAt), result.version());
+        verify(testBookOutbox).record(BookEventType.UPDATED, persistedBook);
+        verify(testBookCache).invalidate(testId);
+        verify(testBookSearchIndex).index(persistedBook);
+    }
+
+    @Test
+    void testReplaceBook_StaleVersion_ThrowsPreconditionFailed() {
+        when(testBookRepository.findByIdAndDeletedFalse(testId)).thenReturn(Optional.of(persistedBook));
+
+        assertThrows(PreconditionFailedException.class, () -> testBookService.replaceBook(testId, validBookRequest, 2L));
+
+        verify(testBookRepository, never()).saveAndFlush(any());
+        verify(testBookCache, never()).invalidate(any());
+        verify(testBookOutbox, never()).record(any(), any());
+    }
+
+    @Test
+    void testReplaceBook_Missing_ThrowsException() {
+        when(testBookRepository.findByIdAndDeletedFalse(testId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> testBookService.replaceBook(testId, validBookRequest, null));
+    }
+
+    @Test
+    void testReplaceBook_BlankField_ThrowsException() {
+        BookRequest invalid = new BookRequest("Title", " ", "Author");
+
+        assertThrows(IllegalArgumentException.class, () -> testBookService.replaceBook(testId, invalid, null));
+        verify(testBookRepository, never()).findByIdAndDeletedFalse(any());
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: deleteBookByIdIfMatch(UUID, long)
+    // -------------------------------------------------------------------------------------------
+
+    @Test
+    void testDeleteBookByIdIfMatch_MatchingVersion_DeletesInOneUpdate() {
+        when(testBookRepository.softDeleteByIdAndVersion(eq(testId), eq(3L), any(Instant.class))).thenReturn(1);
+
+        testBookService.deleteBookByIdIfMatch(testId, 3L);
+
+        verify(testBookRepository, never()).existsById(any());
+        verify(testBookCache).invalidate(testId);
+        verify(testBookSearchIndex).remove(testId);
+        verify(testBookOutbox).recordDeleted(List.of(testId));
+    }
+
+    @Test
+    void testDeleteBookByIdIfMatch_StaleOrDeleted_ThrowsPreconditionFailed() {
+        when(testBookRepository.softDeleteByIdAndVersion(eq(testId), eq(2L), any(Instant.class))).thenReturn(0);
+        when(testBookRepository.existsById(testId)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> testBookService.deleteBookByIdIfMatch(testId, 2L));
+        verify(testBookCache, never()).invalidate(any());
+    }
+
+    @Test
+    void testDeleteBookByIdIfMatch_Unknown_ThrowsNotFound() {
+        when(testBookRepository.softDeleteByIdAndVersion(eq(testId), eq(0L), any(Instant.class))).thenReturn(0);
+        when(testBookRepository.existsById(testId)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> testBookService.deleteBookByIdIfMatch(testId, 0L));
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Tests: searchBooks(query, offset, limit)
+    // -------------------------------------------------------------------------------------------
+
+    @Test
+    void testSearchBooks_TrimsQueryAndMapsRankedResults() {
+        // Arrange
+        when(testBookSearchIndex.search("gatsby", 0L, 10)).thenReturn(List.of(persistedBook));
+
+        // Act
+        BookListResponse page = testBookService.searchBooks("  gatsby ", 0L, 10);
+
+        // Assert
+        assertEquals(List.of(BookResponse.from(persistedBook)), page.items());
+        assertNull(page.totalCount());
+        assertNull(page.nextCursor());
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   "})
+    void testSearchBooks_BlankQuery_ThrowsException(String blankQuery) {
+        assertThrows(IllegalArgumentException.class, () -> testBookService.searchBooks(blankQuery, 0L, 10));
+        verify(testBookSearchIndex, never()).search(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testSearchBooks_InvalidArguments_ThrowsException() {
+        String tooLong = "a".repeat(BookService.MAX_SEARCH_QUERY_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> testBookService.searchBooks(tooLong, 0L, 10));
+        assertThrows(IllegalArgumentException.class, () -> testBookService.searchBooks("java", -1L, 10));
+        assertThrows(IllegalArgumentException.class, () -> testBookService.searchBooks("java", 0L, 0));
     }
 }
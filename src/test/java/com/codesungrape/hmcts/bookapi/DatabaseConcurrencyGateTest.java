@@ -0,0 +1,85 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.exception.DatabaseBusyException;
+import com.codesungrape.hmcts.bookapi.repository.DatabaseConcurrencyGate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the permit gate placed in front of the connection pool.
+ */
+class DatabaseConcurrencyGateTest {
+
+    private final DatabaseConcurrencyGate gate =
+        new DatabaseConcurrencyGate(2, Duration.ofMillis(20), Duration.ofSeconds(3));
+
+    @Test
+    void testAcquire_WithinCapacity_HoldsPermitUntilReleased() {
+        gate.acquire();
+        gate.acquire();
+        assertEquals(2, gate.inUse());
+
+        gate.release();
+        assertEquals(1, gate.inUse());
+    }
+
+    @Test
+    void testAcquire_Saturated_RejectsAfterTimeoutWithRetryAfter() {
+        gate.acquire();
+        gate.acquire();
+
+        long start = System.nanoTime();
+        DatabaseBusyException exception = assertThrows(DatabaseBusyException.class, gate::acquire);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20), "Must wait the acquire timeout first");
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        assertEquals(2, gate.inUse());
+    }
+
+    @Test
+    void testAcquire_Interrupted_RejectsAndKeepsInterruptFlag() {
+        gate.acquire();
+        gate.acquire();
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThrows(DatabaseBusyException.class, gate::acquire);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testConstructor_NoPermits_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new DatabaseConcurrencyGate(0, Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    void testBindTo_ReportsWaitsRejectionsAndUsage() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        gate.bindTo(registry);
+
+        // Act: two grants and one rejection
+        gate.acquire();
+        gate.acquire();
+        assertThrows(DatabaseBusyException.class, gate::acquire);
+
+        // Assert
+        assertEquals(3, registry.get("bookapi.db.gate.wait").functionTimer().count());
+        assertTrue(registry.get("bookapi.db.gate.wait").functionTimer().totalTime(TimeUnit.MILLISECONDS) >= 20);
+        assertEquals(1.0, registry.get("bookapi.db.gate.rejected").functionCounter().count());
+        assertEquals(2.0, registry.get("bookapi.db.gate.in.use").gauge().value());
+        assertEquals(0.0, registry.get("bookapi.db.gate.waiting").gauge().value());
+        assertEquals(2.0, registry.get("bookapi.db.gate.permits").gauge().value());
+    }
+}
@@ -0,0 +1,103 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.exception.DatabaseBusyException;
+import com.codesungrape.hmcts.bookapi.repository.DatabaseConcurrencyGate;
+import com.codesungrape.hmcts.bookapi.repository.GatedDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GatedDataSource: a permit is held exactly while a connection is borrowed.
+ */
+@ExtendWith(MockitoExtension.class)
+class GatedDataSourceTest {
+
+    @Mock
+    private DataSource testTarget;
+
+    @Mock
+    private Connection testConnection;
+
+    private DatabaseConcurrencyGate gate;
+    private GatedDataSource gatedDataSource;
+
+    @BeforeEach
+    void setUp() {
+        gate = new DatabaseConcurrencyGate(1, Duration.ofMillis(10), Duration.ofSeconds(1));
+        gatedDataSource = new GatedDataSource(testTarget, gate);
+    }
+
+    @Test
+    void testGetConnection_HoldsPermitUntilCloseAndReleasesOnce() throws SQLException {
+        // Arrange
+        when(testTarget.getConnection()).thenReturn(testConnection);
+        when(testConnection.isReadOnly()).thenReturn(true);
+
+        // Act
+        Connection connection = gatedDataSource.getConnection();
+
+        // Assert: calls are delegated and the only permit is taken
+        assertTrue(connection.isReadOnly());
+        assertEquals(1, gate.inUse());
+        assertThrows(DatabaseBusyException.class, gatedDataSource::getConnection);
+
+        connection.close();
+        connection.close();
+        assertEquals(0, gate.inUse(), "Closing twice must not release twice");
+        verify(testConnection, times(2)).close();
+    }
+
+    @Test
+    void testGetConnection_CloseFails_StillReleasesPermit() throws SQLException {
+        when(testTarget.getConnection()).thenReturn(testConnection);
+        doThrow(new SQLException("broken")).when(testConnection).close();
+
+        Connection connection = gatedDataSource.getConnection();
+
+        assertThrows(SQLException.class, connection::close);
+        assertEquals(0, gate.inUse());
+    }
+
+    @Test
+    void testGetConnection_PoolFails_ReleasesPermit() throws SQLException {
+        when(testTarget.getConnection()).thenThrow(new SQLException("pool timeout"));
+
+        assertThrows(SQLException.class, gatedDataSource::getConnection);
+        assertEquals(0, gate.inUse());
+    }
+
+    @Test
+    void testGetConnectionWithCredentials_GatesTheSameWay() throws SQLException {
+        when(testTarget.getConnection("user", "secret")).thenReturn(testConnection);
+
+        Connection connection = gatedDataSource.getConnection("user", "secret");
+        assertEquals(1, gate.inUse());
+
+        connection.close();
+        assertEquals(0, gate.inUse());
+    }
+
+    @Test
+    void testGetConnectionWithCredentials_PoolFails_ReleasesPermit() throws SQLException {
+        when(testTarget.getConnection("user", "secret")).thenThrow(new IllegalStateException("closed"));
+
+        assertThrows(IllegalStateException.class, () -> gatedDataSource.getConnection("user", "secret"));
+        assertEquals(0, gate.inUse());
+    }
+}
@@ -0,0 +1,163 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.BookController;
+import com.codesungrape.hmcts.bookapi.controller.Clients;
+import com.codesungrape.hmcts.bookapi.service.IdempotentRequests;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end checks that POST /books with an Idempotency-Key creates the book once, however many times and however
+ * concurrently the request is sent.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockHttpServletResponse create(String client, String key, String title) throws Exception {
+        return mockMvc.perform(post("/books")
+                .header(Clients.API_KEY_HEADER, client)
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andReturn().getResponse();
+    }
+
+    private int booksTitled(String title) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book WHERE title = ?", Integer.class, title);
+    }
+
+    @Test
+    void testCreateBook_ConcurrentDuplicates_CreateOneBook() throws Exception {
+        // Arrange
+        String title = "Retried " + UUID.randomUUID();
+        String key = UUID.randomUUID().toString();
+        CountDownLatch start = new CountDownLatch(1);
+        List<MockHttpServletResponse> responses = new ArrayList<>(THREADS);
+
+        // Act
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return create("client-a", key, title);
+                }));
+            }
+            start.countDown();
+            for (Future<MockHttpServletResponse> future : futures) {
+                responses.add(future.get());
+            }
+        }
+
+        // Assert
+        assertEquals(1, booksTitled(title));
+        assertEquals(1, responses.stream().map(response -> response.getHeader(HttpHeaders.LOCATION)).distinct().count());
+        assertEquals(THREADS - 1, responses.stream().filter(response -> response.getHeader(BookController.REPLAYED_HEADER) != null).count());
+        responses.forEach(response -> assertEquals(201, response.getStatus()));
+    }
+
+    @Test
+    void testCreateBook_SameKeyFromAnotherClient_CreatesItsOwnBook() throws Exception {
+        // Arrange
+        String title = "Shared key " + UUID.randomUUID();
+        String key = UUID.randomUUID().toString();
+
+        // Act
+        create("client-a", key, title);
+        create("client-b", key, title);
+
+        // Assert
+        assertEquals(2, booksTitled(title));
+    }
+
+    @Test
+    void testCreateBook_KeyReusedForAnotherBook_Returns422() throws Exception {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        create("client-a", key, "First " + UUID.randomUUID());
+
+        // Act & Assert
+        mockMvc.perform(post("/books")
+                .header(Clients.API_KEY_HEADER, "client-a")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Second\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testCreateBook_FailedCreate_ReleasesKeySoTheRetryRunsAgain() throws Exception {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        String blankTitle = "{\"title\":\"\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}";
+        mockMvc.perform(post("/books")
+                .header(Clients.API_KEY_HEADER, "client-a")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(blankTitle))
+            .andExpect(status().isBadRequest());
+
+        // Act & Assert: the retry runs (and fails) again rather than waiting on or replaying the failure
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key WHERE state = 'IN_PROGRESS'", Integer.class));
+        mockMvc.perform(post("/books")
+                .header(Clients.API_KEY_HEADER, "client-a")
+                .header(BookController.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(blankTitle))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist(BookController.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testSweepExpired_DeletesExpiredKeysOnly() throws Exception {
+        // Arrange
+        create("client-a", UUID.randomUUID().toString(), "Live " + UUID.randomUUID());
+        UUID expired = UUID.randomUUID();
+        jdbcTemplate.update(
+            "INSERT INTO idempotency_key (id, fingerprint, state, claim_token, claimed_at, expires_at, response) "
+                + "VALUES (?, ?, 'COMPLETED', ?, ?, ?, '{}')",
+            expired, UUID.randomUUID(), UUID.randomUUID(), OffsetDateTime.now().minusDays(2), OffsetDateTime.now().minusDays(1));
+        int before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key", Integer.class);
+
+        // Act
+        long swept = idempotentRequests.sweepExpired();
+
+        // Assert
+        assertEquals(1, swept);
+        assertEquals(before - 1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key WHERE id = ?", Integer.class, expired));
+    }
+}
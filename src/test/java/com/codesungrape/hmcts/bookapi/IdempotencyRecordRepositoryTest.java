@@ -0,0 +1,171 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyRecord;
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyState;
+import com.codesungrape.hmcts.bookapi.repository.IdempotencyRecordRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for the conditional statements that claim, complete, release and expire Idempotency-Keys, against H2.
+ */
+@DataJpaTest
+class IdempotencyRecordRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID fingerprint = UUID.randomUUID();
+    private final UUID token = UUID.randomUUID();
+
+    private IdempotencyRecord reload(UUID recordId) {
+        entityManager.clear();
+        return repository.findById(recordId).orElse(null);
+    }
+
+    @Test
+    void testInsertClaim_NewKey_IsInProgress() {
+        // Act
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+
+        // Assert
+        IdempotencyRecord claimed = reload(id);
+        assertEquals(IdempotencyState.IN_PROGRESS, claimed.getState());
+        assertEquals(fingerprint, claimed.getFingerprint());
+        assertEquals(token, claimed.getClaimToken());
+        assertNull(claimed.getResponse());
+    }
+
+    @Test
+    void testInsertClaim_KnownKey_ThrowsDataIntegrityViolation() {
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> repository.insertClaim(id, fingerprint, UUID.randomUUID(), NOW, NOW.plus(TTL)));
+    }
+
+    @Test
+    void testComplete_OnlyByTheClaimHolder() {
+        // Arrange
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plusSeconds(60));
+
+        // Act
+        int byOther = repository.complete(id, UUID.randomUUID(), "{}", NOW.plus(TTL));
+        int byHolder = repository.complete(id, token, "{\"id\":1}", NOW.plus(TTL));
+
+        // Assert
+        assertEquals(0, byOther);
+        assertEquals(1, byHolder);
+        IdempotencyRecord completed = reload(id);
+        assertEquals(IdempotencyState.COMPLETED, completed.getState());
+        assertEquals("{\"id\":1}", completed.getResponse());
+        assertEquals(NOW.plus(TTL), completed.getExpiresAt());
+        assertEquals(0, repository.complete(id, token, "{}", NOW.plus(TTL)));
+    }
+
+    @Test
+    void testTakeOverClaim_LiveClaimOrCompletedKey_IsRefused() {
+        // Arrange
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+        Instant staleBefore = NOW.minusSeconds(60);
+
+        // Act & Assert
+        assertEquals(0, repository.takeOverClaim(id, fingerprint, UUID.randomUUID(), NOW.plusSeconds(1), NOW.plus(TTL), staleBefore));
+        repository.complete(id, token, "{}", NOW.plus(TTL));
+        assertEquals(0, repository.takeOverClaim(id, fingerprint, UUID.randomUUID(), NOW.plusSeconds(120), NOW.plus(TTL), NOW.plusSeconds(60)));
+    }
+
+    @Test
+    void testTakeOverClaim_AbandonedClaim_IsTakenOver() {
+        // Arrange
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+        UUID newToken = UUID.randomUUID();
+        Instant later = NOW.plusSeconds(120);
+
+        // Act
+        int taken = repository.takeOverClaim(id, fingerprint, newToken, later, later.plus(TTL), later.minusSeconds(60));
+
+        // Assert
+        assertEquals(1, taken);
+        assertEquals(newToken, reload(id).getClaimToken());
+        // The abandoned request can no longer complete
+        assertEquals(0, repository.complete(id, token, "{}", later.plus(TTL)));
+    }
+
+    @Test
+    void testTakeOverClaim_ExpiredKey_StartsAfresh() {
+        // Arrange
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plusSeconds(60));
+        repository.complete(id, token, "{}", NOW.plusSeconds(60));
+        UUID otherFingerprint = UUID.randomUUID();
+        Instant later = NOW.plusSeconds(61);
+
+        // Act
+        int taken = repository.takeOverClaim(id, otherFingerprint, UUID.randomUUID(), later, later.plus(TTL), later.minusSeconds(60));
+
+        // Assert
+        assertEquals(1, taken);
+        IdempotencyRecord fresh = reload(id);
+        assertEquals(IdempotencyState.IN_PROGRESS, fresh.getState());
+        assertEquals(otherFingerprint, fresh.getFingerprint());
+        assertNull(fresh.getResponse());
+    }
+
+    @Test
+    void testRelease_DeletesOnlyAnUnfinishedClaimItHolds() {
+        // Arrange
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+
+        // Act & Assert
+        assertEquals(0, repository.release(id, UUID.randomUUID()));
+        assertEquals(1, repository.release(id, token));
+        assertNull(reload(id));
+    }
+
+    @Test
+    void testRelease_CompletedKey_IsKept() {
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+        repository.complete(id, token, "{}", NOW.plus(TTL));
+
+        assertEquals(0, repository.release(id, token));
+        assertTrue(repository.existsById(id));
+    }
+
+    @Test
+    void testDeleteExpired_DeletesAtMostLimitExpiredRecords() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            repository.insertClaim(UUID.randomUUID(), fingerprint, UUID.randomUUID(), NOW, NOW.minusSeconds(i + 1));
+        }
+        repository.insertClaim(id, fingerprint, token, NOW, NOW.plus(TTL));
+
+        // Act
+        int first = repository.deleteExpired(NOW, 2);
+        int second = repository.deleteExpired(NOW, 2);
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(1, repository.count());
+        assertTrue(repository.existsById(id));
+    }
+}
@@ -0,0 +1,560 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.config.IdempotencyProperties;
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.BookResponse;
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyRecord;
+import com.codesungrape.hmcts.bookapi.entity.IdempotencyState;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.exception.IdempotencyKeyReusedException;
+import com.codesungrape.hmcts.bookapi.repository.IdempotencyRecordRepository;
+import com.codesungrape.hmcts.bookapi.service.IdempotentRequests;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdempotentRequests: the in-memory tier, claiming and replaying through the table, and sweeping.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotentRequestsTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final int BATCH_SIZE = 2;
+    private static final String CLIENT = "key:client-1";
+    private static final String KEY = "retry-1";
+
+    private static final BookRequest REQUEST = new BookRequest("Title", "Synopsis", "Author");
+    private static final BookResponse BOOK = new BookResponse(UUID.randomUUID(), "Title", "Synopsis", "Author");
+
+    @Mock
+    private IdempotencyRecordRepository testRepository;
+
+    @Mock
+    private PlatformTransactionManager testTransactionManager;
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    private IdempotentRequests requests(Duration inFlightWait) {
+        return requests(Duration.ofMinutes(10), inFlightWait);
+    }
+
+    private IdempotentRequests requests(Duration memoryTtl, Duration inFlightWait) {
+        IdempotencyProperties properties = new IdempotencyProperties(
+            TTL, memoryTtl, 100, inFlightWait, Duration.ofMillis(1), Duration.ofMinutes(1), true, Duration.ofMinutes(10), BATCH_SIZE
+        );
+        return new IdempotentRequests(testRepository, objectMapper, new TransactionTemplate(testTransactionManager), properties, meterRegistry);
+    }
+
+    private static UUID id(String client, String key) {
+        return UUID.nameUUIDFromBytes((client + '\n' + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Test data is serialised with a plain mapper: calling the spy while stubbing or verifying would confuse Mockito
+    private static UUID fingerprint(Object request) throws JsonProcessingException {
+        return UUID.nameUUIDFromBytes(new ObjectMapper().writeValueAsBytes(request));
+    }
+
+    private static String json(Object value) throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsString(value);
+    }
+
+    private IdempotencyRecord record(UUID fingerprint, IdempotencyState state, String response) {
+        return new IdempotencyRecord(id(CLIENT, KEY), fingerprint, state, UUID.randomUUID(), Instant.now(), Instant.now().plus(TTL), response);
+    }
+
+    private void completesClaims() {
+        when(testRepository.complete(any(UUID.class), any(UUID.class), anyString(), any(Instant.class))).thenReturn(1);
+    }
+
+    private void keyHeldElsewhere() {
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+            .when(testRepository).insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+        when(testRepository.takeOverClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class),
+            any(Instant.class))).thenReturn(0);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("bookapi.idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    // Waits until the thread is parked on the first request's future (or a poll)
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    // ---- Tests: first use of a key ----
+
+    @Test
+    void testExecute_FirstRequest_RunsActionAndStoresResponse() throws Exception {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+
+        // Act
+        IdempotentRequests.Result<BookResponse> result = requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+
+        // Assert
+        assertSame(BOOK, result.value());
+        assertFalse(result.replayed());
+        verify(testRepository).insertClaim(eq(id(CLIENT, KEY)), eq(fingerprint(REQUEST)), any(UUID.class), any(Instant.class),
+            any(Instant.class));
+        verify(testRepository).complete(eq(id(CLIENT, KEY)), any(UUID.class), eq(json(BOOK)),
+            any(Instant.class));
+        verify(testTransactionManager, times(2)).commit(any());
+        assertEquals(1.0, outcome("executed"));
+    }
+
+    @Test
+    void testExecute_AbandonedClaim_TakesItOver() {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+            .when(testRepository).insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+        when(testRepository.takeOverClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class),
+            any(Instant.class))).thenReturn(1);
+        completesClaims();
+
+        // Act
+        IdempotentRequests.Result<BookResponse> result = requests(Duration.ofSeconds(10))
+            .execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+
+        // Assert
+        assertFalse(result.replayed());
+        verify(testRepository, never()).findById(any());
+    }
+
+    @Test
+    void testExecute_DifferentClientsSameKey_RunIndependently() {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+        requests.execute("key:client-2", KEY, REQUEST, BookResponse.class, () -> {
+            runs.incrementAndGet();
+            return BOOK;
+        });
+
+        // Assert
+        assertEquals(1, runs.get());
+        verify(testRepository).insertClaim(eq(id("key:client-2", KEY)), any(UUID.class), any(UUID.class), any(Instant.class),
+            any(Instant.class));
+    }
+
+    @Test
+    void testExecute_BlankKey_ThrowsIllegalArgument() {
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+
+        assertThrows(IllegalArgumentException.class, () -> requests.execute(CLIENT, " ", REQUEST, BookResponse.class, () -> BOOK));
+        verify(testRepository, never()).insertClaim(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testExecute_KeyTooLong_ThrowsIllegalArgument() {
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        String key = "k".repeat(IdempotentRequests.MAX_KEY_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> requests.execute(CLIENT, key, REQUEST, BookResponse.class, () -> BOOK));
+    }
+
+    @Test
+    void testExecute_UnserialisableRequest_ThrowsIllegalState() throws JsonProcessingException {
+        // Arrange
+        doThrow(new JsonProcessingException("boom") { }).when(objectMapper).writeValueAsString(REQUEST);
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+    }
+
+    // ---- Tests: failures while holding the claim ----
+
+    @Test
+    void testExecute_ActionFails_ReleasesClaimSoRetryRunsAgain() {
+        // Arrange
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        Supplier<BookResponse> failing = () -> {
+            throw new IllegalArgumentException("Book title cannot be null or blank");
+        };
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, failing));
+        completesClaims();
+        IdempotentRequests.Result<BookResponse> retry = requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+
+        // Assert
+        verify(testRepository).release(eq(id(CLIENT, KEY)), any(UUID.class));
+        verify(testTransactionManager).rollback(any());
+        assertFalse(retry.replayed());
+    }
+
+    @Test
+    void testExecute_ClaimTakenOverBeforeCompletion_RollsBackWith409() {
+        // Arrange: complete() matches no row
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+        verify(testTransactionManager).rollback(any());
+        verify(testRepository).release(eq(id(CLIENT, KEY)), any(UUID.class));
+        assertEquals(0.0, outcome("executed"));
+    }
+
+    // ---- Tests: retries on the same instance ----
+
+    @Test
+    void testExecute_RetryAfterCompletion_ReplaysFromMemory() {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<BookResponse> create = () -> {
+            runs.incrementAndGet();
+            return BOOK;
+        };
+
+        // Act
+        requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, create);
+        IdempotentRequests.Result<BookResponse> retry = requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, create);
+
+        // Assert
+        assertTrue(retry.replayed());
+        assertSame(BOOK, retry.value());
+        assertEquals(1, runs.get());
+        verify(testRepository).insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+        assertEquals(1.0, outcome("replayed_memory"));
+    }
+
+    @Test
+    void testExecute_MemoryTtlLongerThanTtl_StillReplaysFromMemory() {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(TTL.multipliedBy(2), Duration.ofSeconds(10));
+
+        // Act
+        requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+        IdempotentRequests.Result<BookResponse> retry = requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+
+        // Assert
+        assertTrue(retry.replayed());
+    }
+
+    @Test
+    void testExecute_SameKeyDifferentBody_ThrowsKeyReused() {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+        BookRequest other = new BookRequest("Other", "Synopsis", "Author");
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class, () -> requests.execute(CLIENT, KEY, other, BookResponse.class, () -> BOOK));
+        assertEquals(1.0, outcome("key_reused"));
+    }
+
+    @Test
+    void testExecute_ConcurrentDuplicate_WaitsForFirstAndReplaysWithoutRunning() throws Exception {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FutureTask<IdempotentRequests.Result<BookResponse>> first = new FutureTask<>(
+            () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> {
+                started.countDown();
+                await(finish);
+                return BOOK;
+            }));
+        FutureTask<IdempotentRequests.Result<BookResponse>> duplicate = new FutureTask<>(
+            () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> {
+                throw new AssertionError("duplicate must not run");
+            }));
+
+        // Act
+        new Thread(first).start();
+        started.await();
+        Thread duplicateThread = new Thread(duplicate);
+        duplicateThread.start();
+        awaitParked(duplicateThread);
+        finish.countDown();
+
+        // Assert
+        assertFalse(first.get().replayed());
+        assertTrue(duplicate.get().replayed());
+        assertSame(BOOK, duplicate.get().value());
+        verify(testRepository).insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void testExecute_FirstRequestFails_WaitingDuplicateRunsItself() throws Exception {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        FutureTask<IdempotentRequests.Result<BookResponse>> first = new FutureTask<>(
+            () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> {
+                started.countDown();
+                await(fail);
+                throw new IllegalStateException("database went away");
+            }));
+        FutureTask<IdempotentRequests.Result<BookResponse>> duplicate = new FutureTask<>(
+            () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+
+        // Act
+        new Thread(first).start();
+        started.await();
+        Thread duplicateThread = new Thread(duplicate);
+        duplicateThread.start();
+        awaitParked(duplicateThread);
+        fail.countDown();
+
+        // Assert
+        assertFalse(duplicate.get().replayed());
+        assertSame(BOOK, duplicate.get().value());
+        verify(testRepository, times(2))
+            .insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void testExecute_FirstRequestStillRunning_DuplicateGets409AfterInFlightWait() throws Exception {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FutureTask<IdempotentRequests.Result<BookResponse>> first = new FutureTask<>(
+            () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> {
+                started.countDown();
+                await(finish);
+                return BOOK;
+            }));
+        new Thread(first).start();
+        started.await();
+
+        // Act & Assert
+        try {
+            assertThrows(ConflictException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+            assertEquals(1.0, outcome("in_progress"));
+        } finally {
+            finish.countDown();
+        }
+        assertFalse(first.get().replayed());
+    }
+
+    @Test
+    void testExecute_InterruptedWhileWaitingForFirstRequest_Returns409() throws Exception {
+        // Arrange
+        completesClaims();
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FutureTask<IdempotentRequests.Result<BookResponse>> first = new FutureTask<>(
+            () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> {
+                started.countDown();
+                await(finish);
+                return BOOK;
+            }));
+        new Thread(first).start();
+        started.await();
+
+        // Act & Assert
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ConflictException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            finish.countDown();
+        }
+        Thread.interrupted();
+        first.get();
+    }
+
+    // ---- Tests: keys held or completed by another instance ----
+
+    @Test
+    void testExecute_KeyCompletedElsewhere_ReplaysFromDatabaseWithoutRunning() throws Exception {
+        // Arrange
+        keyHeldElsewhere();
+        when(testRepository.findById(id(CLIENT, KEY)))
+            .thenReturn(Optional.of(record(fingerprint(REQUEST), IdempotencyState.COMPLETED, json(BOOK))));
+
+        // Act
+        IdempotentRequests.Result<BookResponse> result = requests(Duration.ofSeconds(10))
+            .execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> {
+                throw new AssertionError("must not run");
+            });
+
+        // Assert
+        assertTrue(result.replayed());
+        assertEquals(BOOK, result.value());
+        assertEquals(1.0, outcome("replayed_database"));
+    }
+
+    @Test
+    void testExecute_KeyInProgressElsewhere_PollsUntilCompleted() throws Exception {
+        // Arrange
+        keyHeldElsewhere();
+        when(testRepository.findById(id(CLIENT, KEY))).thenReturn(
+            Optional.of(record(fingerprint(REQUEST), IdempotencyState.IN_PROGRESS, null)),
+            Optional.of(record(fingerprint(REQUEST), IdempotencyState.COMPLETED, json(BOOK))));
+
+        // Act
+        IdempotentRequests.Result<BookResponse> result = requests(Duration.ofSeconds(10))
+            .execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+
+        // Assert
+        assertTrue(result.replayed());
+        verify(testRepository, times(2)).findById(id(CLIENT, KEY));
+    }
+
+    @Test
+    void testExecute_KeyInProgressElsewherePastInFlightWait_Returns409() throws Exception {
+        // Arrange
+        keyHeldElsewhere();
+        when(testRepository.findById(id(CLIENT, KEY)))
+            .thenReturn(Optional.of(record(fingerprint(REQUEST), IdempotencyState.IN_PROGRESS, null)));
+        IdempotentRequests requests = requests(Duration.ZERO);
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+        assertEquals(1.0, outcome("in_progress"));
+    }
+
+    @Test
+    void testExecute_InterruptedWhilePolling_Returns409() throws Exception {
+        // Arrange
+        keyHeldElsewhere();
+        when(testRepository.findById(id(CLIENT, KEY)))
+            .thenReturn(Optional.of(record(fingerprint(REQUEST), IdempotencyState.IN_PROGRESS, null)));
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testExecute_KeyCompletedElsewhereWithDifferentBody_ThrowsKeyReused() {
+        // Arrange
+        keyHeldElsewhere();
+        when(testRepository.findById(id(CLIENT, KEY)))
+            .thenReturn(Optional.of(record(UUID.randomUUID(), IdempotencyState.COMPLETED, "{}")));
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+    }
+
+    @Test
+    void testExecute_ClaimReleasedBeforeLookup_ClaimsAgain() {
+        // Arrange: the holder failed between our insert and our read
+        doThrow(new DataIntegrityViolationException("duplicate key")).doNothing()
+            .when(testRepository).insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+        when(testRepository.takeOverClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class),
+            any(Instant.class))).thenReturn(0);
+        when(testRepository.findById(id(CLIENT, KEY))).thenReturn(Optional.empty());
+        completesClaims();
+
+        // Act
+        IdempotentRequests.Result<BookResponse> result = requests(Duration.ofSeconds(10))
+            .execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK);
+
+        // Assert
+        assertFalse(result.replayed());
+        verify(testRepository, times(2))
+            .insertClaim(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void testExecute_UnreadableStoredResponse_ThrowsIllegalState() throws Exception {
+        // Arrange
+        keyHeldElsewhere();
+        when(testRepository.findById(id(CLIENT, KEY)))
+            .thenReturn(Optional.of(record(fingerprint(REQUEST), IdempotencyState.COMPLETED, "not json")));
+        IdempotentRequests requests = requests(Duration.ofSeconds(10));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> requests.execute(CLIENT, KEY, REQUEST, BookResponse.class, () -> BOOK));
+    }
+
+    // ---- Tests: sweepExpired ----
+
+    @Test
+    void testSweepExpired_DeletesBatchesUntilOneComesBackShort() {
+        // Arrange
+        when(testRepository.deleteExpired(any(Instant.class), anyInt())).thenReturn(BATCH_SIZE, BATCH_SIZE, 1);
+
+        // Act
+        long deleted = requests(Duration.ofSeconds(10)).sweepExpired();
+
+        // Assert
+        assertEquals(5, deleted);
+        verify(testRepository, times(3)).deleteExpired(any(Instant.class), eq(BATCH_SIZE));
+        verify(testTransactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void testSweepExpired_NothingExpired_RunsOneBatch() {
+        // Act
+        long deleted = requests(Duration.ofSeconds(10)).sweepExpired();
+
+        // Assert
+        assertEquals(0, deleted);
+        verify(testRepository).deleteExpired(any(Instant.class), eq(BATCH_SIZE));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
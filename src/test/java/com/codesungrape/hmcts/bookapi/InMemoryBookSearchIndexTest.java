@@ -0,0 +1,129 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.service.InMemoryBookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory full-text search fallback used with H2.
+ */
+@ExtendWith(MockitoExtension.class)
+class InMemoryBookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private InMemoryBookSearchIndex searchIndex;
+
+    private Book hobbit;
+    private Book silmarillion;
+    private Book hobbitStudy;
+
+    private static Book book(String title, String author, String synopsis) {
+        return Book.builder()
+            .id(UUID.randomUUID())
+            .title(title)
+            .author(author)
+            .synopsis(synopsis)
+            .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        hobbit = book("The Hobbit", "J. R. R. Tolkien", "A hobbit goes there and back again.");
+        silmarillion = book("The Silmarillion", "J. R. R. Tolkien", "Myths of the First Age.");
+        hobbitStudy = book("Reading Tolkien", "A. Critic", "Essays on the hobbit and the ring.");
+
+        Map<UUID, Book> byId = List.of(hobbit, silmarillion, hobbitStudy).stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+        lenient().when(bookRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            return ((Collection<UUID>) ids).stream().map(byId::get).toList();
+        });
+        when(bookRepository.findAllByDeletedFalse()).thenReturn(List.of(hobbit, silmarillion, hobbitStudy));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesAboveSynopsisMatches() {
+        List<Book> results = searchIndex.search("Hobbit", 0, 10);
+
+        assertEquals(List.of(hobbit, hobbitStudy), results);
+    }
+
+    @Test
+    void testSearch_RequiresEveryTerm() {
+        assertEquals(List.of(silmarillion), searchIndex.search("tolkien myths", 0, 10));
+        assertTrue(searchIndex.search("tolkien dragons", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_PagesWithOffsetAndLimit() {
+        List<Book> all = searchIndex.search("tolkien", 0, 10);
+
+        assertEquals(3, all.size());
+        assertEquals(all.subList(1, 2), searchIndex.search("tolkien", 1, 1));
+    }
+
+    @Test
+    void testRemove_HidesSoftDeletedBook() {
+        searchIndex.remove(hobbit.getId());
+
+        assertEquals(List.of(hobbitStudy), searchIndex.search("hobbit", 0, 10));
+    }
+
+    @Test
+    void testIndex_ReplacedBook_MatchesOnlyItsNewText() {
+        // Arrange
+        hobbit.setTitle("There and Back Again");
+
+        // Act
+        searchIndex.index(hobbit);
+
+        // Assert: the old title no longer matches, the new one does
+        assertEquals(List.of(hobbitStudy), searchIndex.search("hobbit", 0, 10));
+        assertEquals(List.of(hobbit), searchIndex.search("back again", 0, 10));
+    }
+
+    @Test
+    void testIndex_SameBookAgain_DoesNotCountItsTermsTwice() {
+        // Act: indexed once by rebuild, twice more here
+        searchIndex.index(hobbit);
+        searchIndex.index(hobbit);
+
+        // Assert: the author match (2) still ranks below the title match (4)
+        assertEquals(hobbitStudy, searchIndex.search("tolkien", 0, 10).get(0));
+    }
+
+    @Test
+    void testSearch_SkipsBooksDeletedSinceIndexing() {
+        hobbit.setDeleted(true);
+
+        assertEquals(List.of(hobbitStudy), searchIndex.search("hobbit", 0, 10));
+    }
+
+    @Test
+    void testSearch_QueryWithoutTerms_ReturnsNothing() {
+        assertTrue(searchIndex.search("?!", 0, 10).isEmpty());
+    }
+}
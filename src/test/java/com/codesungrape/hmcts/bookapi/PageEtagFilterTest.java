@@ -0,0 +1,98 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.PageEtagFilter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for PageEtagFilter: which pages are buffered for an ETag and which are streamed.
+ */
+class PageEtagFilterTest {
+
+    private static final String BODY = "{\"items\":[]}";
+
+    private final PageEtagFilter filter = new PageEtagFilter(100);
+
+    private final FilterChain handler = (req, res) -> {
+        res.setContentType("application/json");
+        res.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    private static MockHttpServletRequest page(String limit) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        if (limit != null) {
+            request.addParameter("limit", limit);
+        }
+        return request;
+    }
+
+    @Test
+    void testDefaultPage_GetsWeakEtag() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(page(null), response, handler);
+
+        // Assert
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void testPageAtTheCap_GetsEtag() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(page(" 100 "), response, handler);
+
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+    }
+
+    @Test
+    void testPageOverTheCap_StreamsWithoutEtag() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(page("101"), response, handler);
+
+        // Assert
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void testMalformedLimit_IsBuffered() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(page("lots"), response, handler);
+
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+    }
+
+    @Test
+    void testIfNoneMatch_WeakEtagMatches_Returns304() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(page(null), first, handler);
+        MockHttpServletRequest revalidate = page(null);
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(revalidate, second, handler);
+
+        // Assert
+        assertEquals(304, second.getStatus());
+        assertEquals("", second.getContentAsString());
+    }
+}
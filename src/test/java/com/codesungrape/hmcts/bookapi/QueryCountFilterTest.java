@@ -0,0 +1,92 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.QueryCountFilter;
+import com.codesungrape.hmcts.bookapi.repository.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for the per-request statement count and its X-Query-Count header.
+ */
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private DistributionSummary queriesPerRequest() {
+        return registry.get("bookapi.request.queries").summary();
+    }
+
+    @Test
+    void testFilter_StampsCountBeforeBodyIsWritten() throws Exception {
+        // Arrange: two statements, then the body; a statement after the body is too late for the header
+        FilterChain chain = (req, res) -> {
+            QueryCounter.increment();
+            QueryCounter.increment();
+            res.getWriter().write("{}");
+            QueryCounter.increment();
+        };
+
+        // Act
+        new QueryCountFilter(registry, true).doFilter(request, response, chain);
+
+        // Assert: the header reflects the body-time count, the metric the full count
+        assertEquals("2", response.getHeader(QueryCountFilter.HEADER));
+        assertEquals(1, queriesPerRequest().count());
+        assertEquals(3.0, queriesPerRequest().totalAmount());
+    }
+
+    @Test
+    void testFilter_BodilessResponse_StampsAfterChain() throws Exception {
+        FilterChain chain = (req, res) -> QueryCounter.increment();
+
+        new QueryCountFilter(registry, true).doFilter(request, response, chain);
+
+        assertEquals("1", response.getHeader(QueryCountFilter.HEADER));
+    }
+
+    @Test
+    void testFilter_StreamAndFlush_StampOnce() throws Exception {
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write('x');
+            QueryCounter.increment();
+            res.flushBuffer();
+        };
+
+        new QueryCountFilter(registry, true).doFilter(request, response, chain);
+
+        assertEquals("0", response.getHeader(QueryCountFilter.HEADER));
+    }
+
+    @Test
+    void testFilter_AlreadyCommitted_LeavesHeadersAlone() throws Exception {
+        // Arrange: e.g. an error page already flushed headers without asking this wrapper for the body
+        FilterChain chain = (req, res) -> response.setCommitted(true);
+
+        new QueryCountFilter(registry, true).doFilter(request, response, chain);
+
+        assertNull(response.getHeader(QueryCountFilter.HEADER));
+    }
+
+    @Test
+    void testFilter_HeaderDisabled_PassesResponseThroughAndStillRecords() throws Exception {
+        FilterChain chain = (req, res) -> {
+            assertSame(response, res);
+            QueryCounter.increment();
+        };
+
+        new QueryCountFilter(registry, false).doFilter(request, response, chain);
+
+        assertNull(response.getHeader(QueryCountFilter.HEADER));
+        assertEquals(1.0, queriesPerRequest().totalAmount());
+    }
+}
@@ -0,0 +1,99 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.QueryCountFilter;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end checks of the query instrumentation: statement counts per request (the N+1 guard, including the
+ * one-query multi-get) and the Prometheus scrape endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability // Metrics export (Prometheus) is off in tests by default
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void testListBooks_RunsPageQueryAndCountOnly() throws Exception {
+        mockMvc.perform(get("/books").param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryCountFilter.HEADER, "2"));
+    }
+
+    @Test
+    void testGetBookById_SecondReadIsServedFromCache() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(get("/books/{bookId}", id))
+            .andExpect(status().isNotFound())
+            .andExpect(header().string(QueryCountFilter.HEADER, "1"));
+        mockMvc.perform(get("/books/{bookId}", id))
+            .andExpect(status().isNotFound())
+            .andExpect(header().string(QueryCountFilter.HEADER, "0"));
+    }
+
+    @Test
+    void testBulkGet_ResolvesEveryIdWithOneQuery() throws Exception {
+        List<UUID> live = Stream.generate(() -> bookRepository.save(Book.builder()
+                .title("Reading list")
+                .synopsis("Synopsis")
+                .author("Author")
+                .build()).getId())
+            .limit(3)
+            .toList();
+        UUID unknown = UUID.randomUUID();
+        String body = Stream.of(live.get(2), unknown, live.get(0), live.get(1), live.get(0))
+            .map(id -> "\"" + id + "\"")
+            .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(post("/books/bulk-get").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryCountFilter.HEADER, "1"))
+            .andExpect(jsonPath("$.items.length()").value(3))
+            .andExpect(jsonPath("$.items[0].id").value(live.get(2).toString()))
+            .andExpect(jsonPath("$.items[1].id").value(live.get(0).toString()))
+            .andExpect(jsonPath("$.items[2].id").value(live.get(1).toString()))
+            .andExpect(jsonPath("$.missing[0]").value(unknown.toString()));
+    }
+
+    @Test
+    void testPrometheusEndpoint_ExposesServiceAndJdbcTimings() throws Exception {
+        mockMvc.perform(get("/books"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("bookapi_service_seconds_bucket")))
+            .andExpect(content().string(containsString("bookapi_jdbc_query_seconds_bucket")))
+            .andExpect(content().string(containsString("bookapi_request_queries")))
+            // Hibernate statistics are bound once, by Spring Boot's auto-configuration
+            .andExpect(content().string(containsString("hibernate_sessions_open")))
+            .andExpect(content().string(not(containsString("entityManagerFactory=\"bookapi\""))));
+    }
+}
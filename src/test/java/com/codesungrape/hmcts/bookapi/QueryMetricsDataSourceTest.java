@@ -0,0 +1,161 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.repository.QueryCounter;
+import com.codesungrape.hmcts.bookapi.repository.QueryMetricsDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QueryMetricsDataSource: statement and transaction timers, slow tagging and per-request counts.
+ */
+@ExtendWith(MockitoExtension.class)
+class QueryMetricsDataSourceTest {
+
+    @Mock
+    private DataSource testTarget;
+
+    @Mock
+    private Connection testConnection;
+
+    @Mock
+    private PreparedStatement testPreparedStatement;
+
+    @Mock
+    private Statement testStatement;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private Connection connection(Duration slowThreshold) throws SQLException {
+        when(testTarget.getConnection()).thenReturn(testConnection);
+        return new QueryMetricsDataSource(testTarget, registry, slowThreshold).getConnection();
+    }
+
+    private long queries(boolean slow) {
+        return registry.get("bookapi.jdbc.query").tag("slow", Boolean.toString(slow)).timer().count();
+    }
+
+    // ----- Tests: statements -----
+
+    @Test
+    void testPreparedStatement_TimesExecutionsOnlyAndCountsThem() throws SQLException {
+        // Arrange
+        when(testConnection.prepareStatement("SELECT 1")).thenReturn(testPreparedStatement);
+        when(testPreparedStatement.executeUpdate()).thenReturn(1);
+        Connection connection = connection(Duration.ofDays(1));
+        QueryCounter counter = QueryCounter.start();
+
+        // Act
+        try {
+            PreparedStatement statement = connection.prepareStatement("SELECT 1");
+            statement.setString(1, "ignored");
+            assertEquals(1, statement.executeUpdate());
+            statement.executeUpdate();
+        } finally {
+            counter.stop();
+        }
+
+        // Assert: setString is delegated but neither timed nor counted
+        verify(testPreparedStatement).setString(1, "ignored");
+        assertEquals(2, counter.count());
+        assertEquals(2, queries(false));
+        assertEquals(0, queries(true));
+    }
+
+    @Test
+    void testStatements_OverThreshold_AreTaggedSlow() throws SQLException {
+        // Arrange: a zero threshold makes every statement slow
+        when(testConnection.prepareStatement("SELECT 1")).thenReturn(testPreparedStatement);
+        when(testConnection.createStatement()).thenReturn(testStatement);
+        Connection connection = connection(Duration.ZERO);
+
+        // Act: prepared SQL, SQL passed to execute, and a batch with no SQL argument
+        connection.prepareStatement("SELECT 1").executeQuery();
+        Statement statement = connection.createStatement();
+        statement.execute("SELECT 2");
+        statement.executeBatch();
+
+        // Assert
+        assertEquals(3, queries(true));
+        assertEquals(0, queries(false));
+    }
+
+    @Test
+    void testStatement_Failure_IsRethrownUnwrappedAndStillTimed() throws SQLException {
+        when(testConnection.prepareStatement("UPDATE book SET title = ?")).thenReturn(testPreparedStatement);
+        when(testPreparedStatement.executeUpdate()).thenThrow(new SQLException("constraint violated"));
+        Connection connection = connection(Duration.ofDays(1));
+
+        PreparedStatement statement = connection.prepareStatement("UPDATE book SET title = ?");
+        SQLException exception = assertThrows(SQLException.class, statement::executeUpdate);
+
+        assertEquals("constraint violated", exception.getMessage());
+        assertEquals(1, queries(false));
+    }
+
+    @Test
+    void testIncrement_WithoutStartedCounter_IsIgnored() {
+        QueryCounter counter = QueryCounter.start();
+        counter.stop();
+
+        QueryCounter.increment();
+
+        assertEquals(0, counter.count());
+    }
+
+    // ----- Tests: transactions and other connection calls -----
+
+    @Test
+    void testCommitAndRollback_AreTimedByOutcome() throws SQLException {
+        Savepoint savepoint = mock(Savepoint.class);
+        when(testConnection.getAutoCommit()).thenReturn(false);
+        Connection connection = connection(Duration.ofDays(1));
+
+        assertFalse(connection.getAutoCommit());
+        connection.commit();
+        connection.rollback();
+        connection.rollback(savepoint);
+
+        verify(testConnection).rollback(savepoint);
+        assertEquals(1, registry.get("bookapi.jdbc.transaction").tag("outcome", "commit").timer().count());
+        assertEquals(1, registry.get("bookapi.jdbc.transaction").tag("outcome", "rollback").timer().count(),
+            "Rolling back to a savepoint does not end the transaction");
+    }
+
+    @Test
+    void testGetConnectionWithCredentials_IsInstrumented() throws SQLException {
+        when(testTarget.getConnection("user", "secret")).thenReturn(testConnection);
+        when(testConnection.createStatement()).thenReturn(testStatement);
+        when(testStatement.execute("SELECT 1")).thenReturn(true);
+
+        Connection connection = new QueryMetricsDataSource(testTarget, registry, Duration.ofDays(1))
+            .getConnection("user", "secret");
+
+        assertTrue(connection.createStatement().execute("SELECT 1"));
+        assertEquals(1, queries(false));
+    }
+}
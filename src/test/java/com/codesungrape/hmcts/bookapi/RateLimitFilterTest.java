@@ -0,0 +1,127 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.Clients;
+import com.codesungrape.hmcts.bookapi.controller.RateLimitFilter;
+import com.codesungrape.hmcts.bookapi.service.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for RateLimitFilter: which limit a request counts against, the RateLimit-* headers and the 429.
+ */
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(
+        new RateLimiter("read", 2, Duration.ofSeconds(10), 1000, registry, nanos::get),
+        new RateLimiter("write", 1, Duration.ofSeconds(30), 1000, registry, nanos::get)
+    );
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(Clients.API_KEY_HEADER, apiKey);
+        return request;
+    }
+
+    /**
+     * Runs the request through the filter and reports whether the handler was reached.
+     */
+    private boolean handled(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean handled = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> handled.set(true));
+        return handled.get();
+    }
+
+    @Test
+    void testAllowedRequest_ReachesHandlerWithRateLimitHeaders() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean handled = handled(request("GET", "/books", "client-a"), response);
+
+        // Assert
+        assertTrue(handled);
+        assertEquals("2", response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("5", response.getHeader(RateLimitFilter.RESET_HEADER));
+        assertEquals("2;w=10", response.getHeader(RateLimitFilter.POLICY_HEADER));
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testOverLimit_429WithRetryAfterAndHandlerNotReached() throws Exception {
+        // Arrange
+        handled(request("POST", "/books/bulk", "client-a"), new MockHttpServletResponse());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean handled = handled(request("DELETE", "/books/1", "client-a"), response);
+
+        // Assert
+        assertFalse(handled);
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("1;w=30", response.getHeader(RateLimitFilter.POLICY_HEADER));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON_VALUE, response.getContentType());
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+        assertTrue(response.getContentAsString().contains("retry after 30 seconds"));
+    }
+
+    @Test
+    void testReadsAndWrites_HaveSeparateLimits() throws Exception {
+        // Arrange: the write limit is used up
+        handled(request("PUT", "/books/1", "client-a"), new MockHttpServletResponse());
+
+        // Act & Assert
+        assertTrue(handled(request("GET", "/books", "client-a"), new MockHttpServletResponse()));
+        assertTrue(handled(request("HEAD", "/books", "client-a"), new MockHttpServletResponse()));
+        assertFalse(handled(request("OPTIONS", "/books", "client-a"), new MockHttpServletResponse()));
+        assertTrue(handled(request("POST", "/books/bulk", "client-b"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void testBulkGet_CountsAgainstTheReadLimit() throws Exception {
+        // Arrange: the write limit is used up
+        handled(request("POST", "/books/bulk-delete", "client-a"), new MockHttpServletResponse());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean handled = handled(request("POST", "/books/bulk-get", "client-a"), response);
+
+        // Assert
+        assertTrue(handled);
+        assertEquals("2;w=10", response.getHeader(RateLimitFilter.POLICY_HEADER));
+    }
+
+    @Test
+    void testActuator_IsNotLimited() throws Exception {
+        // Arrange
+        for (int i = 0; i < 2; i++) {
+            handled(request("GET", "/books", "client-a"), new MockHttpServletResponse());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean handled = handled(request("GET", "/actuator/prometheus", "client-a"), response);
+
+        // Assert
+        assertTrue(handled);
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+}
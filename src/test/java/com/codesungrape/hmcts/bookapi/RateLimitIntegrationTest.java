@@ -0,0 +1,51 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.Clients;
+import com.codesungrape.hmcts.bookapi.controller.RateLimitFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end check that the rate limiter is registered in front of the controllers and publishes its meters.
+ */
+@SpringBootTest(properties = {"bookapi.ratelimit.enabled=true", "bookapi.ratelimit.write-limit=1"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability // Metrics export (Prometheus) is off in tests by default
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testSecondWrite_IsRejectedBeforeTheController() throws Exception {
+        mockMvc.perform(delete("/books/{bookId}", UUID.randomUUID()).header(Clients.API_KEY_HEADER, "client-a"))
+            .andExpect(status().isNotFound())
+            .andExpect(header().string(RateLimitFilter.LIMIT_HEADER, "1"));
+
+        mockMvc.perform(delete("/books/{bookId}", UUID.randomUUID()).header(Clients.API_KEY_HEADER, "client-a"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        mockMvc.perform(get("/books").header(Clients.API_KEY_HEADER, "client-a"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(RateLimitFilter.LIMIT_HEADER, "600"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("bookapi_ratelimit_requests_total{operation=\"write\",outcome=\"rejected\"} 1.0")));
+    }
+}
@@ -0,0 +1,165 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.service.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for RateLimiter: the token bucket arithmetic, per-client isolation and the bounded key table.
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // 3 requests per 3 seconds: one token every second, bursts of up to 3
+    private final RateLimiter limiter = new RateLimiter("read", 3, Duration.ofSeconds(3), 100_000, registry, nanos::get);
+
+    private double requests(String outcome) {
+        return registry.get("bookapi.ratelimit.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testTryAcquire_BurstUpToLimitThenRejected() {
+        // Act & Assert
+        RateLimiter.Decision first = limiter.tryAcquire("client-a");
+        assertTrue(first.allowed());
+        assertEquals(3, first.limit());
+        assertEquals(2, first.remaining());
+        assertEquals(SECOND, first.resetNanos());
+
+        assertEquals(1, limiter.tryAcquire("client-a").remaining());
+        RateLimiter.Decision last = limiter.tryAcquire("client-a");
+        assertTrue(last.allowed());
+        assertEquals(0, last.remaining());
+        assertEquals(3 * SECOND, last.resetNanos());
+
+        RateLimiter.Decision rejected = limiter.tryAcquire("client-a");
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(3 * SECOND, rejected.resetNanos());
+        assertEquals(SECOND, rejected.retryAfterNanos());
+    }
+
+    @Test
+    void testTryAcquire_RejectionTakesNoToken() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("client-a");
+        }
+
+        // Act
+        nanos.addAndGet(SECOND);
+
+        // Assert: the rejected fourth request did not push the refill back
+        assertTrue(limiter.tryAcquire("client-a").allowed());
+        assertFalse(limiter.tryAcquire("client-a").allowed());
+    }
+
+    @Test
+    void testTryAcquire_RefillsContinuouslyUpToTheLimit() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("client-a");
+        }
+
+        // Act: idle for much longer than the window
+        nanos.addAndGet(60 * SECOND);
+
+        // Assert: the burst is capped at the limit, not at everything accrued
+        assertEquals(2, limiter.tryAcquire("client-a").remaining());
+    }
+
+    @Test
+    void testTryAcquire_ClientsHaveSeparateBuckets() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("client-a");
+        }
+
+        // Act & Assert
+        assertFalse(limiter.tryAcquire("client-a").allowed());
+        assertTrue(limiter.tryAcquire("client-b").allowed());
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    @Test
+    void testTryAcquire_CountsOutcomesAndTrackedKeys() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("client-a");
+        }
+
+        // Assert
+        assertEquals(3, requests("allowed"));
+        assertEquals(2, requests("rejected"));
+        assertEquals(1, registry.get("bookapi.ratelimit.keys").tag("operation", "read").gauge().value());
+    }
+
+    @Test
+    void testTryAcquire_NewClientAfterWindow_SweepsFullBucketsOnly() {
+        // Arrange
+        limiter.tryAcquire("idle");
+        nanos.addAndGet(3 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("busy");
+        }
+        nanos.addAndGet(SECOND);
+
+        // Act: every stripe is due a sweep by now; the ones holding a bucket sweep when a new client lands on them
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("new-" + i);
+        }
+
+        // Assert: idle's bucket was full (nothing to remember), busy's was not
+        assertEquals(1001, limiter.trackedKeys());
+        assertEquals(0, limiter.tryAcquire("busy").remaining());
+    }
+
+    @Test
+    void testTryAcquire_KeyTableFull_NewClientsShareAnOverflowBucket() {
+        // Arrange: one client per stripe, each allowed a single request
+        RateLimiter small = new RateLimiter("write", 1, Duration.ofMinutes(1), RateLimiter.STRIPES, registry, nanos::get);
+
+        // Act
+        int allowed = 0;
+        for (int i = 0; i < 200; i++) {
+            if (small.tryAcquire("client-" + i).allowed()) {
+                allowed++;
+            }
+        }
+
+        // Assert: at most one tracked client and one overflow request per stripe got through
+        long tracked = small.trackedKeys();
+        assertTrue(tracked <= RateLimiter.STRIPES);
+        assertTrue(allowed <= 2 * RateLimiter.STRIPES);
+        assertEquals(200 - tracked, registry.get("bookapi.ratelimit.overflow").tag("operation", "write").counter().count());
+    }
+
+    @Test
+    void testConstructor_InvalidSettings_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("read", 0, Duration.ofSeconds(1), 1000, registry, nanos::get));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("read", 2, Duration.ofNanos(1), 1000, registry, nanos::get));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter("read", 1, Duration.ofSeconds(1), 1, registry, nanos::get));
+    }
+
+    @Test
+    void testPolicyAndSeconds_RoundUpToWholeSeconds() {
+        assertEquals("3;w=3", limiter.policy());
+        assertEquals("10;w=1", new RateLimiter("read", 10, Duration.ofMillis(500), 1000, registry, nanos::get).policy());
+        assertEquals(0, RateLimiter.seconds(0));
+        assertEquals(1, RateLimiter.seconds(1));
+        assertEquals(1, RateLimiter.seconds(SECOND));
+        assertEquals(2, RateLimiter.seconds(SECOND + 1));
+    }
+}
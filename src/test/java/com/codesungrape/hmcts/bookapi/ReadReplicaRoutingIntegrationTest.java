@@ -0,0 +1,153 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.ReadYourWritesFilter;
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.service.BookEventPublisher;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end replica routing with two in-memory H2 databases. The "replica" gets the primary's schema but never its
+ * data, so it behaves like a replica that has not caught up: anything it serves is visibly stale.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.PRIMARY_URL,
+    "bookapi.datasource.replica.enabled=true",
+    "bookapi.datasource.replica.url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+    "bookapi.datasource.replica.username=sa",
+    "bookapi.datasource.replica.password=",
+    "bookapi.datasource.replica.lag-query=SELECT 0",
+    "bookapi.datasource.replica.lag-check-interval=50ms",
+    "bookapi.datasource.replica.sticky-secret=test-secret"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:rw-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:rw-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookEventPublisher bookEventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void copySchemaToReplica() throws InterruptedException {
+        JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", "password"));
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        Integer tables = replica.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'BOOK'", Integer.class
+        );
+        if (tables == 0) {
+            List<String> ddl = primary.queryForList("SCRIPT NODATA", String.class);
+            ddl.stream().filter(sql -> !sql.startsWith("CREATE USER")).forEach(replica::execute);
+        }
+
+        // Routing only uses the replica once the lag monitor has vouched for it
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("bookapi.datasource.replica.usable").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double replicaRoutes() {
+        return meterRegistry.get("bookapi.datasource.route").tag("target", "replica").counter().count();
+    }
+
+    private UUID createBook() {
+        return bookService.createBook(new BookRequest("Title", "Synopsis", "Author")).getId();
+    }
+
+    @Test
+    void testReadOnlyListing_IsServedByReplica_PointLookupByPrimary() throws Exception {
+        // Arrange: written to the primary only
+        UUID id = createBook();
+
+        // Act & Assert: the listing is read-only, so it sees the (stale) replica
+        mockMvc.perform(get("/books"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total_count").value(0));
+        mockMvc.perform(get("/books/{bookId}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(id.toString()));
+        assertTrue(replicaRoutes() > 0);
+    }
+
+    @Test
+    void testBothPools_PublishHikariMetrics() {
+        // The pools are not DataSource beans, so their meters come from ReplicaRoutingConfig rather than Boot
+        for (String pool : List.of("primary", "replica")) {
+            assertNotNull(meterRegistry.get("hikaricp.connections").tag("pool", pool).gauge());
+            assertNotNull(meterRegistry.get("hikaricp.connections.pending").tag("pool", pool).gauge());
+        }
+    }
+
+    @Test
+    void testAfterWrite_SameClientReadsItsWritesFromPrimary() throws Exception {
+        // Arrange
+        UUID id = createBook();
+
+        // Act: the client writes, and is handed the signed time of its write
+        String lastWrite = mockMvc.perform(put("/books/{bookId}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\",\"synopsis\":\"Synopsis\",\"author\":\"Author\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(ReadYourWritesFilter.HEADER);
+
+        // Assert: sending the token back pins the client to the primary, so it sees the book; a client without one reads the replica
+        mockMvc.perform(get("/books").header(ReadYourWritesFilter.HEADER, lastWrite).param("limit", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[?(@.id == '" + id + "')].title").value("New"));
+        mockMvc.perform(get("/books"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total_count").value(0));
+    }
+
+    @Test
+    void testChangeFeed_NeverReadsFromReplica() throws Exception {
+        // Arrange: the change exists on the primary only
+        UUID id = createBook();
+        bookEventPublisher.drain();
+        double replicaRoutesBefore = replicaRoutes();
+
+        // Act & Assert: the stale replica would return no changes at all
+        MvcResult started = mockMvc.perform(get("/books/changes").param("limit", "1000"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[?(@.book_id == '" + id + "')]").exists());
+        assertEquals(replicaRoutesBefore, replicaRoutes());
+    }
+}
@@ -0,0 +1,124 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.repository.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ReadWriteRoutingDataSource against two in-memory H2 databases standing in for primary and replica.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primary, replica, replicaUsable::get, meterRegistry)
+        );
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Each database knows its own name, so a query shows where it was routed
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        template.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String whoami(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private double routes(String target) {
+        return meterRegistry.get("bookapi.datasource.route").tag("target", target).counter().count();
+    }
+
+    // A read-only transaction in an allowReplica() scope, as a @ReplicaRead method runs
+    private String whoamiAllowingReplica(TransactionTemplate transaction) {
+        try (ReadWriteRoutingDataSource.Scope scope = ReadWriteRoutingDataSource.allowReplica()) {
+            return whoami(transaction);
+        }
+    }
+
+    @Test
+    void testOptedInReadOnlyTransaction_GoesToReplica() {
+        assertEquals("replica", whoamiAllowingReplica(readOnlyTransaction));
+        assertEquals(1, routes("replica"));
+        assertFalse(ReadWriteRoutingDataSource.isReplicaAllowed());
+    }
+
+    @Test
+    void testReadOnlyTransactionWithoutOptIn_GoesToPrimary() {
+        assertEquals("primary", whoami(readOnlyTransaction));
+        assertEquals(1, routes("primary"));
+    }
+
+    @Test
+    void testOptedInWriteTransaction_GoesToPrimary() {
+        assertEquals("primary", whoamiAllowingReplica(writeTransaction));
+        assertEquals(1, routes("primary"));
+    }
+
+    @Test
+    void testNoTransaction_GoesToPrimary() {
+        try (ReadWriteRoutingDataSource.Scope scope = ReadWriteRoutingDataSource.allowReplica()) {
+            assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+        }
+    }
+
+    @Test
+    void testReplicaUnusable_ReadOnlyFallsBackToPrimary() {
+        replicaUsable.set(false);
+
+        assertEquals("primary", whoamiAllowingReplica(readOnlyTransaction));
+    }
+
+    @Test
+    void testPinnedToPrimary_OptedInReadOnlyGoesToPrimaryUntilClosed() {
+        try (ReadWriteRoutingDataSource.Scope pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            assertTrue(ReadWriteRoutingDataSource.isPinnedToPrimary());
+            assertEquals("primary", whoamiAllowingReplica(readOnlyTransaction));
+        }
+
+        assertFalse(ReadWriteRoutingDataSource.isPinnedToPrimary());
+        assertEquals("replica", whoamiAllowingReplica(readOnlyTransaction));
+    }
+
+    @Test
+    void testNestedPins_InnerCloseKeepsOuterPin() {
+        try (ReadWriteRoutingDataSource.Scope outer = ReadWriteRoutingDataSource.pinToPrimary()) {
+            try (ReadWriteRoutingDataSource.Scope inner = ReadWriteRoutingDataSource.pinToPrimary()) {
+                assertTrue(ReadWriteRoutingDataSource.isPinnedToPrimary());
+            }
+            assertTrue(ReadWriteRoutingDataSource.isPinnedToPrimary());
+        }
+        assertFalse(ReadWriteRoutingDataSource.isPinnedToPrimary());
+    }
+}
@@ -0,0 +1,182 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.ReadYourWritesFilter;
+import com.codesungrape.hmcts.bookapi.repository.ReadWriteRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ReadYourWritesFilter: which requests are pinned to the primary, for how long, and the signed
+ * token that carries a client's last write between instances.
+ */
+class ReadYourWritesFilterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+    private static final String SECRET = "shared-secret";
+    private static final Instant WRITE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    // One filter per instance and moment; instances only share the secret
+    private static ReadYourWritesFilter instanceAt(Instant now, String secret) throws Exception {
+        return new ReadYourWritesFilter(WINDOW, secret, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static MockHttpServletRequest request(String method, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/books");
+        if (token != null) {
+            request.addHeader(ReadYourWritesFilter.HEADER, token);
+        }
+        return request;
+    }
+
+    /**
+     * Runs the request through the filter and reports whether the handler ran pinned to the primary.
+     */
+    private static boolean pinned(ReadYourWritesFilter filter, MockHttpServletRequest request, MockHttpServletResponse response)
+        throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> pinned.set(ReadWriteRoutingDataSource.isPinnedToPrimary()));
+        assertFalse(ReadWriteRoutingDataSource.isPinnedToPrimary());
+        return pinned.get();
+    }
+
+    private static boolean pinned(ReadYourWritesFilter filter, MockHttpServletRequest request) throws Exception {
+        return pinned(filter, request, new MockHttpServletResponse());
+    }
+
+    // The token a write at WRITE_TIME is answered with
+    private static String tokenOfWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(pinned(instanceAt(WRITE_TIME, SECRET), request("PUT", null), response));
+        return response.getHeader(ReadYourWritesFilter.HEADER);
+    }
+
+    @Test
+    void testRead_NoToken_NotPinned() throws Exception {
+        assertFalse(pinned(instanceAt(WRITE_TIME, SECRET), request("GET", null)));
+    }
+
+    @Test
+    void testWrite_IsPinnedAndIssuesTokenAsHeaderAndCookie() throws Exception {
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean writePinned = pinned(instanceAt(WRITE_TIME, SECRET), request("POST", null), response);
+
+        // Assert
+        assertTrue(writePinned);
+        String token = response.getHeader(ReadYourWritesFilter.HEADER);
+        assertNotNull(token);
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE + "=" + token + "; Path=/; Max-Age=5;"), cookie);
+        assertTrue(cookie.contains("HttpOnly"), cookie);
+        assertTrue(cookie.contains("SameSite=Lax"), cookie);
+    }
+
+    @Test
+    void testHeaderToken_PinsReadsOnAnyInstanceWithinTheWindow() throws Exception {
+        // Arrange
+        String token = tokenOfWrite();
+
+        // Act & Assert: another instance, just inside and just past the window
+        assertTrue(pinned(instanceAt(WRITE_TIME.plus(WINDOW).minusMillis(1), SECRET), request("GET", token)));
+        assertFalse(pinned(instanceAt(WRITE_TIME.plus(WINDOW), SECRET), request("GET", token)));
+    }
+
+    @Test
+    void testCookieToken_PinsReads() throws Exception {
+        // Arrange
+        MockHttpServletRequest read = request("GET", null);
+        read.setCookies(new Cookie("other", "value"), new Cookie(ReadYourWritesFilter.COOKIE, tokenOfWrite()));
+
+        // Act & Assert
+        assertTrue(pinned(instanceAt(WRITE_TIME.plusSeconds(1), SECRET), read));
+    }
+
+    @Test
+    void testUnrelatedCookies_NotPinned() throws Exception {
+        MockHttpServletRequest read = request("GET", null);
+        read.setCookies(new Cookie("other", "value"));
+
+        assertFalse(pinned(instanceAt(WRITE_TIME, SECRET), read));
+    }
+
+    @Test
+    void testForgedOrMalformedToken_NotPinned() throws Exception {
+        // Arrange
+        String token = tokenOfWrite();
+        String signature = token.substring(token.indexOf('.'));
+        ReadYourWritesFilter later = instanceAt(WRITE_TIME.plusSeconds(1), SECRET);
+
+        // Act & Assert: another secret, a moved time, no signature at all
+        assertFalse(pinned(instanceAt(WRITE_TIME.plusSeconds(1), "other-secret"), request("GET", token)));
+        assertFalse(pinned(later, request("GET", WRITE_TIME.plusSeconds(1).toEpochMilli() + signature)));
+        assertFalse(pinned(later, request("GET", "not-a-token")));
+    }
+
+    @Test
+    void testContextPath_ScopesTheCookie() throws Exception {
+        MockHttpServletRequest write = new MockHttpServletRequest("DELETE", "/api/books/1");
+        write.setContextPath("/api");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        pinned(instanceAt(WRITE_TIME, SECRET), write, response);
+
+        assertTrue(response.getHeader(HttpHeaders.SET_COOKIE).contains("Path=/api;"));
+    }
+
+    @Test
+    void testOptions_IsNotAWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(pinned(instanceAt(WRITE_TIME, SECRET), request("OPTIONS", null), response));
+        assertNull(response.getHeader(ReadYourWritesFilter.HEADER));
+    }
+
+    @Test
+    void testBulkGet_IsAReadEvenThoughItIsAPost() throws Exception {
+        MockHttpServletRequest bulkGet = new MockHttpServletRequest("POST", "/api/books/bulk-get");
+        bulkGet.setContextPath("/api");
+
+        assertFalse(pinned(instanceAt(WRITE_TIME, SECRET), bulkGet));
+    }
+
+    @Test
+    void testBulkDelete_IsAWrite() throws Exception {
+        assertTrue(pinned(instanceAt(WRITE_TIME, SECRET), new MockHttpServletRequest("POST", "/books/bulk-delete")));
+    }
+
+    @Test
+    void testBulkGetPathWithAnotherMethod_IsAWrite() throws Exception {
+        assertTrue(pinned(instanceAt(WRITE_TIME, SECRET), new MockHttpServletRequest("PUT", "/books/bulk-get")));
+    }
+
+    @Test
+    void testSystemClockConstructor_PinsAfterWrite() throws Exception {
+        ReadYourWritesFilter systemFilter = new ReadYourWritesFilter(WINDOW, SECRET);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        pinned(systemFilter, request("PUT", null), response);
+
+        assertTrue(pinned(systemFilter, request("GET", response.getHeader(ReadYourWritesFilter.HEADER))));
+    }
+
+    @Test
+    void testMissingSecret_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ReadYourWritesFilter(WINDOW, null));
+        assertThrows(IllegalArgumentException.class, () -> new ReadYourWritesFilter(WINDOW, " "));
+    }
+}
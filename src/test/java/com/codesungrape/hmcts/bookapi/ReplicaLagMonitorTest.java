@@ -0,0 +1,107 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.repository.ReplicaLagMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ReplicaLagMonitor against an in-memory H2 replica stand-in, with the lag supplied by the probe query.
+ */
+class ReplicaLagMonitorTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+    private ReplicaLagMonitor monitor(String lagQuery) {
+        return new ReplicaLagMonitor(replica, lagQuery, MAX_LAG, meterRegistry);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    void testBeforeFirstProbe_Unusable() {
+        try (ReplicaLagMonitor monitor = monitor("SELECT 0")) {
+            assertFalse(monitor.getAsBoolean());
+            assertTrue(Double.isNaN(gauge("bookapi.datasource.replica.lag")));
+        }
+    }
+
+    @Test
+    void testCheck_LagWithinMax_Usable() {
+        try (ReplicaLagMonitor monitor = monitor("SELECT 1.5")) {
+            monitor.check();
+
+            assertTrue(monitor.getAsBoolean());
+            assertEquals(1.5, gauge("bookapi.datasource.replica.lag"));
+            assertEquals(1, gauge("bookapi.datasource.replica.usable"));
+        }
+    }
+
+    @Test
+    void testCheck_LagAboveMax_Unusable() {
+        try (ReplicaLagMonitor monitor = monitor("SELECT 30")) {
+            monitor.check();
+
+            assertFalse(monitor.getAsBoolean());
+            assertEquals(30, gauge("bookapi.datasource.replica.lag"));
+            assertEquals(0, gauge("bookapi.datasource.replica.usable"));
+        }
+    }
+
+    @Test
+    void testCheck_UnknownLag_Unusable() {
+        try (ReplicaLagMonitor monitor = monitor("SELECT CAST(NULL AS DOUBLE PRECISION)")) {
+            monitor.check();
+
+            assertFalse(monitor.getAsBoolean());
+            assertTrue(Double.isNaN(gauge("bookapi.datasource.replica.lag")));
+        }
+    }
+
+    @Test
+    void testCheck_ProbeStartsFailing_BecomesUnusable() {
+        // Arrange: the stand-in reports its lag from a table
+        JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+        replicaTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replicaTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        try (ReplicaLagMonitor monitor = monitor("SELECT seconds FROM replica_lag")) {
+            monitor.check();
+            assertTrue(monitor.getAsBoolean());
+
+            // Act
+            replicaTemplate.execute("DROP TABLE replica_lag");
+            monitor.check();
+
+            // Assert
+            assertFalse(monitor.getAsBoolean());
+            assertTrue(Double.isNaN(gauge("bookapi.datasource.replica.lag")));
+        }
+    }
+
+    @Test
+    void testStart_ProbesInTheBackground() throws InterruptedException {
+        try (ReplicaLagMonitor monitor = monitor("SELECT 0")) {
+            monitor.start(Duration.ofMillis(10));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!monitor.getAsBoolean() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(monitor.getAsBoolean());
+        }
+    }
+}
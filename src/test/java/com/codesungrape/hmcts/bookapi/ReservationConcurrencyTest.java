@@ -0,0 +1,149 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationResponse;
+import com.codesungrape.hmcts.bookapi.entity.ReservationState;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrency stress tests for ReservationService against H2: many threads race to reserve the same book.
+ * Throughput under contention is measured by ReservationContentionBenchmarkTest.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reservations;LOCK_TIMEOUT=10000")
+class ReservationConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 500;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID newBook() {
+        return bookService.createBook(new BookRequest("Popular", "Synopsis", "Author")).getId();
+    }
+
+    private int activeReservations(UUID bookId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM reservation WHERE book_id = ? AND state = ?", Integer.class, bookId, ReservationState.RESERVED.name()
+        );
+    }
+
+    /**
+     * Runs the tasks on THREADS threads, all released at once, and returns their results.
+     */
+    private static <T> List<T> race(List<Callable<T>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    @Test
+    void testReserve_ManyConcurrentAttemptsOnOneBook_ExactlyOneWins() throws Exception {
+        // Arrange
+        UUID bookId = newBook();
+        List<Callable<Boolean>> attempts = new ArrayList<>(ATTEMPTS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            attempts.add(() -> {
+                try {
+                    reservationService.reserve(bookId, new ReservationRequest(UUID.randomUUID()));
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        // Act
+        long won = race(attempts).stream().filter(Boolean::booleanValue).count();
+
+        // Assert
+        assertEquals(1, won);
+        assertEquals(1, activeReservations(bookId));
+        assertEquals(1, reservationService.listReservations(bookId, 0, 20).totalCount());
+    }
+
+    @Test
+    void testReserveAndCancel_ConcurrentCycles_NeverDoubleBook() throws Exception {
+        // Arrange: every winner cancels again straight away, so the book is won many times over
+        UUID bookId = newBook();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Callable<Boolean>> cycles = new ArrayList<>(ATTEMPTS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            cycles.add(() -> {
+                try {
+                    ReservationResponse won = reservationService.reserve(bookId, new ReservationRequest(UUID.randomUUID()));
+                    maxActive.accumulateAndGet(activeReservations(bookId), Math::max);
+                    reservationService.cancelReservation(bookId, won.id());
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        // Act
+        long won = race(cycles).stream().filter(Boolean::booleanValue).count();
+
+        // Assert: every win is a row, every row was cancelled, and no two were ever active together
+        assertEquals(1, maxActive.get());
+        assertEquals(0, activeReservations(bookId));
+        assertEquals(won, reservationService.listReservations(bookId, 0, 1).totalCount());
+    }
+
+    @Test
+    void testReserve_ConcurrentAttemptsOnDifferentBooks_AllSucceed() throws Exception {
+        // Arrange
+        List<UUID> books = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            books.add(newBook());
+        }
+        List<Callable<Boolean>> attempts = new ArrayList<>(books.size());
+        for (UUID bookId : books) {
+            attempts.add(() -> reservationService.reserve(bookId, new ReservationRequest(UUID.randomUUID())) != null);
+        }
+
+        // Act
+        List<Boolean> results = race(attempts);
+
+        // Assert: locks are per book, so no attempt is turned away
+        assertEquals(books.size(), results.stream().filter(Boolean::booleanValue).count());
+    }
+}
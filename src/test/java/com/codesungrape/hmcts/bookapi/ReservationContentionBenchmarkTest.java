@@ -0,0 +1,116 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationResponse;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.ReservationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of reservation attempts under contention: {@value #CLIENTS} clients run reserve-then-cancel cycles
+ * against a single hot book, then against {@value #BOOKS} books. Reports attempts/s and the share that won;
+ * afterwards no book may hold more than one active reservation.
+ * Tagged "benchmark": excluded from `./gradlew test`, run with `./gradlew benchmark`.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reservation-benchmark;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=10",
+    "bookapi.metrics.query-count-header=false"
+})
+class ReservationContentionBenchmarkTest {
+
+    private static final int CLIENTS = 64;
+    private static final int ATTEMPTS = 20_000;
+    private static final int BOOKS = 1_000;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Outcome of one contention run.
+     */
+    private record ContentionResult(String scenario, double attemptsPerSecond, int won, int conflicts) {
+    }
+
+    @Test
+    void benchmarkHotBookAgainstSpreadBooks() throws Exception {
+        List<UUID> hot = List.of(newBook());
+        List<UUID> spread = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            spread.add(newBook());
+        }
+
+        run(hot, ATTEMPTS / 10); // warm-up
+        List<ContentionResult> results = List.of(run(hot, ATTEMPTS), run(spread, ATTEMPTS));
+
+        System.out.printf("%-8s %12s %8s %10s%n", "books", "attempts/s", "won", "conflicts");
+        for (ContentionResult result : results) {
+            System.out.printf("%-8s %,12.0f %,8d %,10d%n",
+                result.scenario(), result.attemptsPerSecond(), result.won(), result.conflicts());
+        }
+
+        Integer doubleBooked = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT book_id FROM reservation WHERE state = 'RESERVED' GROUP BY book_id HAVING COUNT(*) > 1) d",
+            Integer.class
+        );
+        assertEquals(0, doubleBooked);
+    }
+
+    private UUID newBook() {
+        return bookService.createBook(new BookRequest("Title", "Synopsis", "Author")).getId();
+    }
+
+    private ContentionResult run(List<UUID> books, int attempts) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<?>> running = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                running.add(clients.submit(() -> {
+                    while (next.getAndIncrement() < attempts) {
+                        UUID bookId = books.get(ThreadLocalRandom.current().nextInt(books.size()));
+                        try {
+                            ReservationResponse reservation = reservationService.reserve(bookId, new ReservationRequest(UUID.randomUUID()));
+                            won.incrementAndGet();
+                            reservationService.cancelReservation(bookId, reservation.id());
+                        } catch (ConflictException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new ContentionResult(books.size() == 1 ? "1" : Integer.toString(books.size()), attempts / seconds, won.get(), conflicts.get());
+    }
+}
@@ -0,0 +1,138 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.controller.ReservationController;
+import com.codesungrape.hmcts.bookapi.dto.ReservationListResponse;
+import com.codesungrape.hmcts.bookapi.dto.ReservationRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationResponse;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.exception.ResourceNotFoundException;
+import com.codesungrape.hmcts.bookapi.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web-layer slice tests for ReservationController, with ReservationService replaced by a Mockito mock.
+ */
+@WebMvcTest(ReservationController.class)
+class ReservationControllerTest {
+
+    private static final UUID BOOK_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final Instant RESERVED_AT = Instant.parse("2025-01-15T10:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReservationService reservationService;
+
+    private static ReservationResponse reservation(UUID id) {
+        return new ReservationResponse(id, "reserved", USER_ID, BOOK_ID, RESERVED_AT);
+    }
+
+    @Test
+    void testReserve_Returns201WithReservation() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(reservationService.reserve(BOOK_ID, new ReservationRequest(USER_ID))).thenReturn(reservation(id));
+
+        mockMvc.perform(post("/books/{bookId}/reservations", BOOK_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"user_id\":\"" + USER_ID + "\"}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value(id.toString()))
+            .andExpect(jsonPath("$.state").value("reserved"))
+            .andExpect(jsonPath("$.user_id").value(USER_ID.toString()))
+            .andExpect(jsonPath("$.book_id").value(BOOK_ID.toString()))
+            .andExpect(jsonPath("$.reservationDate").value("2025-01-15T10:00:00Z"));
+    }
+
+    @Test
+    void testReserve_AlreadyReserved_Returns409() throws Exception {
+        when(reservationService.reserve(eq(BOOK_ID), any())).thenThrow(new ConflictException("Book is already reserved"));
+
+        mockMvc.perform(post("/books/{bookId}/reservations", BOOK_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"user_id\":\"" + USER_ID + "\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value("Book is already reserved"));
+    }
+
+    @Test
+    void testListReservations_DefaultsToFirstPage() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(reservationService.listReservations(BOOK_ID, 0, 20)).thenReturn(new ReservationListResponse(1, List.of(reservation(id))));
+
+        mockMvc.perform(get("/books/{bookId}/reservations", BOOK_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total_count").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(id.toString()));
+    }
+
+    @Test
+    void testListReservations_LimitAboveMaximum_Returns400() throws Exception {
+        mockMvc.perform(get("/books/{bookId}/reservations", BOOK_ID).param("limit", "1001"))
+            .andExpect(status().isBadRequest());
+
+        verify(reservationService, never()).listReservations(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testGetReservation_Returns200() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(reservationService.getReservation(BOOK_ID, id)).thenReturn(reservation(id));
+
+        mockMvc.perform(get("/books/{bookId}/reservations/{reservationId}", BOOK_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    void testGetReservation_NotFound_Returns404() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(reservationService.getReservation(BOOK_ID, id)).thenThrow(new ResourceNotFoundException("Reservation not found"));
+
+        mockMvc.perform(get("/books/{bookId}/reservations/{reservationId}", BOOK_ID, id))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCancelReservation_Returns204() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(delete("/books/{bookId}/reservations/{reservationId}", BOOK_ID, id))
+            .andExpect(status().isNoContent());
+
+        verify(reservationService).cancelReservation(BOOK_ID, id);
+    }
+
+    @Test
+    void testCancelReservation_NotFound_Returns404() throws Exception {
+        UUID id = UUID.randomUUID();
+        doThrow(new ResourceNotFoundException("Reservation not found")).when(reservationService).cancelReservation(BOOK_ID, id);
+
+        mockMvc.perform(delete("/books/{bookId}/reservations/{reservationId}", BOOK_ID, id))
+            .andExpect(status().isNotFound());
+    }
+}
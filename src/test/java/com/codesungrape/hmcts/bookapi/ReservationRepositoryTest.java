@@ -0,0 +1,110 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.Reservation;
+import com.codesungrape.hmcts.bookapi.entity.ReservationState;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repository tests for reservations (state probes, per-book pages) and the book row lock, against H2.
+ */
+@DataJpaTest
+class ReservationRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        book = bookRepository.saveAndFlush(Book.builder().title("Title").synopsis("Synopsis").author("Author").build());
+    }
+
+    // Seeds through JDBC so reserved_at can be controlled (@PrePersist would overwrite it)
+    private UUID insertReservation(Book target, ReservationState state, int secondsAfterBase) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+            "INSERT INTO reservation (id, book_id, user_id, state, reserved_at, version) VALUES (?, ?, ?, ?, ?, 0)",
+            id, target.getId(), UUID.randomUUID(), state.name(), BASE.plusSeconds(secondsAfterBase).atOffset(ZoneOffset.UTC)
+        );
+        return id;
+    }
+
+    @Test
+    void testExistsByBookIdAndState_OnlyMatchesThatState() {
+        insertReservation(book, ReservationState.CANCELLED, 1);
+
+        assertFalse(reservationRepository.existsByBookIdAndState(book.getId(), ReservationState.RESERVED));
+        assertTrue(reservationRepository.existsByBookIdAndState(book.getId(), ReservationState.CANCELLED));
+    }
+
+    @Test
+    void testFindPageByBookId_OldestFirst_OnlyThatBook() {
+        // Arrange
+        Book other = bookRepository.saveAndFlush(Book.builder().title("Other").synopsis("Synopsis").author("Author").build());
+        UUID second = insertReservation(book, ReservationState.RESERVED, 2);
+        UUID first = insertReservation(book, ReservationState.CANCELLED, 1);
+        UUID third = insertReservation(book, ReservationState.CANCELLED, 3);
+        insertReservation(other, ReservationState.RESERVED, 0);
+
+        // Act
+        List<UUID> page = reservationRepository.findPageByBookId(book.getId(), 1, 2).stream().map(Reservation::getId).toList();
+
+        // Assert
+        assertEquals(List.of(second, third), page);
+        assertEquals(3, reservationRepository.countByBookId(book.getId()));
+        assertEquals(first, reservationRepository.findPageByBookId(book.getId(), 0, 1).get(0).getId());
+    }
+
+    @Test
+    void testFindByIdAndBookId_OtherBook_IsEmpty() {
+        UUID id = insertReservation(book, ReservationState.RESERVED, 1);
+
+        assertTrue(reservationRepository.findByIdAndBookId(id, book.getId()).isPresent());
+        assertTrue(reservationRepository.findByIdAndBookId(id, UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testSave_SetsReservedAtAndVersion() {
+        Reservation saved = reservationRepository.saveAndFlush(
+            Reservation.builder().book(book).userId(UUID.randomUUID()).state(ReservationState.RESERVED).build()
+        );
+
+        assertTrue(saved.getReservedAt() != null);
+        assertEquals(0L, saved.getVersion());
+    }
+
+    @Test
+    void testLockLiveById_SkipsDeletedBooks() {
+        assertTrue(bookRepository.lockLiveById(book.getId()).isPresent());
+
+        bookRepository.softDeleteById(book.getId(), Instant.now());
+
+        assertTrue(bookRepository.lockLiveById(book.getId()).isEmpty());
+        assertFalse(bookRepository.existsByIdAndDeletedFalse(book.getId()));
+    }
+}
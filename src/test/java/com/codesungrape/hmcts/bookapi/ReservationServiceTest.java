@@ -0,0 +1,200 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.ReservationListResponse;
+import com.codesungrape.hmcts.bookapi.dto.ReservationRequest;
+import com.codesungrape.hmcts.bookapi.dto.ReservationResponse;
+import com.codesungrape.hmcts.bookapi.entity.Book;
+import com.codesungrape.hmcts.bookapi.entity.Reservation;
+import com.codesungrape.hmcts.bookapi.entity.ReservationState;
+import com.codesungrape.hmcts.bookapi.exception.ConflictException;
+import com.codesungrape.hmcts.bookapi.exception.ResourceNotFoundException;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.repository.ReservationRepository;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import com.codesungrape.hmcts.bookapi.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReservationService: the reserve protocol (fast path, lock, re-check), listing and cancelling.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    @Mock
+    private ReservationRepository testReservationRepository;
+
+    @Mock
+    private BookRepository testBookRepository;
+
+    @InjectMocks
+    private ReservationService testReservationService;
+
+    private UUID bookId;
+    private UUID userId;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        bookId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        book = Book.builder().id(bookId).title("Title").synopsis("Synopsis").author("Author").build();
+    }
+
+    private Reservation reservation(ReservationState state) {
+        return new Reservation(UUID.randomUUID(), book, userId, state, Instant.parse("2025-01-15T10:00:00Z"), 0L);
+    }
+
+    // ---- Tests: reserve ----
+
+    @Test
+    void testReserve_FreeBook_SavesReservedReservation() {
+        // Arrange
+        when(testReservationRepository.existsByBookIdAndState(bookId, ReservationState.RESERVED)).thenReturn(false);
+        when(testBookRepository.lockLiveById(bookId)).thenReturn(Optional.of(book));
+        when(testReservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ReservationResponse response = testReservationService.reserve(bookId, new ReservationRequest(userId));
+
+        // Assert
+        assertEquals("reserved", response.state());
+        assertEquals(bookId, response.bookId());
+        assertEquals(userId, response.userId());
+    }
+
+    @Test
+    void testReserve_VisiblyReserved_FailsWithoutTakingTheLock() {
+        when(testReservationRepository.existsByBookIdAndState(bookId, ReservationState.RESERVED)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> testReservationService.reserve(bookId, new ReservationRequest(userId)));
+
+        verify(testBookRepository, never()).lockLiveById(any());
+        verify(testReservationRepository, never()).save(any());
+    }
+
+    @Test
+    void testReserve_ReservedWhileWaitingForTheLock_Conflicts() {
+        // Arrange: free on the fast path, reserved by the time the lock is granted
+        when(testReservationRepository.existsByBookIdAndState(bookId, ReservationState.RESERVED)).thenReturn(false, true);
+        when(testBookRepository.lockLiveById(bookId)).thenReturn(Optional.of(book));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> testReservationService.reserve(bookId, new ReservationRequest(userId)));
+        verify(testReservationRepository, never()).save(any());
+    }
+
+    @Test
+    void testReserve_MissingBook_ThrowsNotFound() {
+        when(testBookRepository.lockLiveById(bookId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> testReservationService.reserve(bookId, new ReservationRequest(userId)));
+    }
+
+    @Test
+    void testReserve_MissingUserId_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> testReservationService.reserve(bookId, new ReservationRequest(null)));
+        assertThrows(IllegalArgumentException.class, () -> testReservationService.reserve(bookId, null));
+    }
+
+    // ---- Tests: getReservation ----
+
+    @Test
+    void testGetReservation_Found_ReturnsIt() {
+        Reservation reservation = reservation(ReservationState.CANCELLED);
+        when(testReservationRepository.findByIdAndBookId(reservation.getId(), bookId)).thenReturn(Optional.of(reservation));
+
+        ReservationResponse response = testReservationService.getReservation(bookId, reservation.getId());
+
+        assertEquals(reservation.getId(), response.id());
+        assertEquals("cancelled", response.state());
+    }
+
+    @Test
+    void testGetReservation_NotFound_Throws() {
+        UUID reservationId = UUID.randomUUID();
+        when(testReservationRepository.findByIdAndBookId(reservationId, bookId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> testReservationService.getReservation(bookId, reservationId));
+    }
+
+    // ---- Tests: listReservations ----
+
+    @Test
+    void testListReservations_ReturnsPageAndTotal() {
+        // Arrange
+        Reservation reservation = reservation(ReservationState.RESERVED);
+        when(testBookRepository.existsByIdAndDeletedFalse(bookId)).thenReturn(true);
+        when(testReservationRepository.countByBookId(bookId)).thenReturn(5L);
+        when(testReservationRepository.findPageByBookId(bookId, 4, 1)).thenReturn(List.of(reservation));
+
+        // Act
+        ReservationListResponse page = testReservationService.listReservations(bookId, 4, 1);
+
+        // Assert
+        assertEquals(5L, page.totalCount());
+        assertEquals(List.of(ReservationResponse.from(reservation)), page.items());
+    }
+
+    @Test
+    void testListReservations_MissingBook_ThrowsNotFound() {
+        when(testBookRepository.existsByIdAndDeletedFalse(bookId)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> testReservationService.listReservations(bookId, 0, 20));
+    }
+
+    @Test
+    void testListReservations_OutOfRangeArguments_ThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> testReservationService.listReservations(bookId, -1, 20));
+        assertThrows(IllegalArgumentException.class, () -> testReservationService.listReservations(bookId, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> testReservationService.listReservations(bookId, 0, BookService.MAX_PAGE_SIZE + 1));
+    }
+
+    // ---- Tests: cancelReservation ----
+
+    @Test
+    void testCancelReservation_Reserved_CancelsAndFlushes() {
+        Reservation reservation = reservation(ReservationState.RESERVED);
+        when(testReservationRepository.findByIdAndBookId(reservation.getId(), bookId)).thenReturn(Optional.of(reservation));
+
+        testReservationService.cancelReservation(bookId, reservation.getId());
+
+        assertEquals(ReservationState.CANCELLED, reservation.getState());
+        verify(testReservationRepository).saveAndFlush(reservation);
+    }
+
+    @Test
+    void testCancelReservation_AlreadyCancelled_ChangesNothing() {
+        Reservation reservation = reservation(ReservationState.CANCELLED);
+        when(testReservationRepository.findByIdAndBookId(reservation.getId(), bookId)).thenReturn(Optional.of(reservation));
+
+        testReservationService.cancelReservation(bookId, reservation.getId());
+
+        verify(testReservationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testCancelReservation_NotFound_Throws() {
+        UUID reservationId = UUID.randomUUID();
+        when(testReservationRepository.findByIdAndBookId(reservationId, bookId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> testReservationService.cancelReservation(bookId, reservationId));
+    }
+}
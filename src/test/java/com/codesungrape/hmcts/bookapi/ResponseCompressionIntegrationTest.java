@@ -0,0 +1,114 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.repository.BookRepository;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end checks of response compression over real HTTP (Tomcat does the gzip, so MockMvc cannot show it).
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:compression"
+)
+class ResponseCompressionIntegrationTest {
+
+    private static final int BOOKS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void seed() {
+        if (bookRepository.count() == 0) {
+            List<BookRequest> requests = new ArrayList<>();
+            for (int i = 0; i < BOOKS; i++) {
+                requests.add(new BookRequest("Title " + i, "A long synopsis that repeats itself. ".repeat(30), "Author " + i));
+            }
+            bookService.createBooks(requests);
+        }
+    }
+
+    private HttpResponse<byte[]> get(String pathAndQuery, boolean acceptGzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + pathAndQuery));
+        if (acceptGzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testLargePage_AcceptGzip_IsCompressedWithWeakEtag() throws Exception {
+        HttpResponse<byte[]> response = get("/books?limit=20", true);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/"));
+        String json = gunzip(response.body());
+        assertTrue(json.length() > response.body().length * 5);
+        assertTrue(json.startsWith("{\"total_count\":" + BOOKS));
+    }
+
+    @Test
+    void testSmallPage_BelowThreshold_IsNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/books?limit=5&fields=title", true);
+
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isPresent());
+    }
+
+    @Test
+    void testNoAcceptEncoding_IsNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/books?limit=20", false);
+
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isPresent());
+    }
+
+    @Test
+    void testPageOverEtagCap_IsStreamedCompressedWithoutEtag() throws Exception {
+        HttpResponse<byte[]> response = get("/books?limit=500", true);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertFalse(response.headers().firstValue(HttpHeaders.ETAG).isPresent());
+        assertFalse(response.headers().firstValue(HttpHeaders.CONTENT_LENGTH).isPresent());
+        assertTrue(gunzip(response.body()).startsWith("{\"total_count\":" + BOOKS));
+    }
+}
@@ -0,0 +1,132 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.dto.BookRequest;
+import com.codesungrape.hmcts.bookapi.service.BookService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load-test harness comparing platform-thread and virtual-thread request execution over HTTP.
+ * Each mode boots the application on a random port (H2, database gate on, pool of 10) and is hit by
+ * {@value #CLIENTS} concurrent clients issuing {@value #REQUESTS} offset-page requests, which bypass the
+ * single-book cache so every request needs a connection. Reports throughput, p50/p99 and shed (503) requests.
+ * Tagged "benchmark": excluded from `./gradlew test`, run with `./gradlew benchmark`.
+ */
+@Tag("benchmark")
+class ThreadModeLoadBenchmarkTest {
+
+    private static final int BOOKS = 2_000;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS = 40_000;
+    private static final int WARMUP_REQUESTS = 4_000;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    /**
+     * Outcome of one load run.
+     */
+    private record LoadResult(String mode, double requestsPerSecond, long p50Micros, long p99Micros, int shed) {
+    }
+
+    @Test
+    void benchmarkPlatformAgainstVirtualThreads() throws Exception {
+        List<LoadResult> results = List.of(run(false), run(true));
+
+        System.out.printf("%-9s %12s %10s %10s %8s%n", "threads", "req/s", "p50 (us)", "p99 (us)", "503s");
+        for (LoadResult result : results) {
+            System.out.printf("%-9s %,12.0f %,10d %,10d %,8d%n",
+                result.mode(), result.requestsPerSecond(), result.p50Micros(), result.p99Micros(), result.shed());
+        }
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookApiApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "bookapi.db.gate.enabled=true",
+                "bookapi.db.gate.acquire-timeout=250ms")
+            .run()) {
+
+            seed(context.getBean(BookService.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            fire(port, WARMUP_REQUESTS, new long[WARMUP_REQUESTS], new AtomicInteger());
+
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger shed = new AtomicInteger();
+            long start = System.nanoTime();
+            fire(port, REQUESTS, latencies, shed);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new LoadResult(
+                mode,
+                REQUESTS / (elapsed / 1_000_000_000.0),
+                latencies[REQUESTS / 2] / 1_000,
+                latencies[(int) (REQUESTS * 0.99)] / 1_000,
+                shed.get()
+            );
+        }
+    }
+
+    private static void seed(BookService bookService) {
+        List<BookRequest> requests = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            requests.add(new BookRequest("Title " + i, "Synopsis ".repeat(20) + i, "Author " + (i % 50)));
+        }
+        assertEquals(BOOKS, bookService.createBooks(requests).created());
+    }
+
+    /**
+     * Sends the requests from CLIENTS closed-loop clients and records each latency in nanoseconds.
+     */
+    private void fire(int port, int requests, long[] latencies, AtomicInteger shed) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                running.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        int offset = ThreadLocalRandom.current().nextInt(BOOKS);
+                        HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/books?limit=20&offset=" + offset)).build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        if (response.statusCode() == 503) {
+                            shed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+    }
+}
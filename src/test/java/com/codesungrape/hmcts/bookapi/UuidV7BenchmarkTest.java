@@ -0,0 +1,126 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.UuidV7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares random (v4) and time-ordered (v7) UUID primary keys: generation throughput,
+ * insert latency into a UUID-keyed table, and (on PostgreSQL) primary-key index size.
+ * Tagged "benchmark": run with `./gradlew benchmark`.
+ */
+@Tag("benchmark")
+class UuidV7BenchmarkTest {
+
+    private static final int GENERATIONS_PER_THREAD = 2_000_000;
+    private static final int INSERT_ROWS = 200_000;
+    private static final int INSERT_BATCH = 1_000;
+
+    // --------------------------------------
+    // Generation throughput
+    // --------------------------------------
+
+    private static double generationsPerSecond(Supplier<UUID> generator, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long sink = 0;
+                    for (int i = 0; i < GENERATIONS_PER_THREAD; i++) {
+                        sink ^= generator.get().getLeastSignificantBits();
+                    }
+                    return sink;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long nanos = System.nanoTime() - start;
+            return (double) threads * GENERATIONS_PER_THREAD / (nanos / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void benchmarkGenerationThroughput() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Warm-up
+        generationsPerSecond(UUID::randomUUID, 1);
+        generationsPerSecond(UuidV7::next, 1);
+
+        for (int threads : new int[] {1, cores}) {
+            System.out.printf(
+                "threads=%d | v4 UUID.randomUUID: %,.0f ids/s | v7 UuidV7.next: %,.0f ids/s%n",
+                threads,
+                generationsPerSecond(UUID::randomUUID, threads),
+                generationsPerSecond(UuidV7::next, threads)
+            );
+        }
+    }
+
+    // --------------------------------------
+    // Insert latency and index size
+    // --------------------------------------
+
+    private static void insertRows(JdbcTemplate jdbcTemplate, String table, Supplier<UUID> generator) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < INSERT_ROWS; i++) {
+            batch.add(new Object[] {generator.get(), "Title " + i});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, title) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static String measureInserts(JdbcTemplate jdbcTemplate, String table, Supplier<UUID> generator) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, title VARCHAR(255) NOT NULL)");
+
+        long start = System.nanoTime();
+        insertRows(jdbcTemplate, table, generator);
+        long nanos = System.nanoTime() - start;
+
+        assertEquals(INSERT_ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class));
+
+        String indexSize = "n/a (H2)";
+        if (BenchmarkDatabase.isPostgres(jdbcTemplate)) {
+            indexSize = jdbcTemplate.queryForObject(
+                "SELECT pg_size_pretty(pg_relation_size(?::regclass))", String.class, table + "_pkey"
+            );
+        }
+        jdbcTemplate.execute("DROP TABLE " + table);
+
+        return String.format(
+            "%s: %,.1f us/row, %,.0f rows/s, pk index %s",
+            table,
+            nanos / 1_000.0 / INSERT_ROWS,
+            INSERT_ROWS / (nanos / 1_000_000_000.0),
+            indexSize
+        );
+    }
+
+    @Test
+    void benchmarkInsertLatencyAndIndexSize() {
+        JdbcTemplate jdbcTemplate = BenchmarkDatabase.jdbcTemplate();
+
+        // Warm-up, then measure each id flavour on a fresh table
+        measureInserts(jdbcTemplate, "bench_uuid_warmup", UuidV7::next);
+        System.out.println(measureInserts(jdbcTemplate, "bench_uuid_v4", UUID::randomUUID));
+        System.out.println(measureInserts(jdbcTemplate, "bench_uuid_v7", UuidV7::next));
+    }
+}
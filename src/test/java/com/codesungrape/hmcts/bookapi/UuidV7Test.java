@@ -0,0 +1,89 @@
+package com.codesungrape.hmcts.bookapi;
+
+import com.codesungrape.hmcts.bookapi.entity.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the UUIDv7 generator: RFC layout, monotonic ordering and thread safety.
+ */
+class UuidV7Test {
+
+    // Byte-wise (unsigned) ordering, as used by PostgreSQL's uuid type and B-tree indexes
+    private static int compareUnsigned(UUID left, UUID right) {
+        int msb = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    @Test
+    void testNext_HasVersion7AndRfcVariant() {
+        UUID uuid = UuidV7.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testNext_EmbedsCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        // The counter may borrow ahead by a millisecond or so under heavy generation
+        long timestamp = UuidV7.timestampMillis(uuid);
+        assertTrue(timestamp >= before && timestamp <= after + 1_000, "timestamp=" + timestamp);
+    }
+
+    @Test
+    void testNext_IsStrictlyIncreasingWithinTheSameMillisecond() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7.next();
+            assertTrue(compareUnsigned(previous, current) < 0, previous + " !< " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void testNext_IsUniqueAndPerThreadMonotonicAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    boolean ordered = true;
+                    UUID previous = UuidV7.next();
+                    seen.add(previous);
+                    for (int i = 1; i < perThread; i++) {
+                        UUID current = UuidV7.next();
+                        ordered &= compareUnsigned(previous, current) < 0;
+                        seen.add(current);
+                        previous = current;
+                    }
+                    return ordered;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "Each thread must observe increasing ids");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+}